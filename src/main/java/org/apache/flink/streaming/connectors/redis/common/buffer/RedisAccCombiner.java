@@ -0,0 +1,142 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisDataType;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisOperationType;
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * combine the deltas of ACC commands (INCRBY, DECRBY, HINCRBY, HINCRBYFLOAT, ZINCRBY,
+ * INCRBYFLOAT) by key, or by key and field/member, so that only one command is sent for each
+ * target on flush. Retracted rows are folded in as negative deltas.
+ *
+ * <p>The params have the same layout as the sink: [key, delta] for string, [key, field, delta] for
+ * hash, [key, delta, member] for sorted set.
+ */
+public class RedisAccCombiner {
+
+    private final RedisCommand redisCommand;
+
+    private final boolean floatDelta;
+
+    private final int fieldIndex;
+
+    private final int deltaIndex;
+
+    private Map<RedisTarget, Delta> deltas = new LinkedHashMap<>();
+
+    public RedisAccCombiner(RedisCommand redisCommand) {
+        Preconditions.checkArgument(
+                redisCommand.getRedisOperationType() == RedisOperationType.ACC,
+                "just the ACC commands can be combined, but the command is %s",
+                redisCommand.name());
+        this.redisCommand = redisCommand;
+        switch (redisCommand) {
+            case INCRBY:
+            case DECRBY:
+                floatDelta = false;
+                fieldIndex = -1;
+                deltaIndex = 1;
+                break;
+            case INCRBYFLOAT:
+                floatDelta = true;
+                fieldIndex = -1;
+                deltaIndex = 1;
+                break;
+            case HINCRBY:
+                floatDelta = false;
+                fieldIndex = 1;
+                deltaIndex = 2;
+                break;
+            case HINCRBYFLOAT:
+                floatDelta = true;
+                fieldIndex = 1;
+                deltaIndex = 2;
+                break;
+            case ZINCRBY:
+                floatDelta = true;
+                fieldIndex = 2;
+                deltaIndex = 1;
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Cannot combine such data type: " + redisCommand);
+        }
+    }
+
+    /**
+     * add the delta of row to its target.
+     *
+     * @param params the params of command
+     * @param retract whether the row is retracted
+     */
+    public void add(String[] params, boolean retract) {
+        RedisTarget target =
+                new RedisTarget(params[0], fieldIndex == -1 ? null : params[fieldIndex]);
+        Delta delta = deltas.get(target);
+        if (delta == null) {
+            delta = new Delta();
+            deltas.put(target, delta);
+        }
+
+        if (floatDelta) {
+            double value = Double.parseDouble(params[deltaIndex]);
+            delta.doubleValue += retract ? -value : value;
+        } else {
+            long value = Long.parseLong(params[deltaIndex]);
+            delta.longValue += retract ? -value : value;
+        }
+    }
+
+    /**
+     * the number of distinct targets.
+     *
+     * @return
+     */
+    public int size() {
+        return deltas.size();
+    }
+
+    /**
+     * take the combined params of all targets and clear the combiner, the targets whose deltas
+     * cancel out are dropped.
+     *
+     * @return
+     */
+    public List<String[]> drain() {
+        Map<RedisTarget, Delta> drained = deltas;
+        deltas = new LinkedHashMap<>();
+
+        List<String[]> paramsList = new ArrayList<>(drained.size());
+        for (Map.Entry<RedisTarget, Delta> entry : drained.entrySet()) {
+            Delta delta = entry.getValue();
+            if (floatDelta ? delta.doubleValue == 0 : delta.longValue == 0) {
+                continue;
+            }
+
+            String[] params =
+                    new String[redisCommand.getRedisDataType() == RedisDataType.STRING ? 2 : 3];
+            params[0] = entry.getKey().key;
+            if (fieldIndex != -1) {
+                params[fieldIndex] = entry.getKey().field;
+            }
+            params[deltaIndex] =
+                    floatDelta
+                            ? String.valueOf(delta.doubleValue)
+                            : String.valueOf(delta.longValue);
+            paramsList.add(params);
+        }
+        return paramsList;
+    }
+
+    /** the mutable delta, which avoids boxing for every row. */
+    private static final class Delta {
+        private long longValue;
+        private double doubleValue;
+    }
+}
@@ -0,0 +1,142 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import io.lettuce.core.cluster.SlotHash;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * group the buffered rows by key, so that the rows of the same key are sent as one multi-element
+ * command (HSET with many fields, SADD/SREM, RPUSH/LPUSH, ZADD and PFADD with many elements). The
+ * rows of SET are grouped regardless of key and sent as one MSET.
+ *
+ * <p>The order of rows of the same key is kept: a batch is closed when a row of the other kind
+ * (insert or delete) arrives for its key, and the batches are drained in the order they are opened.
+ *
+ * <p>When the rows are split into slot groups, the rows of SET are grouped by hash slot modulo the
+ * number of groups instead, and the batches are drained ordered by group. For redis cluster there
+ * is a group per slot, so each MSET goes to one node and the commands of each master are queued
+ * together on its connection. For a container of many connections there is a group per
+ * connection, so each MSET goes to the connection which its keys are bound to.
+ */
+public class RedisBatchBuffer {
+
+    /** the max elements of one command, to avoid blocking redis with a huge command. */
+    private static final int MAX_BATCH_ELEMENTS = 500;
+
+    private final boolean groupByKey;
+
+    private final boolean batchDelete;
+
+    private final int slotGroups;
+
+    private List<Batch> batches = new ArrayList<>();
+
+    private Map<String, Batch> openBatches = new HashMap<>();
+
+    /**
+     * @param redisCommand
+     * @param slotGroups the number of groups which the rows are split into by hash slot, 1 if the
+     *     rows are not split
+     */
+    public RedisBatchBuffer(RedisCommand redisCommand, int slotGroups) {
+        if (!isSupported(redisCommand)) {
+            throw new UnsupportedOperationException(
+                    "Cannot batch such data type: " + redisCommand);
+        }
+        this.groupByKey = redisCommand != RedisCommand.SET;
+        this.batchDelete = redisCommand == RedisCommand.SADD;
+        this.slotGroups = slotGroups;
+    }
+
+    /**
+     * whether the rows of command can be merged into multi-element commands.
+     *
+     * @param redisCommand
+     * @return
+     */
+    public static boolean isSupported(RedisCommand redisCommand) {
+        switch (redisCommand) {
+            case SET:
+            case HSET:
+            case SADD:
+            case RPUSH:
+            case LPUSH:
+            case ZADD:
+            case PFADD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * add the row to the open batch of its key.
+     *
+     * @param params the params of command
+     * @param kind the kind of row, UPDATE_BEFORE should be skipped by the caller
+     */
+    public void add(String[] params, RowKind kind) {
+        boolean delete = kind == RowKind.DELETE;
+        int group = slotGroups > 1 ? SlotHash.getSlot(params[0]) % slotGroups : 0;
+        // a delete of SET may hit any key of the open MSET, so it always closes the batch.
+        String batchKey = groupByKey ? params[0] : String.valueOf(group);
+        Batch batch = openBatches.get(batchKey);
+        if (batch == null || batch.delete != delete) {
+            batch = new Batch(delete, group);
+            batches.add(batch);
+            if (delete && !batchDelete) {
+                openBatches.remove(batchKey);
+            } else {
+                openBatches.put(batchKey, batch);
+            }
+        }
+
+        batch.rows.add(params);
+        if (batch.rows.size() >= MAX_BATCH_ELEMENTS) {
+            openBatches.remove(batchKey);
+        }
+    }
+
+    /**
+     * take all batches in order and clear the buffer.
+     *
+     * @return
+     */
+    public List<Batch> drain() {
+        List<Batch> drained = batches;
+        batches = new ArrayList<>();
+        openBatches = new HashMap<>();
+        if (slotGroups > 1) {
+            // the sort is stable, so the order of batches of the same key is kept.
+            drained.sort(Comparator.comparingInt(batch -> batch.group));
+        }
+        return drained;
+    }
+
+    /** the rows of the same kind which can be sent as one command. */
+    public static final class Batch {
+        private final boolean delete;
+        private final int group;
+        private final List<String[]> rows = new ArrayList<>();
+
+        private Batch(boolean delete, int group) {
+            this.delete = delete;
+            this.group = group;
+        }
+
+        public boolean isDelete() {
+            return delete;
+        }
+
+        public List<String[]> getRows() {
+            return rows;
+        }
+    }
+}
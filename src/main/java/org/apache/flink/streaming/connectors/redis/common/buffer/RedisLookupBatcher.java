@@ -0,0 +1,161 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * collect the lookups issued at about the same time into a batch, so that they are sent to redis
+ * by one command or one pipeline. A batch is flushed when it has batchSize distinct keys, or when
+ * its first lookup has waited for maxDelay ms. The lookups of the same key in a batch share one
+ * read.
+ *
+ * <p>It is thread safe, the lookups are added by the task thread while the batches may be flushed
+ * by the timer.
+ *
+ * @param <K> the key of lookup, which must implement equals and hashCode
+ * @param <V> the value read by the key
+ */
+public class RedisLookupBatcher<K, V> {
+
+    private final int batchSize;
+
+    private final long maxDelay;
+
+    private final ScheduledExecutorService timer;
+
+    private final Function<List<K>, CompletionStage<List<V>>> reader;
+
+    private Map<K, List<CompletableFuture<V>>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> timeout;
+
+    private boolean closed;
+
+    /**
+     * @param batchSize the max number of distinct keys of a batch
+     * @param maxDelay the max milliseconds a lookup waits for its batch to be flushed
+     * @param timer the timer to flush the batches which are not full
+     * @param reader read the values of keys, which are returned in the order of keys
+     */
+    public RedisLookupBatcher(
+            int batchSize,
+            long maxDelay,
+            ScheduledExecutorService timer,
+            Function<List<K>, CompletionStage<List<V>>> reader) {
+        Preconditions.checkArgument(batchSize > 1, "the batch size must be more than 1");
+        Preconditions.checkArgument(maxDelay > 0, "the max delay of batch must be more than 0");
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.timer = timer;
+        this.reader = reader;
+    }
+
+    /**
+     * add the lookup of key to the current batch.
+     *
+     * @param key
+     * @return the future completed by the value read in the batch
+     */
+    public CompletableFuture<V> add(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Map<K, List<CompletableFuture<V>>> batch = null;
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(
+                        new IllegalStateException("the lookup batcher has been closed."));
+                return future;
+            }
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            if (pending.size() >= batchSize) {
+                batch = drain();
+            } else if (timeout == null) {
+                try {
+                    timeout = timer.schedule(this::flush, maxDelay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // the timer is shut down, so the batch can not wait.
+                    batch = drain();
+                }
+            }
+        }
+        if (batch != null) {
+            read(batch);
+        }
+        return future;
+    }
+
+    /** flush the current batch, it is called by the timer. */
+    public void flush() {
+        Map<K, List<CompletableFuture<V>>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                timeout = null;
+                return;
+            }
+            batch = drain();
+        }
+        read(batch);
+    }
+
+    /** fail the lookups which have not been flushed, and reject the lookups added later. */
+    public void close() {
+        Map<K, List<CompletableFuture<V>>> batch;
+        synchronized (this) {
+            closed = true;
+            batch = drain();
+        }
+        IllegalStateException cause =
+                new IllegalStateException("the lookup batcher has been closed.");
+        for (List<CompletableFuture<V>> futures : batch.values()) {
+            for (CompletableFuture<V> future : futures) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    private Map<K, List<CompletableFuture<V>>> drain() {
+        if (timeout != null) {
+            timeout.cancel(false);
+            timeout = null;
+        }
+        Map<K, List<CompletableFuture<V>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void read(Map<K, List<CompletableFuture<V>>> batch) {
+        List<K> keys = new ArrayList<>(batch.keySet());
+        CompletionStage<List<V>> values;
+        try {
+            values = reader.apply(keys);
+        } catch (Exception e) {
+            CompletableFuture<List<V>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            values = failed;
+        }
+        values.whenComplete(
+                (result, throwable) -> {
+                    int i = 0;
+                    for (List<CompletableFuture<V>> futures : batch.values()) {
+                        for (CompletableFuture<V> future : futures) {
+                            if (throwable != null) {
+                                future.completeExceptionally(throwable);
+                            } else {
+                                future.complete(result.get(i));
+                            }
+                        }
+                        i++;
+                    }
+                });
+    }
+}
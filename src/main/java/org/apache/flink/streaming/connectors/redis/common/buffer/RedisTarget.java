@@ -0,0 +1,33 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import java.util.Objects;
+
+/** the key and field/member of command, which is the unit the buffered rows are merged by. */
+final class RedisTarget {
+    final String key;
+    final String field;
+    private final int hash;
+
+    RedisTarget(String key, String field) {
+        this.key = key;
+        this.field = field;
+        this.hash = 31 * Objects.hashCode(key) + Objects.hashCode(field);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RedisTarget)) {
+            return false;
+        }
+        RedisTarget target = (RedisTarget) o;
+        return Objects.equals(key, target.key) && Objects.equals(field, target.field);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
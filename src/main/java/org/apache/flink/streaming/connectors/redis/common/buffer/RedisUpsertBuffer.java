@@ -0,0 +1,125 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * compact the changelog rows of upsert commands (SET, HSET, SADD, ZADD) by key, or by key and
+ * field/member, so that only the latest state of each target is sent on flush. A target which is
+ * inserted and then deleted in the same window is dropped completely.
+ *
+ * <p>The params have the same layout as the sink: [key, value] for SET and SADD, [key, field,
+ * value] for HSET, [key, score, member] for ZADD.
+ */
+public class RedisUpsertBuffer {
+
+    private final int fieldIndex;
+
+    private Map<RedisTarget, Entry> entries = new LinkedHashMap<>();
+
+    public RedisUpsertBuffer(RedisCommand redisCommand) {
+        switch (redisCommand) {
+            case SET:
+                fieldIndex = -1;
+                break;
+            case SADD:
+            case HSET:
+                fieldIndex = 1;
+                break;
+            case ZADD:
+                fieldIndex = 2;
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Cannot compact such data type: " + redisCommand);
+        }
+    }
+
+    /**
+     * whether the command can be compacted.
+     *
+     * @param redisCommand
+     * @return
+     */
+    public static boolean isSupported(RedisCommand redisCommand) {
+        switch (redisCommand) {
+            case SET:
+            case SADD:
+            case HSET:
+            case ZADD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * replace the state of the target of row.
+     *
+     * @param params the params of command
+     * @param kind the kind of row, UPDATE_BEFORE should be skipped by the caller
+     */
+    public void add(String[] params, RowKind kind) {
+        RedisTarget target =
+                new RedisTarget(params[0], fieldIndex == -1 ? null : params[fieldIndex]);
+        Entry entry = entries.get(target);
+        if (entry == null) {
+            // the target does not exist before the window if it starts with INSERT.
+            entries.put(target, new Entry(params, kind, kind == RowKind.INSERT));
+            return;
+        }
+
+        if (kind == RowKind.DELETE && entry.insertedInWindow) {
+            entries.remove(target);
+            return;
+        }
+        entry.params = params;
+        entry.kind = kind;
+    }
+
+    /**
+     * the number of distinct targets.
+     *
+     * @return
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * take the latest state of all targets and clear the buffer.
+     *
+     * @return
+     */
+    public List<Entry> drain() {
+        Map<RedisTarget, Entry> drained = entries;
+        entries = new LinkedHashMap<>();
+        return new ArrayList<>(drained.values());
+    }
+
+    /** the latest params and row kind of a target. */
+    public static final class Entry {
+        private String[] params;
+        private RowKind kind;
+        private final boolean insertedInWindow;
+
+        private Entry(String[] params, RowKind kind, boolean insertedInWindow) {
+            this.params = params;
+            this.kind = kind;
+            this.insertedInWindow = insertedInWindow;
+        }
+
+        public String[] getParams() {
+            return params;
+        }
+
+        public RowKind getKind() {
+            return kind;
+        }
+    }
+}
@@ -29,6 +29,20 @@ public class FlinkClusterConfig extends FlinkConfigBase {
         this.nodesInfo = nodesInfo;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        FlinkClusterConfig that = (FlinkClusterConfig) o;
+        return nodesInfo.equals(that.nodesInfo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), nodesInfo);
+    }
+
     /** Builder for initializing {@link FlinkClusterConfig}. */
     public static class Builder {
         private String nodesInfo;
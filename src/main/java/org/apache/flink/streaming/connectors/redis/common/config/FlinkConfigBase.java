@@ -3,6 +3,7 @@ package org.apache.flink.streaming.connectors.redis.common.config;
 import org.apache.flink.streaming.connectors.redis.common.util.CheckUtil;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /** Base class for Flink Redis configuration. */
 public abstract class FlinkConfigBase implements Serializable {
@@ -38,6 +39,25 @@ public abstract class FlinkConfigBase implements Serializable {
         return lettuceConfig;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FlinkConfigBase that = (FlinkConfigBase) o;
+        return connectionTimeout == that.connectionTimeout
+                && Objects.equals(password, that.password)
+                && Objects.equals(lettuceConfig, that.lettuceConfig);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(connectionTimeout, password, lettuceConfig);
+    }
+
     @Override
     public String toString() {
         return "FlinkConfigBase{"
@@ -84,6 +84,25 @@ public class FlinkSentinelConfig extends FlinkConfigBase {
         return sentinelsPassword;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        FlinkSentinelConfig that = (FlinkSentinelConfig) o;
+        return soTimeout == that.soTimeout
+                && database == that.database
+                && masterName.equals(that.masterName)
+                && sentinelsInfo.equals(that.sentinelsInfo)
+                && Objects.equals(sentinelsPassword, that.sentinelsPassword);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                super.hashCode(), masterName, sentinelsInfo, soTimeout, database, sentinelsPassword);
+    }
+
     /** Builder for initializing {@link FlinkSentinelConfig}. */
     public static class Builder {
         private String masterName;
@@ -27,7 +27,12 @@ public class FlinkSentinelConfigHandler implements FlinkConfigHandler {
         LettuceConfig lettuceConfig =
                 new LettuceConfig(
                         config.get(RedisOptions.NETTY_IO_POOL_SIZE),
-                        config.get(RedisOptions.NETTY_EVENT_POOL_SIZE));
+                        config.get(RedisOptions.NETTY_EVENT_POOL_SIZE),
+                        config.get(RedisOptions.CONNECTION_SHARED),
+                        config.get(RedisOptions.CONNECTION_COUNT),
+                        config.get(RedisOptions.MAXTOTAL),
+                        config.get(RedisOptions.MAXIDLE),
+                        config.get(RedisOptions.MINIDLE));
 
         FlinkSentinelConfig flinkSentinelConfig =
                 new FlinkSentinelConfig.Builder()
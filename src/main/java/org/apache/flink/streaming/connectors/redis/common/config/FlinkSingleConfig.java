@@ -62,6 +62,20 @@ public class FlinkSingleConfig extends FlinkConfigBase {
         return database;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        FlinkSingleConfig that = (FlinkSingleConfig) o;
+        return port == that.port && database == that.database && host.equals(that.host);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), host, port, database);
+    }
+
     /** Builder for initializing {@link FlinkSingleConfig}. */
     public static class Builder {
         private String host;
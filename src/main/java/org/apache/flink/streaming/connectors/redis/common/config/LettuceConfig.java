@@ -1,6 +1,9 @@
 package org.apache.flink.streaming.connectors.redis.common.config;
 
+import org.apache.flink.streaming.connectors.redis.common.util.CheckUtil;
+
 import java.io.Serializable;
+import java.util.Objects;
 
 public class LettuceConfig implements Serializable {
 
@@ -9,9 +12,50 @@ public class LettuceConfig implements Serializable {
 
     private final Integer nettyEventPoolSize;
 
+    /** whether the client and connection are shared by the containers of the same config. */
+    private final boolean connectionShared;
+
+    /** the number of connections opened by each container. */
+    private final int connectionCount;
+
+    /** the max connections of the pool for the commands which need a dedicated connection. */
+    private final int maxTotal;
+
+    private final int maxIdle;
+
+    /** the idle connections of pool which are opened when the container is opened. */
+    private final int minIdle;
+
     public LettuceConfig(Integer nettyIoPoolSize, Integer nettyEventPoolSize) {
+        this(
+                nettyIoPoolSize,
+                nettyEventPoolSize,
+                false,
+                1,
+                RedisOptions.MAXTOTAL.defaultValue(),
+                RedisOptions.MAXIDLE.defaultValue(),
+                RedisOptions.MINIDLE.defaultValue());
+    }
+
+    public LettuceConfig(
+            Integer nettyIoPoolSize,
+            Integer nettyEventPoolSize,
+            boolean connectionShared,
+            int connectionCount,
+            int maxTotal,
+            int maxIdle,
+            int minIdle) {
+        CheckUtil.checkArgument(connectionCount > 0, "connection count must be more than 0");
+        CheckUtil.checkArgument(
+                maxTotal > 0 && maxIdle >= 0 && minIdle >= 0 && minIdle <= maxIdle,
+                "the pool must be 0 < maxTotal and 0 <= minIdle <= maxIdle");
         this.nettyIoPoolSize = nettyIoPoolSize;
         this.nettyEventPoolSize = nettyEventPoolSize;
+        this.connectionShared = connectionShared;
+        this.connectionCount = connectionCount;
+        this.maxTotal = maxTotal;
+        this.maxIdle = maxIdle;
+        this.minIdle = minIdle;
     }
 
     public Integer getNettyIoPoolSize() {
@@ -22,6 +66,56 @@ public class LettuceConfig implements Serializable {
         return nettyEventPoolSize;
     }
 
+    public boolean isConnectionShared() {
+        return connectionShared;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LettuceConfig that = (LettuceConfig) o;
+        return Objects.equals(nettyIoPoolSize, that.nettyIoPoolSize)
+                && Objects.equals(nettyEventPoolSize, that.nettyEventPoolSize)
+                && connectionShared == that.connectionShared
+                && connectionCount == that.connectionCount
+                && maxTotal == that.maxTotal
+                && maxIdle == that.maxIdle
+                && minIdle == that.minIdle;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                nettyIoPoolSize,
+                nettyEventPoolSize,
+                connectionShared,
+                connectionCount,
+                maxTotal,
+                maxIdle,
+                minIdle);
+    }
+
     @Override
     public String toString() {
         return "LettuceConfig{"
@@ -29,6 +123,16 @@ public class LettuceConfig implements Serializable {
                 + nettyIoPoolSize
                 + ", nettyEventPoolSize="
                 + nettyEventPoolSize
+                + ", connectionShared="
+                + connectionShared
+                + ", connectionCount="
+                + connectionCount
+                + ", maxTotal="
+                + maxTotal
+                + ", maxIdle="
+                + maxIdle
+                + ", minIdle="
+                + minIdle
                 + '}';
     }
 }
@@ -8,18 +8,33 @@ public class RedisLookupOptions {
     private final int maxRetryTimes;
     private final boolean loadAll;
     private final RedisValueDataStructure redisValueDataStructure;
+    private final RedisRetryOptions retryOptions;
+    private final RedisReadFrom readFrom;
+    private final RedisValueCompression valueCompression;
+    private final int batchSize;
+    private final long batchMaxDelay;
 
     public RedisLookupOptions(
             long cacheMaxSize,
             long cacheTtl,
             int maxRetryTimes,
             boolean loadAll,
-            RedisValueDataStructure redisValueDataStructure) {
+            RedisValueDataStructure redisValueDataStructure,
+            RedisRetryOptions retryOptions,
+            RedisReadFrom readFrom,
+            RedisValueCompression valueCompression,
+            int batchSize,
+            long batchMaxDelay) {
         this.cacheMaxSize = cacheMaxSize;
         this.cacheTtl = cacheTtl;
         this.maxRetryTimes = maxRetryTimes;
         this.loadAll = loadAll;
         this.redisValueDataStructure = redisValueDataStructure;
+        this.retryOptions = retryOptions;
+        this.readFrom = readFrom;
+        this.valueCompression = valueCompression;
+        this.batchSize = batchSize;
+        this.batchMaxDelay = batchMaxDelay;
     }
 
     public long getCacheMaxSize() {
@@ -42,6 +57,26 @@ public class RedisLookupOptions {
         return redisValueDataStructure;
     }
 
+    public RedisRetryOptions getRetryOptions() {
+        return retryOptions;
+    }
+
+    public RedisReadFrom getReadFrom() {
+        return readFrom;
+    }
+
+    public RedisValueCompression getValueCompression() {
+        return valueCompression;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getBatchMaxDelay() {
+        return batchMaxDelay;
+    }
+
     /** */
     public static class Builder {
         private long cacheMaxSize = -1L;
@@ -50,6 +85,11 @@ public class RedisLookupOptions {
         private boolean loadAll = false;
         private RedisValueDataStructure redisValueDataStructure =
                 RedisOptions.VALUE_DATA_STRUCTURE.defaultValue();
+        private RedisRetryOptions retryOptions = new RedisRetryOptions.Builder().build();
+        private RedisReadFrom readFrom = RedisReadFrom.MASTER;
+        private RedisValueCompression valueCompression = RedisValueCompression.NONE;
+        private int batchSize = RedisOptions.LOOKUP_BATCH_SIZE.defaultValue();
+        private long batchMaxDelay = RedisOptions.LOOKUP_BATCH_MAX_DELAY.defaultValue();
 
         public Builder setCacheMaxSize(long cacheMaxSize) {
             this.cacheMaxSize = cacheMaxSize;
@@ -76,9 +116,43 @@ public class RedisLookupOptions {
             return this;
         }
 
+        public Builder setRetryOptions(RedisRetryOptions retryOptions) {
+            this.retryOptions = retryOptions;
+            return this;
+        }
+
+        public Builder setReadFrom(RedisReadFrom readFrom) {
+            this.readFrom = readFrom;
+            return this;
+        }
+
+        public Builder setValueCompression(RedisValueCompression valueCompression) {
+            this.valueCompression = valueCompression;
+            return this;
+        }
+
+        public Builder setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder setBatchMaxDelay(long batchMaxDelay) {
+            this.batchMaxDelay = batchMaxDelay;
+            return this;
+        }
+
         public RedisLookupOptions build() {
             return new RedisLookupOptions(
-                    cacheMaxSize, cacheTtl, maxRetryTimes, loadAll, redisValueDataStructure);
+                    cacheMaxSize,
+                    cacheTtl,
+                    maxRetryTimes,
+                    loadAll,
+                    redisValueDataStructure,
+                    retryOptions,
+                    readFrom,
+                    valueCompression,
+                    batchSize,
+                    batchMaxDelay);
         }
     }
 }
@@ -18,19 +18,21 @@ public class RedisOptions {
             ConfigOptions.key("maxTotal")
                     .intType()
                     .defaultValue(2)
-                    .withDescription("Optional maxTotal for connect to redis");
+                    .withDescription(
+                            "Optional max connections of the pool for the commands which need a dedicated connection");
 
     public static final ConfigOption<Integer> MAXIDLE =
             ConfigOptions.key("maxIdle")
                     .intType()
                     .defaultValue(2)
-                    .withDescription("Optional maxIdle for connect to redis");
+                    .withDescription("Optional max idle connections of the pool");
 
     public static final ConfigOption<Integer> MINIDLE =
             ConfigOptions.key("minIdle")
                     .intType()
                     .defaultValue(1)
-                    .withDescription("Optional minIdle for connect to redis");
+                    .withDescription(
+                            "Optional min idle connections of the pool, which are opened when the pool is first used");
 
     public static final ConfigOption<String> PASSWORD =
             ConfigOptions.key("password")
@@ -122,6 +124,27 @@ public class RedisOptions {
                     .defaultValue(false)
                     .withDescription("Optional if load all elements into cache for query");
 
+    public static final ConfigOption<String> LOOKUP_READ_FROM =
+            ConfigOptions.key("lookup.read-from")
+                    .stringType()
+                    .defaultValue(RedisReadFrom.MASTER.getValue())
+                    .withDescription(
+                            "Optional the nodes which the lookups read from: master, replica, replica-preferred, lowest-latency or nearest");
+
+    public static final ConfigOption<Integer> LOOKUP_BATCH_SIZE =
+            ConfigOptions.key("lookup.batch.size")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "Optional the max number of concurrent lookups sent to redis as one MGET, or as one HMGET per key for HGET, 1 means disabled");
+
+    public static final ConfigOption<Long> LOOKUP_BATCH_MAX_DELAY =
+            ConfigOptions.key("lookup.batch.max-delay")
+                    .longType()
+                    .defaultValue(1L)
+                    .withDescription(
+                            "Optional the max milliseconds a lookup waits for the others to fill its batch");
+
     public static final ConfigOption<Integer> SINK_MAX_RETRIES =
             ConfigOptions.key("sink.max-retries")
                     .intType()
@@ -134,6 +157,112 @@ public class RedisOptions {
                     .defaultValue(1)
                     .withDescription("Optional parrallelism for sink");
 
+    public static final ConfigOption<Integer> SINK_BUFFER_FLUSH_MAX_ROWS =
+            ConfigOptions.key("sink.buffer-flush.max-rows")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "Optional the max number of buffered commands before they are flushed to redis as one pipeline, 0 means disabled");
+
+    public static final ConfigOption<Long> SINK_BUFFER_FLUSH_INTERVAL =
+            ConfigOptions.key("sink.buffer-flush.interval")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "Optional the millisecond interval to flush buffered commands to redis, 0 means disabled");
+
+    public static final ConfigOption<Integer> SINK_MAX_IN_FLIGHT =
+            ConfigOptions.key("sink.max-in-flight")
+                    .intType()
+                    .defaultValue(10000)
+                    .withDescription(
+                            "Optional the max number of rows which have been sent to redis but not completed, the sink blocks when it is reached");
+
+    public static final ConfigOption<Boolean> SINK_ASYNC_WRITER_ENABLED =
+            ConfigOptions.key("sink.async-writer.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Optional if use the async sink writer, whose batching, retry and backpressure are managed by flink");
+
+    public static final ConfigOption<Boolean> SINK_PRE_AGGREGATION_ENABLED =
+            ConfigOptions.key("sink.pre-aggregation.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Optional if sum the deltas of incr/decr commands by key in the sink, and just send one command per key on flush");
+
+    public static final ConfigOption<Boolean> SINK_UPSERT_COMPACTION_ENABLED =
+            ConfigOptions.key("sink.upsert-compaction.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Optional if keep only the latest state of each key (and field/member) of set/hset/sadd/zadd commands in the sink, and just send it on flush");
+
+    public static final ConfigOption<Long> SINK_TTL_REFRESH_INTERVAL =
+            ConfigOptions.key("sink.ttl.refresh-interval")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "Optional the millisecond interval in which the ttl of a key is set at most once, the writes inside it skip the expire command, 0 means disabled");
+
+    public static final ConfigOption<Long> SINK_TTL_REFRESH_CACHE_MAX_ROWS =
+            ConfigOptions.key("sink.ttl.refresh-cache.max-rows")
+                    .longType()
+                    .defaultValue(10000L)
+                    .withDescription(
+                            "Optional max number of keys whose ttl was recently set to remember for sink.ttl.refresh-interval");
+
+    public static final ConfigOption<Boolean> SINK_PARTITION_BY_SLOT =
+            ConfigOptions.key("sink.partition-by-slot.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Optional if partition the rows by the hash slot of key before the sink, so each sink subtask owns a contiguous slot range of redis cluster, just for the cluster mode");
+
+    public static final ConfigOption<Long> RETRY_BACKOFF_INITIAL_DELAY =
+            ConfigOptions.key("retry.backoff.initial-delay")
+                    .longType()
+                    .defaultValue(100L)
+                    .withDescription(
+                            "Optional the millisecond delay before the first retry of sink and lookup, it doubles on every retry");
+
+    public static final ConfigOption<Long> RETRY_BACKOFF_MAX_DELAY =
+            ConfigOptions.key("retry.backoff.max-delay")
+                    .longType()
+                    .defaultValue(5000L)
+                    .withDescription("Optional the max millisecond delay between retries");
+
+    public static final ConfigOption<String> RETRY_RETRYABLE_ERRORS =
+            ConfigOptions.key("retry.retryable-errors")
+                    .stringType()
+                    .defaultValue(
+                            "LOADING,BUSY,TRYAGAIN,CLUSTERDOWN,MASTERDOWN,MOVED,ASK,"
+                                    + "RedisCommandTimeoutException,RedisConnectionException,RedisException")
+                    .withDescription(
+                            "Optional the comma separated errors to retry, which are the prefixes of redis error replies or the simple class names of exceptions");
+
+    public static final ConfigOption<Long> SINK_RATE_LIMIT_OPS_PER_SECOND =
+            ConfigOptions.key("sink.rate-limit.ops-per-second")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "Optional max ops per second written to redis by the sink, which is split evenly across the sink subtasks, the flush on a full buffer or on checkpoint blocks until all the buffered ops are permitted, 0 means no limit");
+
+    public static final ConfigOption<Boolean> SINK_ADAPTIVE_CONCURRENCY_ENABLED =
+            ConfigOptions.key("sink.adaptive-concurrency.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Optional if tune the max commands in flight of sink by the latency of redis, it is between 1 and sink.max-in-flight");
+
+    public static final ConfigOption<Long> SINK_ADAPTIVE_CONCURRENCY_TARGET_LATENCY =
+            ConfigOptions.key("sink.adaptive-concurrency.target-latency")
+                    .longType()
+                    .defaultValue(50L)
+                    .withDescription(
+                            "Optional the target latency of commands in milliseconds for sink.adaptive-concurrency.enabled, the concurrency is halved when it is exceeded");
+
     public static final ConfigOption<Boolean> SINK_LIMIT =
             ConfigOptions.key("sink.limit")
                     .booleanType()
@@ -165,6 +294,27 @@ public class RedisOptions {
                     .defaultValue(RedisValueDataStructure.column)
                     .withDescription("Optional redis value data structure.");
 
+    public static final ConfigOption<String> VALUE_FORMAT =
+            ConfigOptions.key("value.format")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Optional the format of value when value.data.structure is row, the row is written by the format instead of the fields separated by '\\01', such as json, avro or the built-in redis-binary-row.");
+
+    public static final ConfigOption<String> VALUE_COMPRESSION =
+            ConfigOptions.key("value.compression")
+                    .stringType()
+                    .defaultValue(RedisValueCompression.NONE.getValue())
+                    .withDescription(
+                            "Optional the codec which compresses the values of set and hset: none, lz4, snappy or zstd. The lookups decompress the values of any codec when it is not none. lz4-java and snappy-java are provided by the lib of flink, zstd-jni is packed into the jar with dependencies, a missing codec fails the open of sink or lookup");
+
+    public static final ConfigOption<Integer> VALUE_COMPRESSION_MIN_BYTES =
+            ConfigOptions.key("value.compression.min-bytes")
+                    .intType()
+                    .defaultValue(1024)
+                    .withDescription(
+                            "Optional the min bytes of value to be compressed, the smaller values are written as they are");
+
     public static final ConfigOption<String> EXPIRE_ON_TIME =
             ConfigOptions.key("ttl.on.time")
                     .stringType()
@@ -189,6 +339,20 @@ public class RedisOptions {
                     .defaultValue(null)
                     .withDescription("Optional set io pool size for netty of lettuce");
 
+    public static final ConfigOption<Boolean> CONNECTION_SHARED =
+            ConfigOptions.key("connection.shared")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Optional if share one client and connection among the sinks and lookups of the same redis settings in a task manager");
+
+    public static final ConfigOption<Integer> CONNECTION_COUNT =
+            ConfigOptions.key("connection.count")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "Optional the number of connections opened by each container, the commands are spread across them");
+
     public static final ConfigOption<Integer> NETTY_EVENT_POOL_SIZE =
             ConfigOptions.key("event.pool.size")
                     .intType()
@@ -0,0 +1,49 @@
+package org.apache.flink.streaming.connectors.redis.common.config;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/** the nodes which the lookups read from. */
+public enum RedisReadFrom {
+    // read from the master only.
+    MASTER("master"),
+    // read from the replicas only.
+    REPLICA("replica"),
+    // read from the replicas, and from the master if no replica is available.
+    REPLICA_PREFERRED("replica-preferred"),
+    // read from the node of the lowest latency, either master or replica.
+    LOWEST_LATENCY("lowest-latency"),
+    // the same as lowest-latency.
+    NEAREST("nearest");
+
+    private final String value;
+
+    RedisReadFrom(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * parse the value of option.
+     *
+     * @param value
+     * @return
+     */
+    public static RedisReadFrom fromValue(String value) {
+        for (RedisReadFrom readFrom : values()) {
+            if (readFrom.value.equalsIgnoreCase(value)) {
+                return readFrom;
+            }
+        }
+        throw new IllegalArgumentException(
+                String.format(
+                        "unsupported read from: %s, it should be one of %s",
+                        value,
+                        Arrays.stream(values())
+                                .map(RedisReadFrom::getValue)
+                                .collect(Collectors.joining(", "))));
+    }
+}
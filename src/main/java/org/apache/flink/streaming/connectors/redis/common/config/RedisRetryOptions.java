@@ -0,0 +1,61 @@
+package org.apache.flink.streaming.connectors.redis.common.config;
+
+import java.io.Serializable;
+
+/** retry options shared by sink and lookup. */
+public class RedisRetryOptions implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long initialDelay;
+
+    private final long maxDelay;
+
+    private final String retryableErrors;
+
+    public RedisRetryOptions(long initialDelay, long maxDelay, String retryableErrors) {
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.retryableErrors = retryableErrors;
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public String getRetryableErrors() {
+        return retryableErrors;
+    }
+
+    /** RedisRetryOptions.Builder. */
+    public static class Builder {
+        private long initialDelay = RedisOptions.RETRY_BACKOFF_INITIAL_DELAY.defaultValue();
+
+        private long maxDelay = RedisOptions.RETRY_BACKOFF_MAX_DELAY.defaultValue();
+
+        private String retryableErrors = RedisOptions.RETRY_RETRYABLE_ERRORS.defaultValue();
+
+        public Builder setInitialDelay(long initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        public Builder setMaxDelay(long maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder setRetryableErrors(String retryableErrors) {
+            this.retryableErrors = retryableErrors;
+            return this;
+        }
+
+        public RedisRetryOptions build() {
+            return new RedisRetryOptions(initialDelay, maxDelay, retryableErrors);
+        }
+    }
+}
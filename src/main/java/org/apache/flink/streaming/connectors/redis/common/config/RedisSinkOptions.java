@@ -6,6 +6,32 @@ public class RedisSinkOptions {
 
     private final RedisValueDataStructure redisValueDataStructure;
 
+    private final int bufferFlushMaxRows;
+
+    private final long bufferFlushInterval;
+
+    private final int maxInFlight;
+
+    private final boolean preAggregation;
+
+    private final boolean upsertCompaction;
+
+    private final long ttlRefreshInterval;
+
+    private final long ttlRefreshCacheMaxRows;
+
+    private final RedisRetryOptions retryOptions;
+
+    private final long rateLimitOpsPerSecond;
+
+    private final boolean adaptiveConcurrency;
+
+    private final long adaptiveConcurrencyTargetLatency;
+
+    private final RedisValueCompression valueCompression;
+
+    private final int valueCompressionMinBytes;
+
     public int getMaxRetryTimes() {
         return maxRetryTimes;
     }
@@ -14,9 +40,108 @@ public class RedisSinkOptions {
         return redisValueDataStructure;
     }
 
+    public int getBufferFlushMaxRows() {
+        return bufferFlushMaxRows;
+    }
+
+    public long getBufferFlushInterval() {
+        return bufferFlushInterval;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isPreAggregation() {
+        return preAggregation;
+    }
+
+    public boolean isUpsertCompaction() {
+        return upsertCompaction;
+    }
+
+    public long getTtlRefreshInterval() {
+        return ttlRefreshInterval;
+    }
+
+    public long getTtlRefreshCacheMaxRows() {
+        return ttlRefreshCacheMaxRows;
+    }
+
+    public RedisRetryOptions getRetryOptions() {
+        return retryOptions;
+    }
+
+    public long getRateLimitOpsPerSecond() {
+        return rateLimitOpsPerSecond;
+    }
+
+    public boolean isAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public long getAdaptiveConcurrencyTargetLatency() {
+        return adaptiveConcurrencyTargetLatency;
+    }
+
+    public RedisValueCompression getValueCompression() {
+        return valueCompression;
+    }
+
+    public int getValueCompressionMinBytes() {
+        return valueCompressionMinBytes;
+    }
+
     public RedisSinkOptions(int maxRetryTimes, RedisValueDataStructure redisValueDataStructure) {
+        this(
+                maxRetryTimes,
+                redisValueDataStructure,
+                RedisOptions.SINK_BUFFER_FLUSH_MAX_ROWS.defaultValue(),
+                RedisOptions.SINK_BUFFER_FLUSH_INTERVAL.defaultValue(),
+                RedisOptions.SINK_MAX_IN_FLIGHT.defaultValue(),
+                RedisOptions.SINK_PRE_AGGREGATION_ENABLED.defaultValue(),
+                RedisOptions.SINK_UPSERT_COMPACTION_ENABLED.defaultValue(),
+                RedisOptions.SINK_TTL_REFRESH_INTERVAL.defaultValue(),
+                RedisOptions.SINK_TTL_REFRESH_CACHE_MAX_ROWS.defaultValue(),
+                new RedisRetryOptions.Builder().build(),
+                RedisOptions.SINK_RATE_LIMIT_OPS_PER_SECOND.defaultValue(),
+                RedisOptions.SINK_ADAPTIVE_CONCURRENCY_ENABLED.defaultValue(),
+                RedisOptions.SINK_ADAPTIVE_CONCURRENCY_TARGET_LATENCY.defaultValue(),
+                RedisValueCompression.NONE,
+                RedisOptions.VALUE_COMPRESSION_MIN_BYTES.defaultValue());
+    }
+
+    public RedisSinkOptions(
+            int maxRetryTimes,
+            RedisValueDataStructure redisValueDataStructure,
+            int bufferFlushMaxRows,
+            long bufferFlushInterval,
+            int maxInFlight,
+            boolean preAggregation,
+            boolean upsertCompaction,
+            long ttlRefreshInterval,
+            long ttlRefreshCacheMaxRows,
+            RedisRetryOptions retryOptions,
+            long rateLimitOpsPerSecond,
+            boolean adaptiveConcurrency,
+            long adaptiveConcurrencyTargetLatency,
+            RedisValueCompression valueCompression,
+            int valueCompressionMinBytes) {
         this.maxRetryTimes = maxRetryTimes;
         this.redisValueDataStructure = redisValueDataStructure;
+        this.bufferFlushMaxRows = bufferFlushMaxRows;
+        this.bufferFlushInterval = bufferFlushInterval;
+        this.maxInFlight = maxInFlight;
+        this.preAggregation = preAggregation;
+        this.upsertCompaction = upsertCompaction;
+        this.ttlRefreshInterval = ttlRefreshInterval;
+        this.ttlRefreshCacheMaxRows = ttlRefreshCacheMaxRows;
+        this.retryOptions = retryOptions;
+        this.rateLimitOpsPerSecond = rateLimitOpsPerSecond;
+        this.adaptiveConcurrency = adaptiveConcurrency;
+        this.adaptiveConcurrencyTargetLatency = adaptiveConcurrencyTargetLatency;
+        this.valueCompression = valueCompression;
+        this.valueCompressionMinBytes = valueCompressionMinBytes;
     }
 
     /** RedisSinkOptions.Builder. */
@@ -25,6 +150,38 @@ public class RedisSinkOptions {
 
         private RedisValueDataStructure redisValueDataStructure;
 
+        private int bufferFlushMaxRows = RedisOptions.SINK_BUFFER_FLUSH_MAX_ROWS.defaultValue();
+
+        private long bufferFlushInterval = RedisOptions.SINK_BUFFER_FLUSH_INTERVAL.defaultValue();
+
+        private int maxInFlight = RedisOptions.SINK_MAX_IN_FLIGHT.defaultValue();
+
+        private boolean preAggregation = RedisOptions.SINK_PRE_AGGREGATION_ENABLED.defaultValue();
+
+        private boolean upsertCompaction =
+                RedisOptions.SINK_UPSERT_COMPACTION_ENABLED.defaultValue();
+
+        private long ttlRefreshInterval = RedisOptions.SINK_TTL_REFRESH_INTERVAL.defaultValue();
+
+        private long ttlRefreshCacheMaxRows =
+                RedisOptions.SINK_TTL_REFRESH_CACHE_MAX_ROWS.defaultValue();
+
+        private RedisRetryOptions retryOptions = new RedisRetryOptions.Builder().build();
+
+        private long rateLimitOpsPerSecond =
+                RedisOptions.SINK_RATE_LIMIT_OPS_PER_SECOND.defaultValue();
+
+        private boolean adaptiveConcurrency =
+                RedisOptions.SINK_ADAPTIVE_CONCURRENCY_ENABLED.defaultValue();
+
+        private long adaptiveConcurrencyTargetLatency =
+                RedisOptions.SINK_ADAPTIVE_CONCURRENCY_TARGET_LATENCY.defaultValue();
+
+        private RedisValueCompression valueCompression = RedisValueCompression.NONE;
+
+        private int valueCompressionMinBytes =
+                RedisOptions.VALUE_COMPRESSION_MIN_BYTES.defaultValue();
+
         public Builder setRedisValueDataStructure(RedisValueDataStructure redisValueDataStructure) {
             this.redisValueDataStructure = redisValueDataStructure;
             return this;
@@ -35,8 +192,88 @@ public class RedisSinkOptions {
             return this;
         }
 
+        public Builder setBufferFlushMaxRows(int bufferFlushMaxRows) {
+            this.bufferFlushMaxRows = bufferFlushMaxRows;
+            return this;
+        }
+
+        public Builder setBufferFlushInterval(long bufferFlushInterval) {
+            this.bufferFlushInterval = bufferFlushInterval;
+            return this;
+        }
+
+        public Builder setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder setPreAggregation(boolean preAggregation) {
+            this.preAggregation = preAggregation;
+            return this;
+        }
+
+        public Builder setUpsertCompaction(boolean upsertCompaction) {
+            this.upsertCompaction = upsertCompaction;
+            return this;
+        }
+
+        public Builder setTtlRefreshInterval(long ttlRefreshInterval) {
+            this.ttlRefreshInterval = ttlRefreshInterval;
+            return this;
+        }
+
+        public Builder setTtlRefreshCacheMaxRows(long ttlRefreshCacheMaxRows) {
+            this.ttlRefreshCacheMaxRows = ttlRefreshCacheMaxRows;
+            return this;
+        }
+
+        public Builder setRetryOptions(RedisRetryOptions retryOptions) {
+            this.retryOptions = retryOptions;
+            return this;
+        }
+
+        public Builder setRateLimitOpsPerSecond(long rateLimitOpsPerSecond) {
+            this.rateLimitOpsPerSecond = rateLimitOpsPerSecond;
+            return this;
+        }
+
+        public Builder setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+            return this;
+        }
+
+        public Builder setAdaptiveConcurrencyTargetLatency(long adaptiveConcurrencyTargetLatency) {
+            this.adaptiveConcurrencyTargetLatency = adaptiveConcurrencyTargetLatency;
+            return this;
+        }
+
+        public Builder setValueCompression(RedisValueCompression valueCompression) {
+            this.valueCompression = valueCompression;
+            return this;
+        }
+
+        public Builder setValueCompressionMinBytes(int valueCompressionMinBytes) {
+            this.valueCompressionMinBytes = valueCompressionMinBytes;
+            return this;
+        }
+
         public RedisSinkOptions build() {
-            return new RedisSinkOptions(maxRetryTimes, redisValueDataStructure);
+            return new RedisSinkOptions(
+                    maxRetryTimes,
+                    redisValueDataStructure,
+                    bufferFlushMaxRows,
+                    bufferFlushInterval,
+                    maxInFlight,
+                    preAggregation,
+                    upsertCompaction,
+                    ttlRefreshInterval,
+                    ttlRefreshCacheMaxRows,
+                    retryOptions,
+                    rateLimitOpsPerSecond,
+                    adaptiveConcurrency,
+                    adaptiveConcurrencyTargetLatency,
+                    valueCompression,
+                    valueCompressionMinBytes);
         }
     }
 }
@@ -0,0 +1,68 @@
+package org.apache.flink.streaming.connectors.redis.common.config;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/** the codec which compresses the values written to redis. */
+public enum RedisValueCompression {
+    // the values are not compressed.
+    NONE("none", (byte) 0),
+    LZ4("lz4", (byte) 1),
+    SNAPPY("snappy", (byte) 2),
+    ZSTD("zstd", (byte) 3);
+
+    private final String value;
+
+    /** the id of codec written in the header of compressed value, it must not be changed. */
+    private final byte id;
+
+    RedisValueCompression(String value, byte id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * find the codec by the id in the header of value.
+     *
+     * @param id
+     * @return
+     */
+    public static RedisValueCompression fromId(byte id) {
+        for (RedisValueCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException(
+                String.format("unknown compression id of redis value: %s", id));
+    }
+
+    /**
+     * parse the value of option.
+     *
+     * @param value
+     * @return
+     */
+    public static RedisValueCompression fromValue(String value) {
+        for (RedisValueCompression compression : values()) {
+            if (compression.value.equalsIgnoreCase(value)) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException(
+                String.format(
+                        "unsupported value compression: %s, it should be one of %s",
+                        value,
+                        Arrays.stream(values())
+                                .map(RedisValueCompression::getValue)
+                                .collect(Collectors.joining(", "))));
+    }
+}
@@ -6,5 +6,7 @@ public enum RedisValueDataStructure {
     // and value is the second field).
     column,
     // value is taken from the entire row, separated by '\01'.
-    row
+    row,
+    // every column except the key is a field of hash, named by the column, just for hset and hget.
+    hash
 }
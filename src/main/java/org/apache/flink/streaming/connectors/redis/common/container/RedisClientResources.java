@@ -0,0 +1,92 @@
+package org.apache.flink.streaming.connectors.redis.common.container;
+
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+
+import org.apache.flink.streaming.connectors.redis.common.config.LettuceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * the {@link ClientResources} shared by all the containers of the same {@link LettuceConfig} in the
+ * JVM, so the sinks and lookups in one task manager share one set of netty event loops. The
+ * resources are counted by reference, and shut down when the last container is closed.
+ */
+public final class RedisClientResources {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisClientResources.class);
+
+    private static final LettuceConfig DEFAULT_CONFIG = new LettuceConfig(null, null);
+
+    private static final Map<LettuceConfig, ClientResources> RESOURCES = new HashMap<>();
+
+    private static final Map<ClientResources, LettuceConfig> CONFIGS = new IdentityHashMap<>();
+
+    private static final Map<ClientResources, Integer> REFERENCES = new IdentityHashMap<>();
+
+    private RedisClientResources() {}
+
+    /**
+     * take the resources of config, they are created on first use.
+     *
+     * @param lettuceConfig the config of lettuce, null for the default
+     * @return
+     */
+    public static synchronized ClientResources acquire(LettuceConfig lettuceConfig) {
+        // the resources only depend on the sizes of netty pools.
+        LettuceConfig config =
+                lettuceConfig == null
+                        ? DEFAULT_CONFIG
+                        : new LettuceConfig(
+                                lettuceConfig.getNettyIoPoolSize(),
+                                lettuceConfig.getNettyEventPoolSize());
+        ClientResources clientResources = RESOURCES.get(config);
+        if (clientResources == null) {
+            clientResources = create(config);
+            RESOURCES.put(config, clientResources);
+            CONFIGS.put(clientResources, config);
+            LOG.info("create shared client resources for {}", config);
+        }
+        REFERENCES.merge(clientResources, 1, Integer::sum);
+        return clientResources;
+    }
+
+    /**
+     * give back the resources, they are shut down when no one uses them. The resources which are
+     * not taken by {@link #acquire(LettuceConfig)} are ignored.
+     *
+     * @param clientResources
+     */
+    public static synchronized void release(ClientResources clientResources) {
+        Integer references = REFERENCES.get(clientResources);
+        if (references == null) {
+            return;
+        }
+
+        if (references > 1) {
+            REFERENCES.put(clientResources, references - 1);
+            return;
+        }
+
+        REFERENCES.remove(clientResources);
+        LettuceConfig config = CONFIGS.remove(clientResources);
+        RESOURCES.remove(config);
+        LOG.info("shut down shared client resources for {}", config);
+        clientResources.shutdown();
+    }
+
+    private static ClientResources create(LettuceConfig lettuceConfig) {
+        DefaultClientResources.Builder builder = DefaultClientResources.builder();
+        if (lettuceConfig.getNettyIoPoolSize() != null) {
+            builder.ioThreadPoolSize(lettuceConfig.getNettyIoPoolSize());
+        }
+        if (lettuceConfig.getNettyEventPoolSize() != null) {
+            builder.computationThreadPoolSize(lettuceConfig.getNettyEventPoolSize());
+        }
+        return builder.build();
+    }
+}
@@ -1,20 +1,40 @@
 package org.apache.flink.streaming.connectors.redis.common.container;
 
+import io.lettuce.core.ExpireArgs;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.ReadFrom;
 import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.RedisAdvancedClusterAsyncCommandsImpl;
 import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
 import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
 import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
-
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.AsyncConnectionPoolSupport;
+import io.lettuce.core.support.BoundedAsyncPool;
+import io.lettuce.core.support.BoundedPoolConfig;
+import io.netty.util.concurrent.EventExecutor;
+
+import org.apache.flink.streaming.connectors.redis.common.config.LettuceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /** Redis command container if we want to connect to a Redis cluster. */
 public class RedisClusterContainer implements RedisCommandsContainer, Closeable {
@@ -23,10 +43,36 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisClusterContainer.class);
 
+    /** the keys are strings and the values are byte arrays. */
+    private static final RedisCodec<String, byte[]> BINARY_CODEC =
+            RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
     protected transient RedisClusterClient redisClusterClient;
 
     protected transient StatefulRedisClusterConnection<String, String> connection;
-    protected transient RedisAdvancedClusterAsyncCommands clusterAsyncCommands;
+    protected transient RedisAdvancedClusterAsyncCommands<String, String> clusterAsyncCommands;
+
+    /** the number of connections, the commands are spread across them. */
+    private final int connectionCount;
+
+    private transient List<StatefulRedisClusterConnection<String, String>> connections;
+
+    private transient List<RedisAdvancedClusterAsyncCommands<String, String>> asyncCommandsList;
+
+    private transient List<RedisAdvancedClusterAsyncCommands<String, byte[]>>
+            binaryAsyncCommandsList;
+
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    private final LettuceConfig lettuceConfig;
+
+    /** the pool of connections, it is created on first borrow, null if no one borrows. */
+    private transient volatile CompletableFuture<
+                    BoundedAsyncPool<StatefulRedisClusterConnection<String, String>>>
+            pool;
+
+    /** the nodes which the reads are sent to, the masters if it is null. */
+    private transient ReadFrom readFrom;
 
     /**
      * Initialize Redis command container for Redis cluster.
@@ -34,34 +80,186 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
      * @param redisClusterClient RedisClusterClient instance
      */
     public RedisClusterContainer(RedisClusterClient redisClusterClient) {
+        this(redisClusterClient, null, null);
+    }
+
+    /**
+     * Initialize Redis command container for Redis cluster.
+     *
+     * @param redisClusterClient RedisClusterClient instance
+     * @param lettuceConfig the number of connections and the size of pool, the defaults are used
+     *     if it is null
+     * @param readFrom the nodes which the reads are sent to, the masters if it is null
+     */
+    public RedisClusterContainer(
+            RedisClusterClient redisClusterClient, LettuceConfig lettuceConfig, ReadFrom readFrom) {
         Objects.requireNonNull(redisClusterClient, "redisClusterClient can not be null");
         this.redisClusterClient = redisClusterClient;
+        this.lettuceConfig = lettuceConfig == null ? new LettuceConfig(null, null) : lettuceConfig;
+        this.connectionCount = this.lettuceConfig.getConnectionCount();
+        this.readFrom = readFrom;
     }
 
     @Override
-    public void open() {
-        connection = redisClusterClient.connect();
-        clusterAsyncCommands = connection.async();
-        LOG.info("open async connection!!!!");
+    public synchronized void open() {
+        if (connection != null) {
+            // opened by another user of the shared container.
+            return;
+        }
+        connections = new ArrayList<>(connectionCount);
+        asyncCommandsList = new ArrayList<>(connectionCount);
+        binaryAsyncCommandsList = new ArrayList<>(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            StatefulRedisClusterConnection<String, String> clusterConnection =
+                    withReadFrom(redisClusterClient.connect());
+            connections.add(clusterConnection);
+            asyncCommandsList.add(clusterConnection.async());
+            binaryAsyncCommandsList.add(binaryAsyncCommands(clusterConnection));
+        }
+        connection = connections.get(0);
+        clusterAsyncCommands = asyncCommandsList.get(0);
+        LOG.info("open {} async connections!!!!", connectionCount);
+    }
+
+    /**
+     * the pool of connections, which is created on first borrow, so the containers which never
+     * borrow a connection do not open the min idle connections of pool. It is created again if the
+     * last creation failed.
+     *
+     * @return
+     */
+    private CompletableFuture<BoundedAsyncPool<StatefulRedisClusterConnection<String, String>>>
+            pool() {
+        synchronized (this) {
+            if (pool == null || pool.isCompletedExceptionally()) {
+                // lettuce completes the creation of pool before the min idle connections are put
+                // into it, so the connections and the pool are completed on one thread, where the
+                // pool is returned after they are put into it.
+                EventExecutor executor =
+                        redisClusterClient.getResources().eventExecutorGroup().next();
+                pool =
+                        AsyncConnectionPoolSupport.createBoundedObjectPoolAsync(
+                                        () ->
+                                                redisClusterClient
+                                                        .connectAsync(StringCodec.UTF8)
+                                                        .thenApplyAsync(
+                                                                this::withReadFrom, executor),
+                                        BoundedPoolConfig.builder()
+                                                .maxTotal(lettuceConfig.getMaxTotal())
+                                                .maxIdle(lettuceConfig.getMaxIdle())
+                                                .minIdle(lettuceConfig.getMinIdle())
+                                                .build())
+                                .toCompletableFuture()
+                                .thenApplyAsync(Function.identity(), executor);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * the commands whose values are byte arrays on the connection. The connection just writes the
+     * commands, which are encoded and routed to the node of slot by the codec of commands, so it
+     * is shared with the strings.
+     *
+     * @param clusterConnection
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisAdvancedClusterAsyncCommands<String, byte[]> binaryAsyncCommands(
+            StatefulRedisClusterConnection<String, String> clusterConnection) {
+        return new RedisAdvancedClusterAsyncCommandsImpl<>(
+                (StatefulRedisClusterConnection<String, byte[]>)
+                        (StatefulRedisClusterConnection<?, ?>) clusterConnection,
+                BINARY_CODEC);
+    }
+
+    /**
+     * route the reads of connection to the nodes of read from.
+     *
+     * @param clusterConnection
+     * @return
+     */
+    private StatefulRedisClusterConnection<String, String> withReadFrom(
+            StatefulRedisClusterConnection<String, String> clusterConnection) {
+        if (readFrom != null) {
+            clusterConnection.setReadFrom(readFrom);
+        }
+        return clusterConnection;
     }
 
     /** Closes the {@link RedisClusterClient}. */
     @Override
     public void close() {
-        try {
-            CompletableFuture completableFuture = this.connection.closeAsync();
-            completableFuture.get();
-            LOG.info("close async connection success!");
-        } catch (Exception e) {
-            LOG.error("close async connection error!", e);
+        if (!RedisSharedContainers.release(this)) {
+            return;
+        }
+        if (pool != null) {
+            try {
+                pool.thenCompose(BoundedAsyncPool::closeAsync).get();
+            } catch (Exception e) {
+                LOG.info("close connection pool error!", e);
+            }
+        }
+        if (connections != null) {
+            for (StatefulRedisClusterConnection<String, String> connection : connections) {
+                try {
+                    CompletableFuture completableFuture = connection.closeAsync();
+                    completableFuture.get();
+                    LOG.info("close async connection success!");
+                } catch (Exception e) {
+                    LOG.error("close async connection error!", e);
+                }
+            }
         }
         this.redisClusterClient.shutdown();
+        RedisClientResources.release(this.redisClusterClient.getResources());
+    }
+
+    @Override
+    public void setAutoFlushCommands(boolean autoFlush) {
+        for (StatefulRedisClusterConnection<String, String> connection : connections) {
+            connection.setAutoFlushCommands(autoFlush);
+        }
+    }
+
+    @Override
+    public void flushCommands() {
+        for (StatefulRedisClusterConnection<String, String> connection : connections) {
+            connection.flushCommands();
+        }
+    }
+
+    /**
+     * the commands of the connection which the key is bound to, the key is bound by its hash slot
+     * so the commands of a key, or of keys in one slot, are kept in order.
+     *
+     * @param key
+     * @return
+     */
+    private RedisAdvancedClusterAsyncCommands<String, String> commands(String key) {
+        if (connectionCount == 1) {
+            return clusterAsyncCommands;
+        }
+        return asyncCommandsList.get(SlotHash.getSlot(key) % connectionCount);
+    }
+
+    /**
+     * the commands of the next connection in turn, for the reads whose order does not matter.
+     *
+     * @return
+     */
+    private RedisAdvancedClusterAsyncCommands<String, String> nextCommands() {
+        if (connectionCount == 1) {
+            return clusterAsyncCommands;
+        }
+        return asyncCommandsList.get(
+                Math.floorMod(nextConnection.getAndIncrement(), connectionCount));
     }
 
     @Override
     public RedisFuture<Boolean> hset(final String key, final String hashField, final String value) {
         try {
-            return clusterAsyncCommands.hset(key, hashField, value);
+            return commands(key).hset(key, hashField, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -74,10 +272,42 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Boolean> hsetnx(
+            final String key, final String hashField, final String value) {
+        try {
+            return commands(key).hsetnx(key, hashField, value);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command HSETNX to key {} and hashField {} error message {}",
+                        key,
+                        hashField,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> hset(final String key, final Map<String, String> map) {
+        try {
+            return commands(key).hset(key, map);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command HSET to key {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> hincrBy(final String key, final String hashField, final long value) {
         try {
-            return clusterAsyncCommands.hincrby(key, hashField, value);
+            return commands(key).hincrby(key, hashField, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -94,7 +324,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     public RedisFuture<Double> hincrByFloat(
             final String key, final String hashField, final double value) {
         try {
-            return clusterAsyncCommands.hincrbyfloat(key, hashField, value);
+            return commands(key).hincrbyfloat(key, hashField, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -110,7 +340,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> rpush(final String listName, final String value) {
         try {
-            return clusterAsyncCommands.rpush(listName, value);
+            return commands(listName).rpush(listName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -122,10 +352,25 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Long> rpush(final String listName, final String... values) {
+        try {
+            return commands(listName).rpush(listName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command RPUSH to list {} error message {}",
+                        listName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> lpush(String listName, String value) {
         try {
-            return clusterAsyncCommands.lpush(listName, value);
+            return commands(listName).lpush(listName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -137,10 +382,25 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Long> lpush(final String listName, final String... values) {
+        try {
+            return commands(listName).lpush(listName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command LPUSH to list {} error message {}",
+                        listName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> sadd(final String setName, final String value) {
         try {
-            return clusterAsyncCommands.sadd(setName, value);
+            return commands(setName).sadd(setName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -152,10 +412,25 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Long> sadd(final String setName, final String... values) {
+        try {
+            return commands(setName).sadd(setName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command SADD to set {} error message {}",
+                        setName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> publish(final String channelName, final String message) {
         try {
-            return clusterAsyncCommands.publish(channelName, message);
+            return commands(channelName).publish(channelName, message);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -170,7 +445,22 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<String> set(final String key, final String value) {
         try {
-            return clusterAsyncCommands.set(key, value);
+            return commands(key).set(key, value);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command SET to key {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<String> set(final String key, final String value, final SetArgs setArgs) {
+        try {
+            return commands(key).set(key, value, setArgs);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -182,10 +472,40 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<String> mset(final Map<String, String> map) {
+        try {
+            return commands(map.keySet().iterator().next()).mset(map);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command MSET to keys {} error message {}",
+                        map.keySet(),
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> pfadd(final String key, final String element) {
         try {
-            return clusterAsyncCommands.pfadd(key, element);
+            return commands(key).pfadd(key, element);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command PFADD to key {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> pfadd(final String key, final String... elements) {
+        try {
+            return commands(key).pfadd(key, elements);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -200,7 +520,22 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> zadd(final String key, final String score, final String element) {
         try {
-            return clusterAsyncCommands.zadd(key, Double.valueOf(score), element);
+            return commands(key).zadd(key, Double.valueOf(score), element);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command ZADD to set {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> zadd(final String key, final ScoredValue<String>... scoredValues) {
+        try {
+            return commands(key).zadd(key, scoredValues);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -215,7 +550,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Double> zincrBy(final String key, final String score, final String element) {
         try {
-            return clusterAsyncCommands.zincrby(key, Double.valueOf(score), element);
+            return commands(key).zincrby(key, Double.valueOf(score), element);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -230,7 +565,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> zrem(final String key, final String element) {
         try {
-            return clusterAsyncCommands.zrem(key, element);
+            return commands(key).zrem(key, element);
         } catch (Exception e) {
             if (LOG.isDebugEnabled()) {
                 LOG.error(
@@ -245,7 +580,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> incrBy(String key, long value) {
         try {
-            return clusterAsyncCommands.incrby(key, value);
+            return commands(key).incrby(key, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -261,7 +596,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Double> incrByFloat(String key, double value) {
         try {
-            return clusterAsyncCommands.incrbyfloat(key, value);
+            return commands(key).incrbyfloat(key, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -277,7 +612,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> decrBy(String key, Long value) {
         try {
-            return clusterAsyncCommands.decrby(key, value);
+            return commands(key).decrby(key, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -293,7 +628,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> hdel(String key, String field) {
         try {
-            return clusterAsyncCommands.hdel(key, field);
+            return commands(key).hdel(key, field);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -306,10 +641,26 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Long> hdel(String key, String... fields) {
+        try {
+            return commands(key).hdel(key, fields);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command hdel to key {} with {} fields error message {}",
+                        key,
+                        fields.length,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> del(String key) {
         try {
-            return clusterAsyncCommands.del(key);
+            return commands(key).del(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -324,7 +675,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Boolean> expire(String key, int seconds) {
         try {
-            return clusterAsyncCommands.expire(key, Duration.ofSeconds(seconds));
+            return commands(key).expire(key, Duration.ofSeconds(seconds));
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -337,10 +688,26 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Boolean> expire(String key, int seconds, ExpireArgs expireArgs) {
+        try {
+            return commands(key).expire(key, seconds, expireArgs);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command expire to key {} seconds {} error message {}",
+                        key,
+                        seconds,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> srem(String setName, String value) {
         try {
-            return clusterAsyncCommands.srem(setName, value);
+            return commands(setName).srem(setName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -353,10 +720,25 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<Long> srem(final String setName, final String... values) {
+        try {
+            return commands(setName).srem(setName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command SREM to set {} error message {}",
+                        setName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<String> hget(String key, String field) {
         try {
-            return clusterAsyncCommands.hget(key, field);
+            return nextCommands().hget(key, field);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -372,7 +754,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<String> get(String key) {
         try {
-            return clusterAsyncCommands.get(key);
+            return nextCommands().get(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -384,10 +766,25 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<List<KeyValue<String, String>>> mget(String... keys) {
+        try {
+            return nextCommands().mget(keys);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command mget to {} keys error message {}",
+                        keys.length,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Map<String, String>> hgetAll(String key) {
         try {
-            return clusterAsyncCommands.hgetall(key);
+            return nextCommands().hgetall(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -399,15 +796,71 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
         }
     }
 
+    @Override
+    public RedisFuture<List<KeyValue<String, String>>> hmget(String key, String... fields) {
+        try {
+            return nextCommands().hmget(key, fields);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command hmget to key {} with {} fields error message {}",
+                        key,
+                        fields.length,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public ScheduledExecutorService getEventExecutor() {
+        return redisClusterClient.getResources().eventExecutorGroup();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeOnPooledConnection(
+            Function<RedisClusterAsyncCommands<String, String>, ? extends CompletionStage<T>>
+                    commands) {
+        return pool().thenCompose(connectionPool -> borrow(connectionPool, commands));
+    }
+
+    /**
+     * execute the commands on a connection borrowed from the pool, and give it back when they
+     * complete.
+     *
+     * @param connectionPool
+     * @param commands
+     * @return
+     */
+    private static <T> CompletionStage<T> borrow(
+            BoundedAsyncPool<StatefulRedisClusterConnection<String, String>> connectionPool,
+            Function<RedisClusterAsyncCommands<String, String>, ? extends CompletionStage<T>>
+                    commands) {
+        return connectionPool
+                .acquire()
+                .thenCompose(
+                        borrowed ->
+                                commands.apply(borrowed.async())
+                                        .whenComplete((r, t) -> connectionPool.release(borrowed)));
+    }
+
     @Override
     public RedisClusterAsyncCommands getAsyncCommands() {
         return clusterAsyncCommands;
     }
 
+    @Override
+    public RedisClusterAsyncCommands<String, byte[]> getBinaryAsyncCommands(String key) {
+        if (connectionCount == 1) {
+            return binaryAsyncCommandsList.get(0);
+        }
+        return binaryAsyncCommandsList.get(SlotHash.getSlot(key) % connectionCount);
+    }
+
     @Override
     public RedisFuture<Long> getTTL(String key) {
         try {
-            return clusterAsyncCommands.ttl(key);
+            return commands(key).ttl(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -420,9 +873,24 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     }
 
     @Override
-    public RedisFuture<List> lRange(String key, long start, long end) {
+    public RedisFuture<String> info(String section) {
+        try {
+            return nextCommands().info(section);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command info to section {} error message {}",
+                        section,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<List<String>> lRange(String key, long start, long end) {
         try {
-            return clusterAsyncCommands.lrange(key, start, end);
+            return nextCommands().lrange(key, start, end);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -439,7 +907,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Long> exists(String key) {
         try {
-            return clusterAsyncCommands.exists(key);
+            return commands(key).exists(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -454,7 +922,7 @@ public class RedisClusterContainer implements RedisCommandsContainer, Closeable
     @Override
     public RedisFuture<Boolean> hexists(String key, String field) {
         try {
-            return clusterAsyncCommands.hexists(key, field);
+            return commands(key).hexists(key, field);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -1,12 +1,20 @@
 package org.apache.flink.streaming.connectors.redis.common.container;
 
+import io.lettuce.core.ExpireArgs;
+import io.lettuce.core.KeyValue;
 import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.SetArgs;
 import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
 
 /** The container for all available Redis commands. */
 public interface RedisCommandsContainer extends Serializable {
@@ -18,6 +26,18 @@ public interface RedisCommandsContainer extends Serializable {
      */
     void open() throws Exception;
 
+    /**
+     * Controls whether commands are written to the transport as soon as they are issued. When it
+     * is disabled, commands are queued until {@link #flushCommands()} is called and then sent to
+     * redis as one pipeline.
+     *
+     * @param autoFlush state of auto flush
+     */
+    void setAutoFlushCommands(boolean autoFlush);
+
+    /** Flush the commands queued since auto flush was disabled. */
+    void flushCommands();
+
     /**
      * Sets field in the hash stored at key to value, with TTL, if needed. Setting expire time to
      * key is optional. If key does not exist, a new key holding a hash is created. If field already
@@ -29,6 +49,25 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Boolean> hset(String key, String hashField, String value);
 
+    /**
+     * Sets field in the hash stored at key to value, only if field does not yet exist.
+     *
+     * @param key Hash name
+     * @param hashField Hash field
+     * @param value Hash value
+     * @return true if field is a new field in the hash and value was set
+     */
+    RedisFuture<Boolean> hsetnx(String key, String hashField, String value);
+
+    /**
+     * Sets the fields in the hash stored at key to the values of map in one command.
+     *
+     * @param key Hash name
+     * @param map the fields and values
+     * @return the number of fields that were added
+     */
+    RedisFuture<Long> hset(String key, Map<String, String> map);
+
     /**
      * @param key
      * @param hashField
@@ -54,6 +93,14 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> rpush(String listName, String value);
 
+    /**
+     * Insert the specified values at the tail of the list stored at key in one command.
+     *
+     * @param listName Name of the List
+     * @param values Values to be added
+     */
+    RedisFuture<Long> rpush(String listName, String... values);
+
     /**
      * Insert the specified value at the head of the list stored at key. If key does not exist, it
      * is created as empty list before performing the push operation.
@@ -63,6 +110,15 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> lpush(String listName, String value);
 
+    /**
+     * Insert the specified values at the head of the list stored at key in one command, the last
+     * value ends up at the head like pushing them one by one.
+     *
+     * @param listName Name of the List
+     * @param values Values to be added
+     */
+    RedisFuture<Long> lpush(String listName, String... values);
+
     /**
      * Add the specified member to the set stored at key. Specified members that are already a
      * member of this set are ignored. If key does not exist, a new set is created before adding the
@@ -73,6 +129,14 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> sadd(String setName, String value);
 
+    /**
+     * Add the specified members to the set stored at key in one command.
+     *
+     * @param setName Name of the Set
+     * @param values Values to be added
+     */
+    RedisFuture<Long> sadd(String setName, String... values);
+
     /**
      * Posts a message to the given channel.
      *
@@ -91,6 +155,24 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<String> set(String key, String value);
 
+    /**
+     * Set key to hold the string value with the arguments, eg: NX and EX.
+     *
+     * @param key the key name in which value to be set
+     * @param value the value
+     * @param setArgs the arguments of SET
+     * @return OK if SET was executed, null if it was not performed because of NX or XX
+     */
+    RedisFuture<String> set(String key, String value, SetArgs setArgs);
+
+    /**
+     * Set the keys to the values of map in one command. The keys are split by slot when connecting
+     * to a redis cluster.
+     *
+     * @param map the keys and values
+     */
+    RedisFuture<String> mset(Map<String, String> map);
+
     /**
      * Adds all the element arguments to the HyperLogLog data structure stored at the variable name
      * specified as first argument.
@@ -100,6 +182,14 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> pfadd(String key, String element);
 
+    /**
+     * Adds all the elements to the HyperLogLog data structure stored at key in one command.
+     *
+     * @param key The name of the key
+     * @param elements the elements
+     */
+    RedisFuture<Long> pfadd(String key, String... elements);
+
     /**
      * Adds the specified member with the specified scores to the sorted set stored at key.
      *
@@ -109,6 +199,14 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> zadd(String key, String score, String element);
 
+    /**
+     * Adds the specified members with their scores to the sorted set stored at key in one command.
+     *
+     * @param key The name of the Sorted Set
+     * @param scoredValues the elements and their scores
+     */
+    RedisFuture<Long> zadd(String key, ScoredValue<String>... scoredValues);
+
     /**
      * increase the specified member with the specified scores to the sorted set stored at key.
      *
@@ -168,6 +266,15 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Map<String, String>> hgetAll(String key);
 
+    /**
+     * get the values of fields by key in one command.
+     *
+     * @param key
+     * @param fields
+     * @return the values in the order of fields, the value of absent field is empty
+     */
+    RedisFuture<List<KeyValue<String, String>>> hmget(String key, String... fields);
+
     /**
      * get value by key.
      *
@@ -176,6 +283,15 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<String> get(String key);
 
+    /**
+     * get the values of keys in one command. The keys are split by slot when connecting to a redis
+     * cluster.
+     *
+     * @param keys
+     * @return the values in the order of keys, the value of absent key is empty
+     */
+    RedisFuture<List<KeyValue<String, String>>> mget(String... keys);
+
     /**
      * Close the container.
      *
@@ -192,6 +308,16 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Boolean> expire(String key, int seconds);
 
+    /**
+     * expire key with seconds and the arguments, eg: NX which requires redis 7.0.
+     *
+     * @param key
+     * @param seconds
+     * @param expireArgs
+     * @return
+     */
+    RedisFuture<Boolean> expire(String key, int seconds, ExpireArgs expireArgs);
+
     /**
      * get ttl of key.
      *
@@ -200,6 +326,14 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> getTTL(String key);
 
+    /**
+     * get the information of server.
+     *
+     * @param section eg: server
+     * @return
+     */
+    RedisFuture<String> info(String section);
+
     /**
      * delete key in map.
      *
@@ -208,6 +342,14 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> hdel(String key, String field);
 
+    /**
+     * delete the fields of map in one command.
+     *
+     * @param key
+     * @param fields
+     */
+    RedisFuture<Long> hdel(String key, String... fields);
+
     /**
      * delete key.
      *
@@ -223,13 +365,21 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Long> srem(String setName, String value);
 
+    /**
+     * delete the values from set in one command.
+     *
+     * @param setName
+     * @param values
+     */
+    RedisFuture<Long> srem(String setName, String... values);
+
     /**
      * @param key
      * @param start
      * @param end
      * @return
      */
-    RedisFuture<List> lRange(String key, long start, long end);
+    RedisFuture<List<String>> lRange(String key, long start, long end);
 
     /**
      * @param key
@@ -244,10 +394,38 @@ public interface RedisCommandsContainer extends Serializable {
      */
     RedisFuture<Boolean> hexists(String key, String field);
 
+    /**
+     * get the event executor of client resources, which is used as timer, eg: to schedule retries.
+     *
+     * @return
+     */
+    ScheduledExecutorService getEventExecutor();
+
+    /**
+     * execute the commands on a connection borrowed from the pool, so the slow commands, eg: a big
+     * HGETALL, do not block the others queued on the connections of container. The connection is
+     * given back when the future of commands completes.
+     *
+     * @param commands issue the commands on the borrowed connection
+     * @return
+     */
+    <T> CompletableFuture<T> executeOnPooledConnection(
+            Function<RedisClusterAsyncCommands<String, String>, ? extends CompletionStage<T>>
+                    commands);
+
     /**
      * get redis async commands.
      *
      * @return
      */
     RedisClusterAsyncCommands getAsyncCommands();
+
+    /**
+     * get the redis async commands whose values are byte arrays, they are sent on the connection
+     * which the key is bound to, so they are kept in order with the other commands of the key.
+     *
+     * @param key
+     * @return
+     */
+    RedisClusterAsyncCommands<String, byte[]> getBinaryAsyncCommands(String key);
 }
@@ -1,17 +1,18 @@
 package org.apache.flink.streaming.connectors.redis.common.container;
 
+import io.lettuce.core.ReadFrom;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.cluster.ClusterClientOptions;
 import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.resource.ClientResources;
-import io.lettuce.core.resource.DefaultClientResources;
 
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkClusterConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkSentinelConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkSingleConfig;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
 import org.apache.flink.util.StringUtils;
 
 import java.time.Duration;
@@ -31,27 +32,65 @@ public class RedisCommandsContainerBuilder {
      *     null
      */
     public static RedisCommandsContainer build(FlinkConfigBase flinkConfigBase) {
-        DefaultClientResources.Builder builder = DefaultClientResources.builder();
-        if (flinkConfigBase.getLettuceConfig() != null) {
-            if (flinkConfigBase.getLettuceConfig().getNettyIoPoolSize() != null) {
-                builder.ioThreadPoolSize(flinkConfigBase.getLettuceConfig().getNettyIoPoolSize());
-            }
-            if (flinkConfigBase.getLettuceConfig().getNettyEventPoolSize() != null) {
-                builder.computationThreadPoolSize(
-                        flinkConfigBase.getLettuceConfig().getNettyEventPoolSize());
-            }
+        return build(flinkConfigBase, true);
+    }
+
+    /**
+     * Initialize the {@link RedisCommandsContainer}, the container is shared with the others of
+     * the same config when {@code connection.shared} is enabled and it is shareable.
+     *
+     * @param flinkConfigBase configuration base
+     * @param shareable false if the connection is changed by the user, eg: auto flush is disabled
+     * @return
+     */
+    public static RedisCommandsContainer build(FlinkConfigBase flinkConfigBase, boolean shareable) {
+        return build(flinkConfigBase, shareable, RedisReadFrom.MASTER);
+    }
+
+    /**
+     * Initialize the {@link RedisCommandsContainer} whose reads are sent to the nodes of
+     * redisReadFrom, the writes always go to the master.
+     *
+     * @param flinkConfigBase configuration base
+     * @param shareable false if the connection is changed by the user, eg: auto flush is disabled
+     * @param redisReadFrom the nodes to read from
+     * @return
+     */
+    public static RedisCommandsContainer build(
+            FlinkConfigBase flinkConfigBase, boolean shareable, RedisReadFrom redisReadFrom) {
+        if (shareable
+                && flinkConfigBase.getLettuceConfig() != null
+                && flinkConfigBase.getLettuceConfig().isConnectionShared()) {
+            return RedisSharedContainers.acquire(
+                    flinkConfigBase,
+                    redisReadFrom,
+                    () -> createContainer(flinkConfigBase, redisReadFrom));
         }
+        return createContainer(flinkConfigBase, redisReadFrom);
+    }
 
-        ClientResources clientResources = builder.build();
+    private static RedisCommandsContainer createContainer(
+            FlinkConfigBase flinkConfigBase, RedisReadFrom redisReadFrom) {
+        ClientResources clientResources =
+                RedisClientResources.acquire(flinkConfigBase.getLettuceConfig());
+        try {
+            return build(flinkConfigBase, clientResources, readFrom(redisReadFrom));
+        } catch (RuntimeException e) {
+            RedisClientResources.release(clientResources);
+            throw e;
+        }
+    }
 
+    private static RedisCommandsContainer build(
+            FlinkConfigBase flinkConfigBase, ClientResources clientResources, ReadFrom readFrom) {
         if (flinkConfigBase instanceof FlinkSingleConfig) {
-            return build((FlinkSingleConfig) flinkConfigBase, clientResources);
+            return build((FlinkSingleConfig) flinkConfigBase, clientResources, readFrom);
         } else if (flinkConfigBase instanceof FlinkClusterConfig) {
             return RedisCommandsContainerBuilder.build(
-                    (FlinkClusterConfig) flinkConfigBase, clientResources);
+                    (FlinkClusterConfig) flinkConfigBase, clientResources, readFrom);
         } else if (flinkConfigBase instanceof FlinkSentinelConfig) {
             return RedisCommandsContainerBuilder.build(
-                    (FlinkSentinelConfig) flinkConfigBase, clientResources);
+                    (FlinkSentinelConfig) flinkConfigBase, clientResources, readFrom);
         } else {
             throw new IllegalArgumentException(" configuration not found");
         }
@@ -65,7 +104,7 @@ public class RedisCommandsContainerBuilder {
      * @throws NullPointerException if singleConfig is null
      */
     public static RedisCommandsContainer build(
-            FlinkSingleConfig singleConfig, ClientResources clientResources) {
+            FlinkSingleConfig singleConfig, ClientResources clientResources, ReadFrom readFrom) {
         Objects.requireNonNull(singleConfig, "Redis config should not be Null");
 
         RedisURI.Builder builder =
@@ -77,7 +116,12 @@ public class RedisCommandsContainerBuilder {
             builder.withPassword(singleConfig.getPassword().toCharArray());
         }
 
-        return new RedisContainer(RedisClient.create(clientResources, builder.build()));
+        RedisURI redisURI = builder.build();
+        return new RedisContainer(
+                RedisClient.create(clientResources, redisURI),
+                redisURI,
+                singleConfig.getLettuceConfig(),
+                readFrom);
     }
 
     /**
@@ -88,7 +132,9 @@ public class RedisCommandsContainerBuilder {
      * @throws NullPointerException if ClusterConfig is null
      */
     public static RedisCommandsContainer build(
-            FlinkClusterConfig clusterConfig, ClientResources clientResources) {
+            FlinkClusterConfig clusterConfig,
+            ClientResources clientResources,
+            ReadFrom readFrom) {
         Objects.requireNonNull(clusterConfig, "Redis cluster config should not be Null");
 
         List<RedisURI> redisURIS =
@@ -124,7 +170,8 @@ public class RedisCommandsContainerBuilder {
                         .topologyRefreshOptions(topologyRefreshOptions)
                         .build());
 
-        return new RedisClusterContainer(clusterClient);
+        return new RedisClusterContainer(
+                clusterClient, clusterConfig.getLettuceConfig(), readFrom);
     }
 
     /**
@@ -135,7 +182,9 @@ public class RedisCommandsContainerBuilder {
      * @throws NullPointerException if SentinelConfig is null
      */
     public static RedisCommandsContainer build(
-            FlinkSentinelConfig sentinelConfig, ClientResources clientResources) {
+            FlinkSentinelConfig sentinelConfig,
+            ClientResources clientResources,
+            ReadFrom readFrom) {
         Objects.requireNonNull(sentinelConfig, "Redis sentinel config should not be Null");
 
         RedisURI.Builder builder =
@@ -161,6 +210,31 @@ public class RedisCommandsContainerBuilder {
                             }
                         });
 
-        return new RedisContainer(RedisClient.create(clientResources, builder.build()));
+        RedisURI redisURI = builder.build();
+        return new RedisContainer(
+                RedisClient.create(clientResources, redisURI),
+                redisURI,
+                sentinelConfig.getLettuceConfig(),
+                readFrom);
+    }
+
+    /**
+     * the {@link ReadFrom} of lettuce, null for the master which needs no routing of reads.
+     *
+     * @param redisReadFrom
+     * @return
+     */
+    private static ReadFrom readFrom(RedisReadFrom redisReadFrom) {
+        switch (redisReadFrom) {
+            case REPLICA:
+                return ReadFrom.REPLICA;
+            case REPLICA_PREFERRED:
+                return ReadFrom.REPLICA_PREFERRED;
+            case LOWEST_LATENCY:
+            case NEAREST:
+                return ReadFrom.LOWEST_LATENCY;
+            default:
+                return null;
+        }
     }
 }
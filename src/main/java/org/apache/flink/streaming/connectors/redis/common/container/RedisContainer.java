@@ -1,18 +1,41 @@
 package org.apache.flink.streaming.connectors.redis.common.container;
 
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.ExpireArgs;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisAsyncCommandsImpl;
 import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.SetArgs;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.cluster.SlotHash;
 import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
-
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.masterreplica.MasterReplica;
+import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
+import io.lettuce.core.support.AsyncConnectionPoolSupport;
+import io.lettuce.core.support.BoundedAsyncPool;
+import io.lettuce.core.support.BoundedPoolConfig;
+import io.netty.util.concurrent.EventExecutor;
+
+import org.apache.flink.streaming.connectors.redis.common.config.LettuceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Redis command container if we want to connect to a single Redis server or to Redis sentinels If
@@ -25,9 +48,37 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisContainer.class);
 
+    /** the keys are strings and the values are byte arrays. */
+    private static final RedisCodec<String, byte[]> BINARY_CODEC =
+            RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
     private transient RedisClient redisClient;
+
+    /** the uri of client, which the pooled connections connect to. */
+    private final RedisURI redisURI;
     protected transient StatefulRedisConnection<String, String> connection;
-    protected transient RedisAsyncCommands asyncCommands;
+    protected transient RedisAsyncCommands<String, String> asyncCommands;
+
+    /** the number of connections, the commands are spread across them. */
+    private final int connectionCount;
+
+    private transient List<StatefulRedisConnection<String, String>> connections;
+
+    private transient List<RedisAsyncCommands<String, String>> asyncCommandsList;
+
+    private transient List<RedisAsyncCommands<String, byte[]>> binaryAsyncCommandsList;
+
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    private final LettuceConfig lettuceConfig;
+
+    /** the pool of connections, it is created on first borrow, null if no one borrows. */
+    private transient volatile CompletableFuture<
+                    BoundedAsyncPool<StatefulRedisConnection<String, String>>>
+            pool;
+
+    /** the nodes which the reads are sent to, the master if it is null. */
+    private transient ReadFrom readFrom;
 
     /**
      * Use this constructor if to connect with single Redis server.
@@ -35,33 +86,197 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
      * @param redisClient
      */
     public RedisContainer(RedisClient redisClient) {
+        this(redisClient, null, null, null);
+    }
+
+    /**
+     * @param redisClient
+     * @param redisURI the uri of client, no connection pool is opened if it is null
+     * @param lettuceConfig the number of connections and the size of pool, the defaults are used
+     *     if it is null
+     * @param readFrom the nodes which the reads are sent to, the master if it is null. Otherwise
+     *     the replicas are discovered by the sentinels, or by the replication info of the node
+     */
+    public RedisContainer(
+            RedisClient redisClient,
+            RedisURI redisURI,
+            LettuceConfig lettuceConfig,
+            ReadFrom readFrom) {
         this.redisClient = redisClient;
+        this.redisURI = redisURI;
+        this.lettuceConfig = lettuceConfig == null ? new LettuceConfig(null, null) : lettuceConfig;
+        this.connectionCount = this.lettuceConfig.getConnectionCount();
+        this.readFrom = readFrom;
     }
 
     /** Closes the redisClient instances. */
     @Override
     public void close() {
-        try {
-            CompletableFuture completableFuture = connection.closeAsync();
-            completableFuture.get();
-            LOG.info("close async connection success!");
-        } catch (Exception e) {
-            LOG.info("close async connection error!", e);
+        if (!RedisSharedContainers.release(this)) {
+            return;
+        }
+        if (pool != null) {
+            try {
+                pool.thenCompose(BoundedAsyncPool::closeAsync).get();
+            } catch (Exception e) {
+                LOG.info("close connection pool error!", e);
+            }
+        }
+        if (connections != null) {
+            for (StatefulRedisConnection<String, String> connection : connections) {
+                try {
+                    CompletableFuture completableFuture = connection.closeAsync();
+                    completableFuture.get();
+                    LOG.info("close async connection success!");
+                } catch (Exception e) {
+                    LOG.info("close async connection error!", e);
+                }
+            }
         }
         redisClient.shutdown();
+        RedisClientResources.release(redisClient.getResources());
+    }
+
+    @Override
+    public synchronized void open() {
+        if (connection != null) {
+            // opened by another user of the shared container.
+            return;
+        }
+        connections = new ArrayList<>(connectionCount);
+        asyncCommandsList = new ArrayList<>(connectionCount);
+        binaryAsyncCommandsList = new ArrayList<>(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            StatefulRedisConnection<String, String> redisConnection = connect();
+            connections.add(redisConnection);
+            asyncCommandsList.add(redisConnection.async());
+            binaryAsyncCommandsList.add(binaryAsyncCommands(redisConnection));
+        }
+        connection = connections.get(0);
+        asyncCommands = asyncCommandsList.get(0);
+        LOG.info("open {} async connections!!!!", connectionCount);
+    }
+
+    /**
+     * the pool of connections, which is created on first borrow, so the containers which never
+     * borrow a connection do not open the min idle connections of pool. It is created again if the
+     * last creation failed.
+     *
+     * @return
+     */
+    private CompletableFuture<BoundedAsyncPool<StatefulRedisConnection<String, String>>> pool() {
+        synchronized (this) {
+            if (pool == null || pool.isCompletedExceptionally()) {
+                // lettuce completes the creation of pool before the min idle connections are put
+                // into it, so the connections and the pool are completed on one thread, where the
+                // pool is returned after they are put into it.
+                EventExecutor executor = redisClient.getResources().eventExecutorGroup().next();
+                pool =
+                        AsyncConnectionPoolSupport.createBoundedObjectPoolAsync(
+                                        () ->
+                                                connectAsync()
+                                                        .thenApplyAsync(
+                                                                Function.identity(), executor),
+                                        BoundedPoolConfig.builder()
+                                                .maxTotal(lettuceConfig.getMaxTotal())
+                                                .maxIdle(lettuceConfig.getMaxIdle())
+                                                .minIdle(lettuceConfig.getMinIdle())
+                                                .build())
+                                .toCompletableFuture()
+                                .thenApplyAsync(Function.identity(), executor);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * connect to the master, or to the master and its replicas when the reads are routed.
+     *
+     * @return
+     */
+    private StatefulRedisConnection<String, String> connect() {
+        if (readFrom == null || redisURI == null) {
+            return redisClient.connect();
+        }
+        StatefulRedisMasterReplicaConnection<String, String> masterReplicaConnection =
+                MasterReplica.connect(redisClient, StringCodec.UTF8, redisURI);
+        masterReplicaConnection.setReadFrom(readFrom);
+        return masterReplicaConnection;
+    }
+
+    private CompletableFuture<StatefulRedisConnection<String, String>> connectAsync() {
+        if (readFrom == null) {
+            return redisClient.connectAsync(StringCodec.UTF8, redisURI).toCompletableFuture();
+        }
+        return MasterReplica.connectAsync(redisClient, StringCodec.UTF8, redisURI)
+                .thenApply(
+                        masterReplicaConnection -> {
+                            masterReplicaConnection.setReadFrom(readFrom);
+                            return masterReplicaConnection;
+                        });
+    }
+
+    /**
+     * the commands whose values are byte arrays on the connection. The connection just writes the
+     * commands, which are encoded by the codec of commands, so it is shared with the strings.
+     *
+     * @param redisConnection
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisAsyncCommands<String, byte[]> binaryAsyncCommands(
+            StatefulRedisConnection<String, String> redisConnection) {
+        return new RedisAsyncCommandsImpl<>(
+                (StatefulRedisConnection<String, byte[]>)
+                        (StatefulRedisConnection<?, ?>) redisConnection,
+                BINARY_CODEC);
     }
 
     @Override
-    public void open() {
-        connection = redisClient.connect();
-        asyncCommands = connection.async();
-        LOG.info("open async connection!!!!");
+    public void setAutoFlushCommands(boolean autoFlush) {
+        for (StatefulRedisConnection<String, String> connection : connections) {
+            connection.setAutoFlushCommands(autoFlush);
+        }
+    }
+
+    @Override
+    public void flushCommands() {
+        for (StatefulRedisConnection<String, String> connection : connections) {
+            connection.flushCommands();
+        }
+    }
+
+    /**
+     * the commands of the connection which the key is bound to, the key is bound by its hash slot
+     * so the commands of a key, or of keys in one slot, are kept in order.
+     *
+     * @param key
+     * @return
+     */
+    private RedisAsyncCommands<String, String> commands(String key) {
+        if (connectionCount == 1) {
+            return asyncCommands;
+        }
+        return asyncCommandsList.get(SlotHash.getSlot(key) % connectionCount);
+    }
+
+    /**
+     * the commands of the next connection in turn, for the reads whose order does not matter.
+     *
+     * @return
+     */
+    private RedisAsyncCommands<String, String> nextCommands() {
+        if (connectionCount == 1) {
+            return asyncCommands;
+        }
+        return asyncCommandsList.get(
+                Math.floorMod(nextConnection.getAndIncrement(), connectionCount));
     }
 
     @Override
     public RedisFuture<Boolean> hset(final String key, final String hashField, final String value) {
         try {
-            return asyncCommands.hset(key, hashField, value);
+            return commands(key).hset(key, hashField, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -74,10 +289,42 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<Boolean> hsetnx(
+            final String key, final String hashField, final String value) {
+        try {
+            return commands(key).hsetnx(key, hashField, value);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command HSETNX to key {} and hashField {} error message {}",
+                        key,
+                        hashField,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> hset(final String key, final Map<String, String> map) {
+        try {
+            return commands(key).hset(key, map);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command HSET to key {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> hincrBy(final String key, final String hashField, final long value) {
         try {
-            return asyncCommands.hincrby(key, hashField, value);
+            return commands(key).hincrby(key, hashField, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -94,7 +341,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     public RedisFuture<Double> hincrByFloat(
             final String key, final String hashField, final double value) {
         try {
-            return asyncCommands.hincrbyfloat(key, hashField, value);
+            return commands(key).hincrbyfloat(key, hashField, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -110,7 +357,22 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> rpush(final String listName, final String value) {
         try {
-            return asyncCommands.rpush(listName, value);
+            return commands(listName).rpush(listName, value);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command RPUSH to list {} error message {}",
+                        listName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> rpush(final String listName, final String... values) {
+        try {
+            return commands(listName).rpush(listName, values);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -125,7 +387,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> lpush(String listName, String value) {
         try {
-            return asyncCommands.lpush(listName, value);
+            return commands(listName).lpush(listName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -137,11 +399,26 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<Long> lpush(final String listName, final String... values) {
+        try {
+            return commands(listName).lpush(listName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command LPUSH to list {} error message {}",
+                        listName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> sadd(final String setName, final String value) {
 
         try {
-            return asyncCommands.sadd(setName, value);
+            return commands(setName).sadd(setName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -153,11 +430,26 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<Long> sadd(final String setName, final String... values) {
+        try {
+            return commands(setName).sadd(setName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command SADD to set {} error message {}",
+                        setName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> publish(final String channelName, final String message) {
 
         try {
-            return asyncCommands.publish(channelName, message);
+            return commands(channelName).publish(channelName, message);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -172,7 +464,22 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<String> set(final String key, final String value) {
         try {
-            return asyncCommands.set(key, value);
+            return commands(key).set(key, value);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command SET to key {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<String> set(final String key, final String value, final SetArgs setArgs) {
+        try {
+            return commands(key).set(key, value, setArgs);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -184,10 +491,40 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<String> mset(final Map<String, String> map) {
+        try {
+            return commands(map.keySet().iterator().next()).mset(map);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command MSET to keys {} error message {}",
+                        map.keySet(),
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> pfadd(final String key, final String element) {
         try {
-            return asyncCommands.pfadd(key, element);
+            return commands(key).pfadd(key, element);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command PFADD to key {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> pfadd(final String key, final String... elements) {
+        try {
+            return commands(key).pfadd(key, elements);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -202,7 +539,22 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> zadd(final String key, final String score, final String element) {
         try {
-            return asyncCommands.zadd(key, Double.valueOf(score), element);
+            return commands(key).zadd(key, Double.valueOf(score), element);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command ZADD to set {} error message {}",
+                        key,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<Long> zadd(final String key, final ScoredValue<String>... scoredValues) {
+        try {
+            return commands(key).zadd(key, scoredValues);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -217,7 +569,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Double> zincrBy(final String key, final String score, final String element) {
         try {
-            return asyncCommands.zincrby(key, Double.valueOf(score), element);
+            return commands(key).zincrby(key, Double.valueOf(score), element);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -232,7 +584,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> zrem(final String key, final String element) {
         try {
-            return asyncCommands.zrem(key, element);
+            return commands(key).zrem(key, element);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -247,7 +599,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> incrBy(String key, long value) {
         try {
-            return asyncCommands.incrby(key, value);
+            return commands(key).incrby(key, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -263,7 +615,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Double> incrByFloat(String key, double value) {
         try {
-            return asyncCommands.incrbyfloat(key, value);
+            return commands(key).incrbyfloat(key, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -279,7 +631,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> decrBy(String key, Long value) {
         try {
-            return asyncCommands.decrby(key, value);
+            return commands(key).decrby(key, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -295,7 +647,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<String> hget(String key, String field) {
         try {
-            return asyncCommands.hget(key, field);
+            return nextCommands().hget(key, field);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -311,7 +663,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Map<String, String>> hgetAll(String key) {
         try {
-            return asyncCommands.hgetall(key);
+            return nextCommands().hgetall(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -323,10 +675,26 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<List<KeyValue<String, String>>> hmget(String key, String... fields) {
+        try {
+            return nextCommands().hmget(key, fields);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command hmget to key {} with {} fields error message {}",
+                        key,
+                        fields.length,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<String> get(String key) {
         try {
-            return asyncCommands.get(key);
+            return nextCommands().get(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -338,10 +706,25 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<List<KeyValue<String, String>>> mget(String... keys) {
+        try {
+            return nextCommands().mget(keys);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command mget to {} keys error message {}",
+                        keys.length,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> hdel(String key, String field) {
         try {
-            return asyncCommands.hdel(key, field);
+            return commands(key).hdel(key, field);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -354,10 +737,26 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<Long> hdel(String key, String... fields) {
+        try {
+            return commands(key).hdel(key, fields);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command hdel to key {} with {} fields error message {}",
+                        key,
+                        fields.length,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> del(String key) {
         try {
-            return asyncCommands.del(key);
+            return commands(key).del(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -372,7 +771,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Boolean> expire(String key, int seconds) {
         try {
-            return asyncCommands.expire(key, seconds);
+            return commands(key).expire(key, seconds);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -385,10 +784,26 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<Boolean> expire(String key, int seconds, ExpireArgs expireArgs) {
+        try {
+            return commands(key).expire(key, seconds, expireArgs);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command expire to key {} seconds {} error message {}",
+                        key,
+                        seconds,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     public RedisFuture<Long> srem(String setName, String value) {
         try {
-            return asyncCommands.srem(setName, value);
+            return commands(setName).srem(setName, value);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -401,15 +816,73 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
         }
     }
 
+    @Override
+    public RedisFuture<Long> srem(final String setName, final String... values) {
+        try {
+            return commands(setName).srem(setName, values);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command SREM to set {} error message {}",
+                        setName,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public ScheduledExecutorService getEventExecutor() {
+        return redisClient.getResources().eventExecutorGroup();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeOnPooledConnection(
+            Function<RedisClusterAsyncCommands<String, String>, ? extends CompletionStage<T>>
+                    commands) {
+        if (redisURI == null) {
+            return commands.apply(asyncCommands).toCompletableFuture();
+        }
+        return pool().thenCompose(connectionPool -> borrow(connectionPool, commands));
+    }
+
+    /**
+     * execute the commands on a connection borrowed from the pool, and give it back when they
+     * complete.
+     *
+     * @param connectionPool
+     * @param commands
+     * @return
+     */
+    private static <T> CompletionStage<T> borrow(
+            BoundedAsyncPool<StatefulRedisConnection<String, String>> connectionPool,
+            Function<RedisClusterAsyncCommands<String, String>, ? extends CompletionStage<T>>
+                    commands) {
+        return connectionPool
+                .acquire()
+                .thenCompose(
+                        borrowed ->
+                                commands.apply(borrowed.async())
+                                        .whenComplete((r, t) -> connectionPool.release(borrowed)));
+    }
+
     @Override
     public RedisClusterAsyncCommands getAsyncCommands() {
         return asyncCommands;
     }
 
+    @Override
+    public RedisClusterAsyncCommands<String, byte[]> getBinaryAsyncCommands(String key) {
+        if (connectionCount == 1) {
+            return binaryAsyncCommandsList.get(0);
+        }
+        return binaryAsyncCommandsList.get(SlotHash.getSlot(key) % connectionCount);
+    }
+
     @Override
     public RedisFuture<Long> getTTL(String key) {
         try {
-            return asyncCommands.ttl(key);
+            return commands(key).ttl(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -422,9 +895,24 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     }
 
     @Override
-    public RedisFuture<List> lRange(String key, long start, long end) {
+    public RedisFuture<String> info(String section) {
+        try {
+            return nextCommands().info(section);
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                        "Cannot send Redis message with command info to section {} error message {}",
+                        section,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisFuture<List<String>> lRange(String key, long start, long end) {
         try {
-            return asyncCommands.lrange(key, start, end);
+            return nextCommands().lrange(key, start, end);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -441,7 +929,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Long> exists(String key) {
         try {
-            return asyncCommands.exists(key);
+            return commands(key).exists(key);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -456,7 +944,7 @@ public class RedisContainer implements RedisCommandsContainer, Closeable {
     @Override
     public RedisFuture<Boolean> hexists(String key, String field) {
         try {
-            return asyncCommands.hexists(key, field);
+            return commands(key).hexists(key, field);
         } catch (Exception e) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -0,0 +1,86 @@
+package org.apache.flink.streaming.connectors.redis.common.container;
+
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * the containers shared by the sinks and lookups of the same {@link FlinkConfigBase} and {@link
+ * RedisReadFrom} in the JVM, when {@code connection.shared} is enabled. The connections of lettuce
+ * are thread safe, so one client and connection serve all of them, and the cluster topology is
+ * discovered once.
+ *
+ * <p>The containers are counted by reference: every build takes one, every close gives one back,
+ * and the container is really closed by the last close.
+ */
+public final class RedisSharedContainers {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisSharedContainers.class);
+
+    private static final Map<List<Object>, RedisCommandsContainer> CONTAINERS = new HashMap<>();
+
+    private static final Map<RedisCommandsContainer, List<Object>> KEYS = new IdentityHashMap<>();
+
+    private static final Map<RedisCommandsContainer, Integer> REFERENCES = new IdentityHashMap<>();
+
+    private RedisSharedContainers() {}
+
+    /**
+     * take the container of config and read from, it is created by factory on first use.
+     *
+     * @param flinkConfigBase
+     * @param redisReadFrom
+     * @param factory
+     * @return
+     */
+    public static synchronized RedisCommandsContainer acquire(
+            FlinkConfigBase flinkConfigBase,
+            RedisReadFrom redisReadFrom,
+            Supplier<RedisCommandsContainer> factory) {
+        List<Object> key = Arrays.asList(flinkConfigBase, redisReadFrom);
+        RedisCommandsContainer container = CONTAINERS.get(key);
+        if (container == null) {
+            container = factory.get();
+            CONTAINERS.put(key, container);
+            KEYS.put(container, key);
+            LOG.info(
+                    "create shared redis container for {}, read from {}",
+                    flinkConfigBase,
+                    redisReadFrom);
+        }
+        REFERENCES.merge(container, 1, Integer::sum);
+        return container;
+    }
+
+    /**
+     * give back the container.
+     *
+     * @param container
+     * @return whether the container is not used any more and should be closed, true for the
+     *     containers which are not shared
+     */
+    public static synchronized boolean release(RedisCommandsContainer container) {
+        Integer references = REFERENCES.get(container);
+        if (references == null) {
+            return true;
+        }
+
+        if (references > 1) {
+            REFERENCES.put(container, references - 1);
+            return false;
+        }
+
+        REFERENCES.remove(container);
+        CONTAINERS.remove(KEYS.remove(container));
+        LOG.info("close shared redis container");
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+package org.apache.flink.streaming.connectors.redis.common.converter;
+
+import static org.apache.flink.table.types.logical.utils.LogicalTypeChecks.getPrecision;
+
+import org.apache.flink.streaming.connectors.redis.table.RedisDynamicTableFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinarySegmentUtils;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * convert the fields of row to the bytes written to redis. The bytes are the same as the UTF-8 of
+ * {@link RedisRowConverter#rowDataToString}, but no string is created on the way: the bytes of
+ * {@link BinaryStringData} are copied straight from its memory segments, and the numbers are
+ * formatted into a reused buffer.
+ *
+ * <p>The writers of fields are created once for the schema. It is not thread safe.
+ */
+public class RedisBinaryRowConverter {
+
+    private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] TRUE_BYTES = "true".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FALSE_BYTES = "false".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SEPERATOR_BYTES =
+            RedisDynamicTableFactory.CACHE_SEPERATOR.getBytes(StandardCharsets.UTF_8);
+
+    private static final int TIMESTAMP_PRECISION_MIN = 0;
+    private static final int TIMESTAMP_PRECISION_MAX = 3;
+
+    private final FieldWriter[] writers;
+
+    private byte[] buffer = new byte[128];
+
+    private int size;
+
+    public RedisBinaryRowConverter(List<LogicalType> fieldTypes) {
+        this.writers = new FieldWriter[fieldTypes.size()];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = createWriter(fieldTypes.get(i));
+        }
+    }
+
+    /**
+     * the bytes of one field.
+     *
+     * @param rowData
+     * @param index
+     * @return null if the field is null
+     */
+    public byte[] toBytes(RowData rowData, int index) {
+        if (rowData.isNullAt(index)) {
+            return null;
+        }
+        size = 0;
+        writers[index].write(this, rowData, index);
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * the bytes of whole row, the fields are separated by '\01' and the null fields are written as
+     * "null", the same as the string of whole row.
+     *
+     * @param rowData
+     * @return
+     */
+    public byte[] wholeRowToBytes(RowData rowData) {
+        size = 0;
+        for (int i = 0; i < writers.length; i++) {
+            if (rowData.isNullAt(i)) {
+                write(NULL_BYTES);
+            } else {
+                writers[i].write(this, rowData, i);
+            }
+            if (i != writers.length - 1) {
+                write(SEPERATOR_BYTES);
+            }
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private static FieldWriter createWriter(LogicalType fieldType) {
+        switch (fieldType.getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+                return (out, rowData, index) -> out.write(rowData.getString(index));
+            case BOOLEAN:
+                return (out, rowData, index) ->
+                        out.write(rowData.getBoolean(index) ? TRUE_BYTES : FALSE_BYTES);
+            case BINARY:
+            case VARBINARY:
+                return (out, rowData, index) ->
+                        out.write(Base64.getEncoder().encode(rowData.getBinary(index)));
+            case DECIMAL:
+                DecimalType decimalType = (DecimalType) fieldType;
+                final int decimalPrecision = decimalType.getPrecision();
+                final int scale = decimalType.getScale();
+                return (out, rowData, index) ->
+                        out.writeAscii(
+                                rowData.getDecimal(index, decimalPrecision, scale)
+                                        .toBigDecimal()
+                                        .toString());
+            case TINYINT:
+                return (out, rowData, index) -> out.write(rowData.getByte(index));
+            case SMALLINT:
+                return (out, rowData, index) -> out.write(rowData.getShort(index));
+            case INTEGER:
+            case DATE:
+            case INTERVAL_YEAR_MONTH:
+                return (out, rowData, index) -> out.write(rowData.getInt(index));
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+                return (out, rowData, index) -> out.write(rowData.getLong(index));
+            case FLOAT:
+                return (out, rowData, index) ->
+                        out.writeAscii(String.valueOf(rowData.getFloat(index)));
+            case DOUBLE:
+                return (out, rowData, index) ->
+                        out.writeAscii(String.valueOf(rowData.getDouble(index)));
+            case TIME_WITHOUT_TIME_ZONE:
+                if (isPrecisionSupported(fieldType)) {
+                    return (out, rowData, index) -> out.write(rowData.getInt(index));
+                }
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                if (isPrecisionSupported(fieldType)) {
+                    final int timestampPrecision = getPrecision(fieldType);
+                    return (out, rowData, index) ->
+                            out.write(
+                                    rowData.getTimestamp(index, timestampPrecision)
+                                            .getMillisecond());
+                }
+                break;
+            default:
+        }
+        // the unsupported types fail the same way as the string.
+        return (out, rowData, index) ->
+                out.write(
+                        RedisRowConverter.rowDataToString(fieldType, rowData, index)
+                                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isPrecisionSupported(LogicalType fieldType) {
+        int precision = getPrecision(fieldType);
+        return precision >= TIMESTAMP_PRECISION_MIN && precision <= TIMESTAMP_PRECISION_MAX;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void write(StringData stringData) {
+        if (!(stringData instanceof BinaryStringData)) {
+            write(stringData.toBytes());
+            return;
+        }
+        BinaryStringData binaryStringData = (BinaryStringData) stringData;
+        binaryStringData.ensureMaterialized();
+        int length = binaryStringData.getSizeInBytes();
+        ensureCapacity(length);
+        BinarySegmentUtils.copyToBytes(
+                binaryStringData.getSegments(),
+                binaryStringData.getOffset(),
+                buffer,
+                size,
+                length);
+        size += length;
+    }
+
+    /** the formatted numbers are ascii, one byte per char. */
+    private void writeAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void write(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(String.valueOf(value));
+            return;
+        }
+        // the max long has 19 digits.
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            buffer[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    /** write the field of row to the buffer of converter. */
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(RedisBinaryRowConverter out, RowData rowData, int index);
+    }
+}
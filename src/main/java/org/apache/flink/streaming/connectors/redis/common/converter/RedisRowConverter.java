@@ -6,12 +6,14 @@ import org.apache.flink.table.data.DecimalData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.TimestampData;
 import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.DecimalType;
 import org.apache.flink.table.types.logical.LogicalType;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Base64;
+import java.util.List;
 
 /** redis serialize . @Author: jeff.zou @Date: 2022/3/10.13:17 */
 public class RedisRowConverter {
@@ -30,6 +32,70 @@ public class RedisRowConverter {
         return createSerializer(fieldType).serialize(rowData, index);
     }
 
+    /**
+     * serialize the field by the serializer created before.
+     *
+     * @param serializer
+     * @param rowData
+     * @param index
+     * @return null if the field is null
+     */
+    public static String rowDataToString(
+            RedisSerializationConverter serializer, RowData rowData, int index) {
+        if (rowData.isNullAt(index)) {
+            return null;
+        }
+        return serializer.serialize(rowData, index);
+    }
+
+    /**
+     * create the serializers of fields once, so they are not created again for every row. The
+     * serializer of an unsupported type fails when it is used, the same as {@link
+     * #rowDataToString(LogicalType, RowData, Integer)}.
+     *
+     * @param dataTypes
+     * @return
+     */
+    public static RedisSerializationConverter[] createSerializers(List<DataType> dataTypes) {
+        RedisSerializationConverter[] serializers =
+                new RedisSerializationConverter[dataTypes.size()];
+        for (int i = 0; i < serializers.length; i++) {
+            try {
+                serializers[i] = createSerializer(dataTypes.get(i).getLogicalType());
+            } catch (UnsupportedOperationException e) {
+                serializers[i] =
+                        (rowData, index) -> {
+                            throw e;
+                        };
+            }
+        }
+        return serializers;
+    }
+
+    /**
+     * create the deserializers of fields once, so they are not created again for every row. The
+     * deserializer of an unsupported type fails when it is used, the same as {@link
+     * #dataTypeFromString}.
+     *
+     * @param dataTypes
+     * @return
+     */
+    public static RedisDeserializationConverter[] createDeserializers(List<DataType> dataTypes) {
+        RedisDeserializationConverter[] deserializers =
+                new RedisDeserializationConverter[dataTypes.size()];
+        for (int i = 0; i < deserializers.length; i++) {
+            try {
+                deserializers[i] = createDeserializer(dataTypes.get(i).getLogicalType());
+            } catch (UnsupportedOperationException e) {
+                deserializers[i] =
+                        field -> {
+                            throw e;
+                        };
+            }
+        }
+        return deserializers;
+    }
+
     public static RedisDeserializationConverter createDeserializer(LogicalType fieldType) {
         int precision;
         switch (fieldType.getTypeRoot()) {
@@ -91,7 +157,7 @@ public class RedisRowConverter {
         }
     }
 
-    private static RedisSerializationConverter createSerializer(LogicalType fieldType) {
+    public static RedisSerializationConverter createSerializer(LogicalType fieldType) {
         int precision;
         switch (fieldType.getTypeRoot()) {
             case CHAR:
@@ -151,13 +217,15 @@ public class RedisRowConverter {
         }
     }
 
+    /** convert the string read from redis to the field. */
     @FunctionalInterface
-    interface RedisDeserializationConverter extends Serializable {
+    public interface RedisDeserializationConverter extends Serializable {
         Object deserialize(String field);
     }
 
+    /** convert the field to the string written to redis. */
     @FunctionalInterface
-    interface RedisSerializationConverter extends Serializable {
-        String serialize(RowData rowData, Integer index);
+    public interface RedisSerializationConverter extends Serializable {
+        String serialize(RowData rowData, int index);
     }
 }
@@ -0,0 +1,250 @@
+package org.apache.flink.streaming.connectors.redis.common.converter;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueCompression;
+import org.apache.flink.util.Preconditions;
+import org.xerial.snappy.Snappy;
+
+import java.io.IOException;
+
+/**
+ * compress the values written to redis and decompress the values read from redis. A compressed
+ * value starts with a header: the magic bytes, the id of codec and the length of original value.
+ * The values without the header are read as they are, so the values written before compression
+ * was enabled stay readable.
+ *
+ * <p>The magic starts with 0xFF which is never in a UTF-8 string, nor the first byte of a flink
+ * binary row. A value which is not compressed but happens to start with the magic is written with
+ * the header of {@link RedisValueCompression#NONE}.
+ *
+ * <p>It is thread safe, the codecs of lz4 are stateless and shared by the jvm.
+ *
+ * <p>The codecs are not bundled with flink-dist in the same way: lz4-java and snappy-java are in
+ * the lib of flink, zstd-jni is packed into the jar with dependencies of the connector. A codec
+ * which is missing fails when the compressor is created.
+ */
+public class RedisValueCompressor {
+
+    private static final byte[] MAGIC = {(byte) 0xFF, 'r', 'z'};
+
+    /** the magic, the id of codec and the length of original value as int. */
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + 4;
+
+    private static final int ZSTD_LEVEL = 3;
+
+    /** compressed once when the compressor is created, to load the classes of codec. */
+    private static final byte[] PROBE = new byte[64];
+
+    private final RedisValueCompression compression;
+
+    private final int minBytes;
+
+    private LZ4Compressor lz4Compressor;
+
+    private LZ4FastDecompressor lz4Decompressor;
+
+    public RedisValueCompressor(RedisValueCompression compression, int minBytes) {
+        Preconditions.checkArgument(
+                minBytes >= 0, "the min bytes of value compression can not be negative");
+        this.compression = compression;
+        this.minBytes = minBytes;
+        if (compression != RedisValueCompression.NONE) {
+            checkCodec(compression);
+        }
+    }
+
+    /**
+     * compress and decompress a probe by the codec, so that the missing classes or native library
+     * of codec fail the open of function instead of the first value.
+     *
+     * @param codec
+     */
+    private void checkCodec(RedisValueCompression codec) {
+        try {
+            decompress(compress(codec, PROBE));
+        } catch (LinkageError e) {
+            throw new IllegalStateException(
+                    String.format(
+                            "the codec of value compression %s is not available, %s should be in the classpath of flink.",
+                            codec.getValue(), artifact(codec)),
+                    e);
+        }
+    }
+
+    private static String artifact(RedisValueCompression codec) {
+        switch (codec) {
+            case LZ4:
+                return "org.lz4:lz4-java";
+            case SNAPPY:
+                return "org.xerial.snappy:snappy-java";
+            case ZSTD:
+                return "com.github.luben:zstd-jni";
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("unsupported value compression: %s", codec.getValue()));
+        }
+    }
+
+    /**
+     * compress the value when it is not less than the min bytes and the compressed value is
+     * smaller.
+     *
+     * @param value
+     * @return the value itself if it is not compressed
+     */
+    public byte[] compress(byte[] value) {
+        if (value == null || compression == RedisValueCompression.NONE) {
+            return value;
+        }
+        if (value.length >= minBytes) {
+            byte[] compressed = compress(compression, value);
+            if (compressed.length < value.length) {
+                return compressed;
+            }
+        }
+        if (hasHeader(value)) {
+            return withHeader(RedisValueCompression.NONE, value, value, value.length);
+        }
+        return value;
+    }
+
+    /**
+     * decompress the value if it has the header, the codec is taken from the header.
+     *
+     * @param value
+     * @return the value itself if it is not compressed
+     */
+    public byte[] decompress(byte[] value) {
+        if (value == null || !hasHeader(value)) {
+            return value;
+        }
+        RedisValueCompression codec = RedisValueCompression.fromId(value[MAGIC.length]);
+        int length = readInt(value, MAGIC.length + 1);
+        int compressedLength = value.length - HEADER_LENGTH;
+        byte[] result = new byte[length];
+        switch (codec) {
+            case NONE:
+                System.arraycopy(value, HEADER_LENGTH, result, 0, length);
+                break;
+            case LZ4:
+                lz4Decompressor().decompress(value, HEADER_LENGTH, result, 0, length);
+                break;
+            case SNAPPY:
+                try {
+                    Snappy.uncompress(value, HEADER_LENGTH, compressedLength, result, 0);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to decompress the value by snappy.", e);
+                }
+                break;
+            case ZSTD:
+                long size =
+                        Zstd.decompressByteArray(
+                                result, 0, length, value, HEADER_LENGTH, compressedLength);
+                checkZstd(size);
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("unsupported value compression: %s", codec.getValue()));
+        }
+        return result;
+    }
+
+    private byte[] compress(RedisValueCompression codec, byte[] value) {
+        switch (codec) {
+            case LZ4:
+                LZ4Compressor compressor = lz4Compressor();
+                byte[] lz4 = new byte[compressor.maxCompressedLength(value.length)];
+                int lz4Length = compressor.compress(value, 0, value.length, lz4, 0);
+                return withHeader(codec, value, lz4, lz4Length);
+            case SNAPPY:
+                byte[] snappy = new byte[Snappy.maxCompressedLength(value.length)];
+                try {
+                    int snappyLength = Snappy.compress(value, 0, value.length, snappy, 0);
+                    return withHeader(codec, value, snappy, snappyLength);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to compress the value by snappy.", e);
+                }
+            case ZSTD:
+                byte[] zstd = new byte[(int) Zstd.compressBound(value.length)];
+                long zstdLength =
+                        Zstd.compressByteArray(
+                                zstd, 0, zstd.length, value, 0, value.length, ZSTD_LEVEL);
+                checkZstd(zstdLength);
+                return withHeader(codec, value, zstd, (int) zstdLength);
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("unsupported value compression: %s", codec.getValue()));
+        }
+    }
+
+    private LZ4Compressor lz4Compressor() {
+        if (lz4Compressor == null) {
+            lz4Compressor = LZ4Factory.fastestInstance().fastCompressor();
+        }
+        return lz4Compressor;
+    }
+
+    private LZ4FastDecompressor lz4Decompressor() {
+        if (lz4Decompressor == null) {
+            lz4Decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+        }
+        return lz4Decompressor;
+    }
+
+    private static void checkZstd(long result) {
+        if (Zstd.isError(result)) {
+            throw new RuntimeException(
+                    "Failed to compress or decompress the value by zstd: "
+                            + Zstd.getErrorName(result));
+        }
+    }
+
+    /**
+     * the header followed by the first length bytes of body.
+     *
+     * @param codec
+     * @param value the original value
+     * @param body
+     * @param length
+     * @return
+     */
+    private static byte[] withHeader(
+            RedisValueCompression codec, byte[] value, byte[] body, int length) {
+        byte[] result = new byte[HEADER_LENGTH + length];
+        System.arraycopy(MAGIC, 0, result, 0, MAGIC.length);
+        result[MAGIC.length] = codec.getId();
+        writeInt(result, MAGIC.length + 1, value.length);
+        System.arraycopy(body, 0, result, HEADER_LENGTH, length);
+        return result;
+    }
+
+    private static boolean hasHeader(byte[] value) {
+        if (value.length < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (value[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+                | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
+    }
+}
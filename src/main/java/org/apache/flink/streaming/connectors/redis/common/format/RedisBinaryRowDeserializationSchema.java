@@ -0,0 +1,56 @@
+package org.apache.flink.streaming.connectors.redis.common.format;
+
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.Preconditions;
+
+import java.io.IOException;
+
+/**
+ * deserialize the bytes of {@link BinaryRowData}. The row points to the bytes read from redis, its
+ * fields are not copied.
+ */
+public class RedisBinaryRowDeserializationSchema implements DeserializationSchema<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int arity;
+
+    private final TypeInformation<RowData> producedType;
+
+    public RedisBinaryRowDeserializationSchema(
+            RowType rowType, TypeInformation<RowData> producedType) {
+        this.arity = rowType.getFieldCount();
+        this.producedType = producedType;
+    }
+
+    @Override
+    public RowData deserialize(byte[] message) throws IOException {
+        if (message == null) {
+            return null;
+        }
+        // the fixed-length part holds the null bits and 8 bytes per field.
+        Preconditions.checkState(
+                message.length >= BinaryRowData.calculateFixPartSizeInBytes(arity),
+                "the value of %s bytes is not a binary row of %s fields",
+                message.length,
+                arity);
+        BinaryRowData binaryRowData = new BinaryRowData(arity);
+        binaryRowData.pointTo(MemorySegmentFactory.wrap(message), 0, message.length);
+        return binaryRowData;
+    }
+
+    @Override
+    public boolean isEndOfStream(RowData nextElement) {
+        return false;
+    }
+
+    @Override
+    public TypeInformation<RowData> getProducedType() {
+        return producedType;
+    }
+}
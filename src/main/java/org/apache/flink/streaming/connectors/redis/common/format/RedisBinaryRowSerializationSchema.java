@@ -0,0 +1,39 @@
+package org.apache.flink.streaming.connectors.redis.common.format;
+
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.binary.BinarySegmentUtils;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.RowType;
+
+/**
+ * serialize the row to the bytes of {@link BinaryRowData}. The binary row is reused for every row,
+ * it is not thread safe.
+ */
+public class RedisBinaryRowSerializationSchema implements SerializationSchema<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RowType rowType;
+
+    private transient RowDataSerializer rowDataSerializer;
+
+    public RedisBinaryRowSerializationSchema(RowType rowType) {
+        this.rowType = rowType;
+    }
+
+    @Override
+    public void open(InitializationContext context) throws Exception {
+        this.rowDataSerializer = new RowDataSerializer(rowType);
+    }
+
+    @Override
+    public byte[] serialize(RowData rowData) {
+        BinaryRowData binaryRowData = rowDataSerializer.toBinaryRow(rowData);
+        return BinarySegmentUtils.copyToBytes(
+                binaryRowData.getSegments(),
+                binaryRowData.getOffset(),
+                binaryRowData.getSizeInBytes());
+    }
+}
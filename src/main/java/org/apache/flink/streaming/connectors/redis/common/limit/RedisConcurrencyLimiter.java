@@ -0,0 +1,109 @@
+package org.apache.flink.streaming.connectors.redis.common.limit;
+
+import org.apache.flink.util.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * adaptive limit of the commands in flight, which is tuned by AIMD from the latency of completed
+ * commands. The limit grows by one per round trip while the latency is under the target, and is
+ * halved when a command is slower than the target or fails.
+ *
+ * <p>The limit is cut at most once per round trip: just the commands sent after the last cut may
+ * cut it again, otherwise all the slow commands in flight would cut it to the min at once.
+ */
+public class RedisConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long targetLatencyNanos;
+
+    private double limit;
+
+    private int inFlight;
+
+    private long lastDecreaseNanos;
+
+    /**
+     * @param initialLimit
+     * @param minLimit
+     * @param maxLimit
+     * @param targetLatency the target latency in milliseconds
+     */
+    public RedisConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatency) {
+        Preconditions.checkArgument(
+                minLimit > 0 && minLimit <= initialLimit && initialLimit <= maxLimit,
+                "the limits of concurrency must be 0 < min <= initial <= max");
+        Preconditions.checkArgument(
+                targetLatency > 0, "the target latency of concurrency limit must be more than 0");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatency);
+        this.limit = initialLimit;
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * take a slot if the limit is not reached.
+     *
+     * @return
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * take a slot, wait until the limit is not reached.
+     *
+     * @throws InterruptedException
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * give back the slot of a completed command, and adjust the limit by its latency.
+     *
+     * @param startNanos the time when the command is sent
+     * @param failed whether the command failed
+     */
+    public synchronized void release(long startNanos, boolean failed) {
+        long now = System.nanoTime();
+        if (failed || now - startNanos > targetLatencyNanos) {
+            if (startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight * 2 >= (int) limit) {
+            // just grow when the limit is used, or it grows without bound when the load is low.
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        release();
+    }
+
+    /** give back the slot of a command which is not sent. */
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * the current limit.
+     *
+     * @return
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+}
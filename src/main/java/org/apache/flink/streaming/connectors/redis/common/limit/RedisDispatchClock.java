@@ -0,0 +1,73 @@
+package org.apache.flink.streaming.connectors.redis.common.limit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * the time when the commands are sent to redis, from which their latency is measured. The commands
+ * queued on the connection are sent when it is flushed, so the time they wait in the queue is not
+ * the latency of redis and must not shrink the concurrency limit.
+ *
+ * <p>It is thread safe, the connection may be flushed by the task thread and the threads of redis
+ * client at the same time.
+ */
+public class RedisDispatchClock {
+
+    private final boolean queued;
+
+    /** the commands issued after the last flush, null if the commands are not queued. */
+    private final AtomicReference<Dispatch> pending;
+
+    /** @param queued whether the commands are queued on the connection until it is flushed */
+    public RedisDispatchClock(boolean queued) {
+        this.queued = queued;
+        this.pending = queued ? new AtomicReference<>(new Dispatch(System.nanoTime())) : null;
+    }
+
+    /**
+     * the dispatch of commands which are about to be issued, call it before issuing them.
+     *
+     * @return
+     */
+    public Dispatch next() {
+        if (!queued) {
+            Dispatch dispatch = new Dispatch(System.nanoTime());
+            dispatch.sent = true;
+            return dispatch;
+        }
+        return pending.get();
+    }
+
+    /** mark the commands queued on the connection as sent, call it before flushing it. */
+    public void flushed() {
+        if (queued) {
+            Dispatch dispatch = pending.getAndSet(new Dispatch(System.nanoTime()));
+            dispatch.sentNanos = System.nanoTime();
+            dispatch.sent = true;
+        }
+    }
+
+    /** the commands sent to redis together. */
+    public static final class Dispatch {
+        /** the earliest time when the commands may be issued. */
+        private final long issuedNanos;
+
+        private volatile long sentNanos;
+
+        private volatile boolean sent;
+
+        private Dispatch(long issuedNanos) {
+            this.issuedNanos = issuedNanos;
+            this.sentNanos = issuedNanos;
+        }
+
+        /**
+         * the time when the commands are sent to redis, or the earliest time when they may be issued
+         * if the connection is flushed by redis client itself.
+         *
+         * @return
+         */
+        public long getSentNanos() {
+            return sent ? sentNanos : issuedNanos;
+        }
+    }
+}
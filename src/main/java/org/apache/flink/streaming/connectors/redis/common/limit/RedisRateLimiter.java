@@ -0,0 +1,74 @@
+package org.apache.flink.streaming.connectors.redis.common.limit;
+
+import org.apache.flink.util.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * token bucket which limits the ops sent to redis. The tokens are refilled at a fixed rate and at
+ * most one second of them are stored for bursts.
+ *
+ * <p>A caller reserves the tokens and is told how long to wait for them. Reservations are served in
+ * order, the later one never has a shorter wait.
+ */
+public class RedisRateLimiter {
+
+    private final double permitsPerSecond;
+
+    private final double maxPermits;
+
+    private final double nanosPerPermit;
+
+    private double storedPermits;
+
+    /** the time when the next reservation is granted. */
+    private long nextFreeNanos;
+
+    public RedisRateLimiter(double permitsPerSecond) {
+        Preconditions.checkArgument(
+                permitsPerSecond > 0, "the permits per second must be more than 0");
+        this.permitsPerSecond = permitsPerSecond;
+        this.maxPermits = Math.max(1, permitsPerSecond);
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * reserve the permits.
+     *
+     * @param permits
+     * @return the nanoseconds to wait before the permits can be used, 0 if at once
+     */
+    public synchronized long reserve(int permits) {
+        long now = System.nanoTime();
+        if (now > nextFreeNanos) {
+            storedPermits =
+                    Math.min(maxPermits, storedPermits + (now - nextFreeNanos) / nanosPerPermit);
+            nextFreeNanos = now;
+        }
+
+        long waitNanos = nextFreeNanos - now;
+        double fromStored = Math.min(permits, storedPermits);
+        storedPermits -= fromStored;
+        nextFreeNanos += (long) ((permits - fromStored) * nanosPerPermit);
+        return waitNanos;
+    }
+
+    /**
+     * the permitted ops per second.
+     *
+     * @return
+     */
+    public double getRate() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * the nanoseconds which the next reservation waits for the ops reserved before.
+     *
+     * @return 0 if the next reservation is granted at once
+     */
+    public synchronized long getWaitNanos() {
+        return Math.max(0, nextFreeNanos - System.nanoTime());
+    }
+}
@@ -120,4 +120,20 @@ public enum RedisCommand {
     public RedisOperationType getRedisOperationType() {
         return redisOperationType;
     }
+
+    /**
+     * whether the command can be sent again when it is unknown if redis has executed it.
+     *
+     * @return
+     */
+    public boolean isIdempotent() {
+        switch (this) {
+            case RPUSH:
+            case LPUSH:
+            case PUBLISH:
+                return false;
+            default:
+                return redisOperationType != RedisOperationType.ACC;
+        }
+    }
 }
@@ -5,6 +5,7 @@ import static org.apache.flink.streaming.connectors.redis.descriptor.RedisValida
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
 import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter.RedisSerializationConverter;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisMapperHandler;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommandDescription;
@@ -15,6 +16,7 @@ import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.util.StringUtils;
 
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,6 +34,12 @@ public abstract class RowRedisSinkMapper
 
     private Boolean ttlKeyNotAbsent;
 
+    /** the types of fields which the serializers are created for. */
+    private transient LogicalType[] serializerTypes;
+
+    /** the serializers of fields, they are reused while the type of field is the same. */
+    private transient RedisSerializationConverter[] serializers;
+
     public RowRedisSinkMapper(int ttl, RedisCommand redisCommand) {
         this.ttl = ttl;
         this.redisCommand = redisCommand;
@@ -69,17 +77,48 @@ public abstract class RowRedisSinkMapper
 
     @Override
     public String getKeyFromData(RowData rowData, LogicalType logicalType, Integer keyIndex) {
-        return RedisRowConverter.rowDataToString(logicalType, rowData, keyIndex);
+        return RedisRowConverter.rowDataToString(
+                serializer(logicalType, keyIndex), rowData, keyIndex);
     }
 
     @Override
     public String getValueFromData(RowData rowData, LogicalType logicalType, Integer valueIndex) {
-        return RedisRowConverter.rowDataToString(logicalType, rowData, valueIndex);
+        return RedisRowConverter.rowDataToString(
+                serializer(logicalType, valueIndex), rowData, valueIndex);
     }
 
     @Override
     public String getFieldFromData(RowData rowData, LogicalType logicalType, Integer fieldIndex) {
-        return RedisRowConverter.rowDataToString(logicalType, rowData, fieldIndex);
+        return RedisRowConverter.rowDataToString(
+                serializer(logicalType, fieldIndex), rowData, fieldIndex);
+    }
+
+    /**
+     * the serializer of field, it is created on first use and when the type of field changes, so
+     * it is not created for every row.
+     *
+     * @param logicalType
+     * @param index
+     * @return
+     */
+    private RedisSerializationConverter serializer(LogicalType logicalType, int index) {
+        if (serializers == null || index >= serializers.length) {
+            int length = Math.max(index + 1, serializers == null ? 4 : serializers.length * 2);
+            serializerTypes =
+                    serializerTypes == null
+                            ? new LogicalType[length]
+                            : Arrays.copyOf(serializerTypes, length);
+            serializers =
+                    serializers == null
+                            ? new RedisSerializationConverter[length]
+                            : Arrays.copyOf(serializers, length);
+        }
+        // the sink passes the same type instances for every row.
+        if (serializerTypes[index] != logicalType) {
+            serializers[index] = RedisRowConverter.createSerializer(logicalType);
+            serializerTypes[index] = logicalType;
+        }
+        return serializers[index];
     }
 
     public RedisCommand getRedisCommand() {
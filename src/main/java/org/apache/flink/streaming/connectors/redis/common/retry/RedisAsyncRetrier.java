@@ -0,0 +1,194 @@
+package org.apache.flink.streaming.connectors.redis.common.retry;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * retry redis commands when their futures fail, without blocking the caller. The next attempt is
+ * scheduled on a timer with exponential backoff and jitter.
+ *
+ * <p>The errors are classified by {@link RedisRetryableErrors}. Commands which are not idempotent
+ * are just retried on error replies, which redis has not executed, but not on timeouts or
+ * connection errors.
+ */
+public class RedisAsyncRetrier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisAsyncRetrier.class);
+
+    private final int maxRetryTimes;
+
+    private final long initialDelay;
+
+    private final long maxDelay;
+
+    private final RedisRetryableErrors retryableErrors;
+
+    private final boolean idempotent;
+
+    private final ScheduledExecutorService timer;
+
+    private final Runnable afterRetry;
+
+    /**
+     * @param maxRetryTimes
+     * @param retryOptions
+     * @param idempotent whether the command can be executed again safely
+     * @param timer the timer to schedule the retries on
+     * @param afterRetry called after a command is issued again by timer, eg: flush the commands
+     */
+    public RedisAsyncRetrier(
+            int maxRetryTimes,
+            RedisRetryOptions retryOptions,
+            boolean idempotent,
+            ScheduledExecutorService timer,
+            Runnable afterRetry) {
+        Preconditions.checkArgument(
+                retryOptions.getInitialDelay() > 0
+                        && retryOptions.getMaxDelay() >= retryOptions.getInitialDelay(),
+                "the initial delay of retry must be more than 0 and not more than the max delay");
+        this.maxRetryTimes = maxRetryTimes;
+        this.initialDelay = retryOptions.getInitialDelay();
+        this.maxDelay = retryOptions.getMaxDelay();
+        this.retryableErrors = new RedisRetryableErrors(retryOptions);
+        this.idempotent = idempotent;
+        this.timer = timer;
+        this.afterRetry = afterRetry;
+    }
+
+    /**
+     * execute the command, and execute it again when it fails with retryable error.
+     *
+     * @param command issue the command and return its future
+     * @return the future completed by the last attempt
+     */
+    public <T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> command) {
+        return execute(command, () -> true);
+    }
+
+    /**
+     * execute the command, and execute it again when it fails with retryable error and the retry
+     * is allowed.
+     *
+     * @param command issue the command and return its future
+     * @param retryAllowed called before a retry is scheduled, the command fails without retry if
+     *     it returns false, eg: a newer write of the same key has been sent
+     * @return the future completed by the last attempt
+     */
+    public <T> CompletableFuture<T> execute(
+            Supplier<? extends CompletionStage<T>> command, BooleanSupplier retryAllowed) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(command, retryAllowed, 0, result);
+        return result;
+    }
+
+    /**
+     * wait for the first attempt which has been issued by the caller, and execute the command
+     * again when it fails with retryable error.
+     *
+     * @param firstAttempt the future of the first attempt
+     * @param command issue the command and return its future
+     * @return the future completed by the last attempt
+     */
+    public <T> CompletableFuture<T> retry(
+            CompletionStage<T> firstAttempt, Supplier<? extends CompletionStage<T>> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        whenComplete(firstAttempt, command, () -> true, 0, result);
+        return result;
+    }
+
+    private <T> void attempt(
+            Supplier<? extends CompletionStage<T>> command,
+            BooleanSupplier retryAllowed,
+            int retryTimes,
+            CompletableFuture<T> result) {
+        CompletionStage<T> future;
+        try {
+            future = command.get();
+        } catch (Exception e) {
+            // the command has not been sent, so it is safe to retry.
+            onFailure(command, retryAllowed, retryTimes, result, e, true);
+            return;
+        }
+        whenComplete(future, command, retryAllowed, retryTimes, result);
+    }
+
+    private <T> void whenComplete(
+            CompletionStage<T> future,
+            Supplier<? extends CompletionStage<T>> command,
+            BooleanSupplier retryAllowed,
+            int retryTimes,
+            CompletableFuture<T> result) {
+        future.whenComplete(
+                (r, t) -> {
+                    if (t == null) {
+                        result.complete(r);
+                    } else {
+                        onFailure(
+                                command,
+                                retryAllowed,
+                                retryTimes,
+                                result,
+                                ExceptionUtils.stripCompletionException(t),
+                                idempotent);
+                    }
+                });
+    }
+
+    private <T> void onFailure(
+            Supplier<? extends CompletionStage<T>> command,
+            BooleanSupplier retryAllowed,
+            int retryTimes,
+            CompletableFuture<T> result,
+            Throwable cause,
+            boolean safeToRetry) {
+        if (retryTimes >= maxRetryTimes || !retryableErrors.isRetryable(cause, safeToRetry)) {
+            result.completeExceptionally(cause);
+            return;
+        }
+        if (!retryAllowed.getAsBoolean()) {
+            LOG.warn("redis command error, it is not retried to keep the order of writes", cause);
+            result.completeExceptionally(cause);
+            return;
+        }
+
+        long delay = backoff(retryTimes);
+        LOG.warn("redis command error, retry times:{} after {} ms", retryTimes + 1, delay, cause);
+        try {
+            timer.schedule(
+                    () -> {
+                        attempt(command, retryAllowed, retryTimes + 1, result);
+                        afterRetry.run();
+                    },
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * the delay grows exponentially up to max delay, and half of it is random.
+     *
+     * @param retryTimes
+     * @return
+     */
+    private long backoff(int retryTimes) {
+        long delay = Math.min(maxDelay, initialDelay << Math.min(retryTimes, 30));
+        if (delay <= 0) {
+            delay = maxDelay;
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
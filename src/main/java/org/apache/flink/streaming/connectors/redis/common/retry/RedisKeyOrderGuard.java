@@ -0,0 +1,159 @@
+package org.apache.flink.streaming.connectors.redis.common.retry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * keep the writes of each key in order when a write is retried. The writes are pipelined, so the
+ * retry of a failed write may land after the newer writes of its keys and overwrite them.
+ *
+ * <p>A failed write is retried only when no newer write of its keys has been sent, and then the
+ * newer writes of its keys are held until it completes, each of them waiting for the one before.
+ * Otherwise the write fails instead of being retried out of order.
+ *
+ * <p>It is thread safe, the writes are registered by the task thread while they are retried and
+ * completed by the threads of redis client.
+ */
+public class RedisKeyOrderGuard {
+
+    private final Map<String, KeyState> states = new HashMap<>();
+
+    private long sequence;
+
+    /**
+     * register the write of keys when it is about to be sent. It is marked as sent unless it has
+     * to wait for a retry of its keys.
+     *
+     * @param keys
+     * @return the write, which is sent after {@link Write#getBarrier()} completes if it is not null
+     */
+    public synchronized Write register(Collection<String> keys) {
+        Write write = new Write(++sequence, keys);
+        List<CompletableFuture<Void>> barriers = null;
+        for (String key : keys) {
+            KeyState state = states.computeIfAbsent(key, k -> new KeyState());
+            state.writes++;
+            if (state.barrier != null) {
+                if (barriers == null) {
+                    barriers = new ArrayList<>();
+                }
+                barriers.add(state.barrier);
+            }
+        }
+
+        if (barriers == null) {
+            markSent(write);
+        } else {
+            write.barrier = CompletableFuture.allOf(barriers.toArray(new CompletableFuture[0]));
+            // the later writes of its keys wait for it.
+            for (String key : keys) {
+                states.get(key).barrier = write.done;
+            }
+        }
+        return write;
+    }
+
+    /**
+     * mark the write held by its barrier as sent.
+     *
+     * @param write
+     */
+    public synchronized void sent(Write write) {
+        markSent(write);
+    }
+
+    /**
+     * check whether the failed write can be sent again, the newer writes of its keys are held until
+     * it completes if it can.
+     *
+     * @param write
+     * @return false if a newer write of its keys has been sent
+     */
+    public synchronized boolean retry(Write write) {
+        for (String key : write.keys) {
+            if (states.get(key).lastSent != write.sequence) {
+                return false;
+            }
+        }
+        for (String key : write.keys) {
+            KeyState state = states.get(key);
+            // a barrier set before is behind this write: by its former retry, or by the writes
+            // held by it.
+            if (state.barrier == null) {
+                state.barrier = write.done;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * complete the write whether it succeeds or not, and send the writes held by it.
+     *
+     * @param write
+     */
+    public void complete(Write write) {
+        synchronized (this) {
+            for (String key : write.keys) {
+                KeyState state = states.get(key);
+                if (state.barrier == write.done) {
+                    state.barrier = null;
+                }
+                if (--state.writes == 0) {
+                    states.remove(key);
+                }
+            }
+        }
+        write.done.complete(null);
+    }
+
+    /**
+     * the number of keys which have writes in flight.
+     *
+     * @return
+     */
+    public synchronized int size() {
+        return states.size();
+    }
+
+    private void markSent(Write write) {
+        for (String key : write.keys) {
+            states.get(key).lastSent = write.sequence;
+        }
+    }
+
+    /** a write of some keys. */
+    public static final class Write {
+        private final long sequence;
+        private final Collection<String> keys;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private CompletableFuture<Void> barrier;
+
+        private Write(long sequence, Collection<String> keys) {
+            this.sequence = sequence;
+            this.keys = keys;
+        }
+
+        /**
+         * the future of the writes which it waits for.
+         *
+         * @return null if it has been sent
+         */
+        public CompletableFuture<Void> getBarrier() {
+            return barrier;
+        }
+    }
+
+    /** the writes of a key. */
+    private static final class KeyState {
+        /** the number of writes registered and not completed. */
+        private int writes;
+        /** the sequence of the last write sent. */
+        private long lastSent;
+        /** completed when the last write held or retried completes, null if there is none. */
+        private CompletableFuture<Void> barrier;
+    }
+}
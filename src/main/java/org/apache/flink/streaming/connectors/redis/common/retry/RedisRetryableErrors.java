@@ -0,0 +1,59 @@
+package org.apache.flink.streaming.connectors.redis.common.retry;
+
+import io.lettuce.core.RedisCommandExecutionException;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * the errors configured by {@code retry.retryable-errors}, so the sinks and the lookup classify an
+ * error the same way.
+ *
+ * <p>An error is retryable when the simple class name of the exception (or one of its causes) is
+ * configured, or when it is an error reply of redis starting with a configured prefix, eg: LOADING.
+ * The error replies mean redis has not executed the command, the other errors (eg: timeouts or
+ * connection errors) are retryable just for the commands which can be executed again safely.
+ */
+public class RedisRetryableErrors {
+
+    private final Set<String> errors = new HashSet<>();
+
+    public RedisRetryableErrors(RedisRetryOptions retryOptions) {
+        for (String error : retryOptions.getRetryableErrors().split(",")) {
+            if (!error.trim().isEmpty()) {
+                errors.add(error.trim());
+            }
+        }
+    }
+
+    /**
+     * whether the error is configured as retryable.
+     *
+     * @param cause
+     * @param safeToRetry whether the command can be retried on the errors other than error replies
+     * @return
+     */
+    public boolean isRetryable(Throwable cause, boolean safeToRetry) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof RedisCommandExecutionException) {
+                String message = t.getMessage();
+                if (message != null) {
+                    for (String error : errors) {
+                        if (message.startsWith(error)) {
+                            return true;
+                        }
+                    }
+                }
+            } else if (safeToRetry && errors.contains(t.getClass().getSimpleName())) {
+                return true;
+            }
+
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
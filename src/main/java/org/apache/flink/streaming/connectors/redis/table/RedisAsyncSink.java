@@ -0,0 +1,160 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import org.apache.flink.connector.base.sink.AsyncSinkBase;
+import org.apache.flink.connector.base.sink.writer.BufferedRequestState;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisSinkOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueDataStructure;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommandDescription;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisOperationType;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisSinkMapper;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.util.Preconditions;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * redis sink based on {@link AsyncSinkBase}. Unlike {@link RedisSinkFunction}, the rows are
+ * buffered, batched and retried by the framework.
+ *
+ * <p>The max rows of batch is taken from {@code sink.buffer-flush.max-rows}, the max time in buffer
+ * from {@code sink.buffer-flush.interval}, and the rows buffered are limited by {@code
+ * sink.max-in-flight}. The batches are sent one at a time, so the failed rows are sent again before
+ * the newer writes of their keys.
+ *
+ * @param <IN>
+ */
+public class RedisAsyncSink<IN> extends AsyncSinkBase<IN, RedisWriteRequest> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    private static final long DEFAULT_MAX_TIME_IN_BUFFER_MS = 1000L;
+
+    private static final long MAX_BATCH_SIZE_IN_BYTES = 64 * 1024 * 1024L;
+
+    private static final long MAX_RECORD_SIZE_IN_BYTES = 64 * 1024 * 1024L;
+
+    private final FlinkConfigBase flinkConfigBase;
+
+    private final Integer ttl;
+
+    private final int maxRetryTimes;
+
+    private final RedisRetryOptions retryOptions;
+
+    /**
+     * Creates a new {@link RedisAsyncSink} that connects to the Redis server.
+     *
+     * @param flinkConfigBase The configuration of {@link FlinkConfigBase}
+     * @param redisSinkMapper This is used to generate Redis command and key value from incoming
+     *     elements.
+     * @param redisSinkOptions
+     * @param resolvedSchema
+     */
+    public RedisAsyncSink(
+            FlinkConfigBase flinkConfigBase,
+            RedisSinkMapper<IN> redisSinkMapper,
+            RedisSinkOptions redisSinkOptions,
+            ResolvedSchema resolvedSchema) {
+        super(
+                createConverter(redisSinkMapper, redisSinkOptions, resolvedSchema),
+                maxBatchSize(redisSinkOptions),
+                1,
+                Math.max(redisSinkOptions.getMaxInFlight(), maxBatchSize(redisSinkOptions) * 2),
+                MAX_BATCH_SIZE_IN_BYTES,
+                redisSinkOptions.getBufferFlushInterval() > 0
+                        ? redisSinkOptions.getBufferFlushInterval()
+                        : DEFAULT_MAX_TIME_IN_BUFFER_MS,
+                MAX_RECORD_SIZE_IN_BYTES);
+        Objects.requireNonNull(flinkConfigBase, "Redis connection pool config should not be null");
+        this.flinkConfigBase = flinkConfigBase;
+
+        RedisCommandDescription redisCommandDescription =
+                (RedisCommandDescription) redisSinkMapper.getCommandDescription();
+        this.ttl = redisCommandDescription.getTTL();
+        this.maxRetryTimes = redisSinkOptions.getMaxRetryTimes();
+        this.retryOptions = redisSinkOptions.getRetryOptions();
+        Preconditions.checkArgument(
+                !Boolean.TRUE.equals(redisCommandDescription.getSetIfAbsent())
+                        && !redisCommandDescription.getTtlKeyNotAbsent()
+                        && redisCommandDescription.getExpireTime() == null,
+                "set.if.absent, ttl.key.not.absent and ttl.on.time are not supported by the async sink writer.");
+        Preconditions.checkArgument(
+                !redisSinkOptions.isPreAggregation() && !redisSinkOptions.isUpsertCompaction(),
+                "sink.pre-aggregation.enabled and sink.upsert-compaction.enabled are not supported by the async sink writer.");
+        Preconditions.checkArgument(
+                redisSinkOptions.getRateLimitOpsPerSecond() == 0
+                        && !redisSinkOptions.isAdaptiveConcurrency(),
+                "sink.rate-limit.ops-per-second and sink.adaptive-concurrency.enabled are not supported by the async sink writer.");
+    }
+
+    private static <IN> RedisWriteRequestConverter<IN> createConverter(
+            RedisSinkMapper<IN> redisSinkMapper,
+            RedisSinkOptions redisSinkOptions,
+            ResolvedSchema resolvedSchema) {
+        Objects.requireNonNull(redisSinkMapper, "Redis Mapper can not be null");
+        RedisCommandDescription redisCommandDescription =
+                (RedisCommandDescription) redisSinkMapper.getCommandDescription();
+        Preconditions.checkNotNull(
+                redisCommandDescription, "Redis Mapper data type description can not be null");
+        RedisCommand redisCommand = redisCommandDescription.getRedisCommand();
+        RedisValueDataStructure redisValueDataStructure =
+                redisSinkOptions.getRedisValueDataStructure();
+        if (redisValueDataStructure == RedisValueDataStructure.row) {
+            Preconditions.checkArgument(
+                    redisCommand.getRedisOperationType() == RedisOperationType.INSERT,
+                    "the value data structure cant be row when command is %s",
+                    redisCommand.name());
+        }
+        return new RedisWriteRequestConverter<>(
+                redisSinkMapper,
+                redisCommand,
+                resolvedSchema.getColumnDataTypes(),
+                redisValueDataStructure);
+    }
+
+    private static int maxBatchSize(RedisSinkOptions redisSinkOptions) {
+        return redisSinkOptions.getBufferFlushMaxRows() > 0
+                ? redisSinkOptions.getBufferFlushMaxRows()
+                : DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public RedisAsyncSinkWriter<IN> createWriter(InitContext context) throws IOException {
+        return restoreWriter(context, Collections.emptyList());
+    }
+
+    @Override
+    public RedisAsyncSinkWriter<IN> restoreWriter(
+            InitContext context, Collection<BufferedRequestState<RedisWriteRequest>> recoveredState)
+            throws IOException {
+        return new RedisAsyncSinkWriter<>(
+                (RedisWriteRequestConverter<IN>) getElementConverter(),
+                context,
+                getMaxBatchSize(),
+                getMaxInFlightRequests(),
+                getMaxBufferedRequests(),
+                getMaxBatchSizeInBytes(),
+                getMaxTimeInBufferMS(),
+                getMaxRecordSizeInBytes(),
+                flinkConfigBase,
+                ttl,
+                maxRetryTimes,
+                retryOptions,
+                recoveredState);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<BufferedRequestState<RedisWriteRequest>>
+            getWriterStateSerializer() {
+        return new RedisWriteRequestSerializer();
+    }
+}
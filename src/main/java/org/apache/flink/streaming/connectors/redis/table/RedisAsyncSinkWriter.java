@@ -0,0 +1,336 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.connector.base.sink.writer.AsyncSinkWriter;
+import org.apache.flink.connector.base.sink.writer.BufferedRequestState;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainerBuilder;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.streaming.connectors.redis.common.retry.RedisAsyncRetrier;
+import org.apache.flink.streaming.connectors.redis.common.retry.RedisRetryableErrors;
+import org.apache.flink.util.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * redis sink writer based on {@link AsyncSinkWriter}, the batching, the limit of in flight
+ * requests and the metrics are managed by the framework. Each batch is sent to redis as one
+ * pipeline.
+ *
+ * <p>The failed entries are sent again in the next batch when their errors are retryable, so the
+ * batches are sent one at a time and an entry is not sent again when a later entry of its key has
+ * succeeded, otherwise the old value could overwrite the new one. The ttl is set by its own EXPIRE
+ * which is retried by itself, so a failed EXPIRE does not send the write again.
+ *
+ * @param <IN>
+ */
+public class RedisAsyncSinkWriter<IN> extends AsyncSinkWriter<IN, RedisWriteRequest> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisAsyncSinkWriter.class);
+
+    private final RedisWriteRequestConverter<IN> redisWriteRequestConverter;
+
+    private final RedisCommandsContainer redisCommandsContainer;
+
+    private final Integer ttl;
+
+    private final RedisRetryableErrors retryableErrors;
+
+    private final RedisAsyncRetrier ttlRetrier;
+
+    public RedisAsyncSinkWriter(
+            RedisWriteRequestConverter<IN> redisWriteRequestConverter,
+            Sink.InitContext context,
+            int maxBatchSize,
+            int maxInFlightRequests,
+            int maxBufferedRequests,
+            long maxBatchSizeInBytes,
+            long maxTimeInBufferMS,
+            long maxRecordSizeInBytes,
+            FlinkConfigBase flinkConfigBase,
+            Integer ttl,
+            int maxRetryTimes,
+            RedisRetryOptions retryOptions,
+            Collection<BufferedRequestState<RedisWriteRequest>> states)
+            throws IOException {
+        super(
+                redisWriteRequestConverter,
+                context,
+                maxBatchSize,
+                maxInFlightRequests,
+                maxBufferedRequests,
+                maxBatchSizeInBytes,
+                maxTimeInBufferMS,
+                maxRecordSizeInBytes,
+                states);
+        this.redisWriteRequestConverter = redisWriteRequestConverter;
+        this.ttl = ttl;
+        this.retryableErrors = new RedisRetryableErrors(retryOptions);
+        try {
+            this.redisCommandsContainer = RedisCommandsContainerBuilder.build(flinkConfigBase, false);
+            this.redisCommandsContainer.open();
+            this.redisCommandsContainer.setAutoFlushCommands(false);
+            this.ttlRetrier =
+                    new RedisAsyncRetrier(
+                            maxRetryTimes,
+                            retryOptions,
+                            true,
+                            this.redisCommandsContainer.getEventExecutor(),
+                            this.redisCommandsContainer::flushCommands);
+            LOG.info(
+                    "{} success to create redis container for sink writer",
+                    Thread.currentThread().getId());
+        } catch (Exception e) {
+            LOG.error("Redis has not been properly initialized: ", e);
+            throw new IOException("Redis has not been properly initialized", e);
+        }
+    }
+
+    @Override
+    public void write(IN element, Context context) throws IOException, InterruptedException {
+        if (redisWriteRequestConverter.isIgnored(element)) {
+            return;
+        }
+        super.write(element, context);
+    }
+
+    @Override
+    protected void submitRequestEntries(
+            List<RedisWriteRequest> requestEntries,
+            Consumer<List<RedisWriteRequest>> requestResult) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(requestEntries.size());
+        // the EXPIREs of entries, null if the entry sets no ttl.
+        List<CompletableFuture<?>> expires = new ArrayList<>(requestEntries.size());
+        try {
+            for (RedisWriteRequest requestEntry : requestEntries) {
+                futures.add(send(requestEntry).toCompletableFuture());
+                expires.add(expire(requestEntry));
+            }
+        } catch (Exception e) {
+            getFatalExceptionCons().accept(new IOException("sink redis error", e));
+            return;
+        } finally {
+            this.redisCommandsContainer.flushCommands();
+        }
+
+        List<CompletableFuture<?>> all = new ArrayList<>(futures);
+        expires.stream().filter(Objects::nonNull).forEach(all::add);
+        CompletableFuture.allOf(all.toArray(new CompletableFuture[0]))
+                .whenComplete(
+                        (r, t) -> {
+                            if (t == null) {
+                                requestResult.accept(Collections.emptyList());
+                                return;
+                            }
+
+                            List<Throwable> causes = new ArrayList<>(futures.size());
+                            for (CompletableFuture<?> future : futures) {
+                                causes.add(causeOf(future));
+                            }
+                            List<RedisWriteRequest> failedEntries;
+                            try {
+                                failedEntries =
+                                        getEntriesToRetry(requestEntries, causes, retryableErrors);
+                            } catch (IOException e) {
+                                getFatalExceptionCons().accept(e);
+                                return;
+                            }
+                            for (int i = 0; i < expires.size(); i++) {
+                                Throwable cause =
+                                        expires.get(i) == null ? null : causeOf(expires.get(i));
+                                // the EXPIRE is sent again with the write when it is retried.
+                                if (cause != null && causes.get(i) == null) {
+                                    getFatalExceptionCons()
+                                            .accept(
+                                                    new IOException(
+                                                            "sink redis error, the ttl of key is not set",
+                                                            cause));
+                                    return;
+                                }
+                            }
+                            LOG.warn(
+                                    "sink redis error, retry {} of {} requests",
+                                    failedEntries.size(),
+                                    requestEntries.size(),
+                                    t);
+                            requestResult.accept(failedEntries);
+                        });
+    }
+
+    /**
+     * the failed entries to be sent again in the next batch, in the order of the batch. An entry is
+     * sent again when its error is retryable for its command, and no later entry of its key in the
+     * batch has succeeded, as the next batch is sent after this one completes.
+     *
+     * @param requestEntries the entries of batch
+     * @param causes the errors of entries, null if the entry succeeds
+     * @param retryableErrors
+     * @return
+     * @throws IOException if a failed entry can not be sent again
+     */
+    static List<RedisWriteRequest> getEntriesToRetry(
+            List<RedisWriteRequest> requestEntries,
+            List<Throwable> causes,
+            RedisRetryableErrors retryableErrors)
+            throws IOException {
+        List<RedisWriteRequest> failedEntries = new ArrayList<>();
+        // the keys written by the later entries which succeed.
+        Set<String> writtenKeys = new HashSet<>();
+        for (int i = requestEntries.size() - 1; i >= 0; i--) {
+            RedisWriteRequest requestEntry = requestEntries.get(i);
+            String key = requestEntry.getParams()[0];
+            Throwable cause = causes.get(i);
+            if (cause == null) {
+                writtenKeys.add(key);
+                continue;
+            }
+            if (!retryableErrors.isRetryable(
+                    cause, requestEntry.getRedisCommand().isIdempotent())) {
+                throw new IOException("sink redis error", cause);
+            }
+            if (writtenKeys.contains(key)) {
+                throw new IOException(
+                        "sink redis error, the write of key "
+                                + key
+                                + " is not retried as a newer write of it has succeeded",
+                        cause);
+            }
+            failedEntries.add(requestEntry);
+        }
+        Collections.reverse(failedEntries);
+        return failedEntries;
+    }
+
+    /**
+     * process redis command.
+     *
+     * @param request
+     * @return
+     */
+    private CompletionStage<?> send(RedisWriteRequest request) {
+        String[] params = request.getParams();
+        CompletionStage<?> redisFuture;
+        switch (request.getRedisCommand()) {
+            case RPUSH:
+                redisFuture = this.redisCommandsContainer.rpush(params[0], params[1]);
+                break;
+            case LPUSH:
+                redisFuture = this.redisCommandsContainer.lpush(params[0], params[1]);
+                break;
+            case SADD:
+                redisFuture = this.redisCommandsContainer.sadd(params[0], params[1]);
+                break;
+            case SET:
+                redisFuture = this.redisCommandsContainer.set(params[0], params[1]);
+                break;
+            case PFADD:
+                redisFuture = this.redisCommandsContainer.pfadd(params[0], params[1]);
+                break;
+            case PUBLISH:
+                redisFuture = this.redisCommandsContainer.publish(params[0], params[1]);
+                break;
+            case ZADD:
+                redisFuture = this.redisCommandsContainer.zadd(params[0], params[1], params[2]);
+                break;
+            case ZINCRBY:
+                redisFuture = this.redisCommandsContainer.zincrBy(params[0], params[1], params[2]);
+                break;
+            case ZREM:
+                redisFuture = this.redisCommandsContainer.zrem(params[0], params[1]);
+                break;
+            case SREM:
+                redisFuture = this.redisCommandsContainer.srem(params[0], params[1]);
+                break;
+            case HSET:
+                redisFuture = this.redisCommandsContainer.hset(params[0], params[1], params[2]);
+                break;
+            case HINCRBY:
+                redisFuture =
+                        this.redisCommandsContainer.hincrBy(
+                                params[0], params[1], Long.valueOf(params[2]));
+                break;
+            case HINCRBYFLOAT:
+                redisFuture =
+                        this.redisCommandsContainer.hincrByFloat(
+                                params[0], params[1], Double.valueOf(params[2]));
+                break;
+            case INCRBY:
+                redisFuture =
+                        this.redisCommandsContainer.incrBy(params[0], Long.valueOf(params[1]));
+                break;
+            case INCRBYFLOAT:
+                redisFuture =
+                        this.redisCommandsContainer.incrByFloat(
+                                params[0], Double.valueOf(params[1]));
+                break;
+            case DECRBY:
+                redisFuture =
+                        this.redisCommandsContainer.decrBy(params[0], Long.valueOf(params[1]));
+                break;
+            case DEL:
+                return this.redisCommandsContainer.del(params[0]);
+            case HDEL:
+                redisFuture = this.redisCommandsContainer.hdel(params[0], params[1]);
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Cannot process such data type: " + request.getRedisCommand());
+        }
+        return redisFuture;
+    }
+
+    /**
+     * set the ttl of the key written by the entry, the EXPIRE is retried by itself as it can be
+     * executed again safely, unlike some of the writes.
+     *
+     * @param request
+     * @return null if no ttl is set
+     */
+    private CompletableFuture<?> expire(RedisWriteRequest request) {
+        if (ttl == null || request.getRedisCommand() == RedisCommand.DEL) {
+            return null;
+        }
+        String key = request.getParams()[0];
+        return ttlRetrier.execute(() -> this.redisCommandsContainer.expire(key, ttl));
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        try {
+            future.getNow(null);
+            return null;
+        } catch (Exception e) {
+            return ExceptionUtils.stripCompletionException(e);
+        }
+    }
+
+    @Override
+    protected long getSizeInBytes(RedisWriteRequest requestEntry) {
+        return requestEntry.getSizeInBytes();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        if (redisCommandsContainer != null) {
+            try {
+                redisCommandsContainer.close();
+            } catch (IOException e) {
+                LOG.error("close redis container error", e);
+            }
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package org.apache.flink.streaming.connectors.redis.table;
 
+import static org.apache.flink.streaming.connectors.redis.descriptor.RedisValidator.REDIS_CLUSTER;
 import static org.apache.flink.streaming.connectors.redis.descriptor.RedisValidator.REDIS_COMMAND;
 
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.connector.format.DecodingFormat;
+import org.apache.flink.table.connector.format.EncodingFormat;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.factories.DeserializationFormatFactory;
 import org.apache.flink.table.factories.DynamicTableSinkFactory;
 import org.apache.flink.table.factories.DynamicTableSourceFactory;
 import org.apache.flink.table.factories.FactoryUtil;
+import org.apache.flink.table.factories.SerializationFormatFactory;
+import org.apache.flink.util.Preconditions;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -36,12 +45,18 @@ public class RedisDynamicTableFactory
         }
         FactoryUtil.TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(this, context);
         ReadableConfig config = helper.getOptions();
+        // the options of format are prefixed by 'value.<format>.', and validated by the helper.
+        DecodingFormat<DeserializationSchema<RowData>> valueDecodingFormat =
+                helper.discoverOptionalDecodingFormat(
+                                DeserializationFormatFactory.class, RedisOptions.VALUE_FORMAT)
+                        .orElse(null);
         helper.validate();
         validateConfigOptions(config);
         return new RedisDynamicTableSource(
                 context.getCatalogTable().getOptions(),
                 context.getCatalogTable().getResolvedSchema(),
-                config);
+                config,
+                valueDecodingFormat);
     }
 
     @Override
@@ -58,12 +73,17 @@ public class RedisDynamicTableFactory
         }
         FactoryUtil.TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(this, context);
         ReadableConfig config = helper.getOptions();
+        EncodingFormat<SerializationSchema<RowData>> valueEncodingFormat =
+                helper.discoverOptionalEncodingFormat(
+                                SerializationFormatFactory.class, RedisOptions.VALUE_FORMAT)
+                        .orElse(null);
         helper.validate();
         validateConfigOptions(config);
         return new RedisDynamicTableSink(
                 context.getCatalogTable().getOptions(),
                 context.getCatalogTable().getResolvedSchema(),
-                config);
+                config,
+                valueEncodingFormat);
     }
 
     @Override
@@ -97,12 +117,33 @@ public class RedisDynamicTableFactory
         options.add(RedisOptions.LOOKUP_MAX_RETRIES);
         options.add(RedisOptions.SINK_MAX_RETRIES);
         options.add(RedisOptions.SINK_PARALLELISM);
+        options.add(RedisOptions.SINK_BUFFER_FLUSH_MAX_ROWS);
+        options.add(RedisOptions.SINK_BUFFER_FLUSH_INTERVAL);
+        options.add(RedisOptions.SINK_MAX_IN_FLIGHT);
+        options.add(RedisOptions.SINK_ASYNC_WRITER_ENABLED);
+        options.add(RedisOptions.SINK_PRE_AGGREGATION_ENABLED);
+        options.add(RedisOptions.SINK_UPSERT_COMPACTION_ENABLED);
+        options.add(RedisOptions.SINK_TTL_REFRESH_INTERVAL);
+        options.add(RedisOptions.SINK_TTL_REFRESH_CACHE_MAX_ROWS);
+        options.add(RedisOptions.SINK_PARTITION_BY_SLOT);
+        options.add(RedisOptions.RETRY_BACKOFF_INITIAL_DELAY);
+        options.add(RedisOptions.RETRY_BACKOFF_MAX_DELAY);
+        options.add(RedisOptions.RETRY_RETRYABLE_ERRORS);
+        options.add(RedisOptions.SINK_RATE_LIMIT_OPS_PER_SECOND);
+        options.add(RedisOptions.SINK_ADAPTIVE_CONCURRENCY_ENABLED);
+        options.add(RedisOptions.SINK_ADAPTIVE_CONCURRENCY_TARGET_LATENCY);
+        options.add(RedisOptions.LOOKUP_READ_FROM);
+        options.add(RedisOptions.LOOKUP_BATCH_SIZE);
+        options.add(RedisOptions.LOOKUP_BATCH_MAX_DELAY);
         options.add(RedisOptions.LOOKUP_CACHE_LOAD_ALL);
         options.add(RedisOptions.SINK_LIMIT);
         options.add(RedisOptions.SINK_LIMIT_MAX_NUM);
         options.add(RedisOptions.SINK_LIMIT_MAX_ONLINE);
         options.add(RedisOptions.SINK_LIMIT_INTERVAL);
         options.add(RedisOptions.VALUE_DATA_STRUCTURE);
+        options.add(RedisOptions.VALUE_FORMAT);
+        options.add(RedisOptions.VALUE_COMPRESSION);
+        options.add(RedisOptions.VALUE_COMPRESSION_MIN_BYTES);
         options.add(RedisOptions.REDIS_MASTER_NAME);
         options.add(RedisOptions.SENTINELS_INFO);
         options.add(RedisOptions.EXPIRE_ON_TIME);
@@ -111,8 +152,18 @@ public class RedisDynamicTableFactory
         options.add(RedisOptions.TTL_KEY_NOT_ABSENT);
         options.add(RedisOptions.NETTY_EVENT_POOL_SIZE);
         options.add(RedisOptions.NETTY_IO_POOL_SIZE);
+        options.add(RedisOptions.CONNECTION_SHARED);
+        options.add(RedisOptions.CONNECTION_COUNT);
         return options;
     }
 
-    private void validateConfigOptions(ReadableConfig config) {}
+    private void validateConfigOptions(ReadableConfig config) {
+        // the slots just map to the masters in cluster mode.
+        Preconditions.checkArgument(
+                !config.get(RedisOptions.SINK_PARTITION_BY_SLOT)
+                        || REDIS_CLUSTER.equals(config.get(RedisOptions.REDISMODE)),
+                "%s just support the cluster mode, but the mode is %s",
+                RedisOptions.SINK_PARTITION_BY_SLOT.key(),
+                config.get(RedisOptions.REDISMODE));
+    }
 }
@@ -1,17 +1,28 @@
 package org.apache.flink.streaming.connectors.redis.table;
 
+import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.DataStreamSink;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigHandler;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisSinkOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueCompression;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueDataStructure;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisHandlerServices;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisMapperHandler;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisSinkMapper;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.ProviderContext;
+import org.apache.flink.table.connector.format.EncodingFormat;
+import org.apache.flink.table.connector.sink.DataStreamSinkProvider;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.sink.SinkFunctionProvider;
+import org.apache.flink.table.connector.sink.SinkV2Provider;
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
 
@@ -27,9 +38,24 @@ public class RedisDynamicTableSink implements DynamicTableSink {
     private RedisSinkOptions redisSinkOptions;
     private Integer sinkParallelism;
     private ResolvedSchema resolvedSchema;
+    private EncodingFormat<SerializationSchema<RowData>> valueEncodingFormat;
 
     public RedisDynamicTableSink(
             Map<String, String> properties, ResolvedSchema resolvedSchema, ReadableConfig config) {
+        this(properties, resolvedSchema, config, null);
+    }
+
+    /**
+     * @param properties
+     * @param resolvedSchema
+     * @param config
+     * @param valueEncodingFormat the format of value, null if the value is not written by format
+     */
+    public RedisDynamicTableSink(
+            Map<String, String> properties,
+            ResolvedSchema resolvedSchema,
+            ReadableConfig config,
+            EncodingFormat<SerializationSchema<RowData>> valueEncodingFormat) {
         this.properties = properties;
         Preconditions.checkNotNull(properties, "properties should not be null");
         this.config = config;
@@ -45,21 +71,120 @@ public class RedisDynamicTableSink implements DynamicTableSink {
                 new RedisSinkOptions.Builder()
                         .setMaxRetryTimes(config.get(RedisOptions.SINK_MAX_RETRIES))
                         .setRedisValueDataStructure(config.get(RedisOptions.VALUE_DATA_STRUCTURE))
+                        .setBufferFlushMaxRows(config.get(RedisOptions.SINK_BUFFER_FLUSH_MAX_ROWS))
+                        .setBufferFlushInterval(config.get(RedisOptions.SINK_BUFFER_FLUSH_INTERVAL))
+                        .setMaxInFlight(config.get(RedisOptions.SINK_MAX_IN_FLIGHT))
+                        .setPreAggregation(config.get(RedisOptions.SINK_PRE_AGGREGATION_ENABLED))
+                        .setUpsertCompaction(
+                                config.get(RedisOptions.SINK_UPSERT_COMPACTION_ENABLED))
+                        .setTtlRefreshInterval(config.get(RedisOptions.SINK_TTL_REFRESH_INTERVAL))
+                        .setTtlRefreshCacheMaxRows(
+                                config.get(RedisOptions.SINK_TTL_REFRESH_CACHE_MAX_ROWS))
+                        .setRetryOptions(
+                                new RedisRetryOptions.Builder()
+                                        .setInitialDelay(
+                                                config.get(RedisOptions.RETRY_BACKOFF_INITIAL_DELAY))
+                                        .setMaxDelay(config.get(RedisOptions.RETRY_BACKOFF_MAX_DELAY))
+                                        .setRetryableErrors(
+                                                config.get(RedisOptions.RETRY_RETRYABLE_ERRORS))
+                                        .build())
+                        .setRateLimitOpsPerSecond(
+                                config.get(RedisOptions.SINK_RATE_LIMIT_OPS_PER_SECOND))
+                        .setAdaptiveConcurrency(
+                                config.get(RedisOptions.SINK_ADAPTIVE_CONCURRENCY_ENABLED))
+                        .setAdaptiveConcurrencyTargetLatency(
+                                config.get(RedisOptions.SINK_ADAPTIVE_CONCURRENCY_TARGET_LATENCY))
+                        .setValueCompression(
+                                RedisValueCompression.fromValue(
+                                        config.get(RedisOptions.VALUE_COMPRESSION)))
+                        .setValueCompressionMinBytes(
+                                config.get(RedisOptions.VALUE_COMPRESSION_MIN_BYTES))
                         .build();
         this.resolvedSchema = resolvedSchema;
+        this.valueEncodingFormat = valueEncodingFormat;
     }
 
     @Override
     public ChangelogMode getChangelogMode(ChangelogMode requestedMode) {
-        return ChangelogMode.newBuilder()
-                .addContainedKind(RowKind.INSERT)
-                .addContainedKind(RowKind.DELETE)
-                .addContainedKind(RowKind.UPDATE_AFTER)
-                .build();
+        ChangelogMode.Builder builder =
+                ChangelogMode.newBuilder()
+                        .addContainedKind(RowKind.INSERT)
+                        .addContainedKind(RowKind.DELETE)
+                        .addContainedKind(RowKind.UPDATE_AFTER);
+        // the fields of hash changed are found by the UPDATE_BEFORE row, but the hash of keys
+        // which expire may be gone before the update, so all the fields are written then.
+        if (redisSinkOptions.getRedisValueDataStructure() == RedisValueDataStructure.hash
+                && !config.getOptional(RedisOptions.TTL).isPresent()
+                && !config.getOptional(RedisOptions.EXPIRE_ON_TIME).isPresent()) {
+            builder.addContainedKind(RowKind.UPDATE_BEFORE);
+        }
+        return builder.build();
     }
 
     @Override
     public SinkRuntimeProvider getSinkRuntimeProvider(Context context) {
+        boolean asyncWriter =
+                !config.get(RedisOptions.SINK_LIMIT)
+                        && config.get(RedisOptions.SINK_ASYNC_WRITER_ENABLED);
+        Preconditions.checkArgument(
+                valueEncodingFormat == null || !asyncWriter,
+                "value.format is not supported by the async sink writer.");
+        Preconditions.checkArgument(
+                redisSinkOptions.getValueCompression() == RedisValueCompression.NONE
+                        || !asyncWriter,
+                "value.compression is not supported by the async sink writer.");
+        Preconditions.checkArgument(
+                redisSinkOptions.getRedisValueDataStructure() != RedisValueDataStructure.hash
+                        || !asyncWriter,
+                "the value data structure hash is not supported by the async sink writer.");
+        SerializationSchema<RowData> valueSerializer =
+                valueEncodingFormat == null
+                        ? null
+                        : valueEncodingFormat.createRuntimeEncoder(
+                                context, resolvedSchema.toPhysicalRowDataType());
+        if (config.get(RedisOptions.SINK_PARTITION_BY_SLOT)) {
+            return new DataStreamSinkProvider() {
+                @Override
+                public DataStreamSink<?> consumeDataStream(
+                        ProviderContext providerContext, DataStream<RowData> dataStream) {
+                    DataStream<RowData> partitioned =
+                            dataStream.partitionCustom(
+                                    new RedisSlotPartitioner(),
+                                    new RedisSlotPartitioner.RedisKeySelector(
+                                            redisMapper,
+                                            resolvedSchema
+                                                    .getColumnDataTypes()
+                                                    .get(0)
+                                                    .getLogicalType()));
+                    DataStreamSink<?> sink =
+                            asyncWriter
+                                    ? partitioned.sinkTo(
+                                            new RedisAsyncSink<RowData>(
+                                                    flinkConfigBase,
+                                                    redisMapper,
+                                                    redisSinkOptions,
+                                                    resolvedSchema))
+                                    : partitioned.addSink(createSinkFunction(valueSerializer));
+                    if (sinkParallelism != null) {
+                        sink.setParallelism(sinkParallelism);
+                    }
+                    providerContext.generateUid("redis-sink").ifPresent(sink::uid);
+                    return sink;
+                }
+            };
+        }
+
+        if (asyncWriter) {
+            return SinkV2Provider.of(
+                    new RedisAsyncSink<>(
+                            flinkConfigBase, redisMapper, redisSinkOptions, resolvedSchema),
+                    sinkParallelism);
+        }
+
+        return SinkFunctionProvider.of(createSinkFunction(valueSerializer), sinkParallelism);
+    }
+
+    private RedisSinkFunction createSinkFunction(SerializationSchema<RowData> valueSerializer) {
         RedisSinkFunction redisSinkFunction =
                 config.get(RedisOptions.SINK_LIMIT)
                         ? new RedisLimitedSinkFunction(
@@ -67,16 +192,20 @@ public class RedisDynamicTableSink implements DynamicTableSink {
                                 redisMapper,
                                 redisSinkOptions,
                                 resolvedSchema,
-                                config)
+                                config,
+                                valueSerializer)
                         : new RedisSinkFunction(
-                                flinkConfigBase, redisMapper, redisSinkOptions, resolvedSchema);
-
-        return SinkFunctionProvider.of(redisSinkFunction, sinkParallelism);
+                                flinkConfigBase,
+                                redisMapper,
+                                redisSinkOptions,
+                                resolvedSchema,
+                                valueSerializer);
+        return redisSinkFunction;
     }
 
     @Override
     public DynamicTableSink copy() {
-        return new RedisDynamicTableSink(properties, resolvedSchema, config);
+        return new RedisDynamicTableSink(properties, resolvedSchema, config, valueEncodingFormat);
     }
 
     @Override
@@ -1,23 +1,31 @@
 package org.apache.flink.streaming.connectors.redis.table;
 
+import org.apache.flink.api.common.serialization.DeserializationSchema;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigHandler;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisLookupOptions;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueCompression;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisHandlerServices;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisMapperHandler;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisMapper;
 import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.format.DecodingFormat;
 import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
+import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.DataType;
 import org.apache.flink.util.Preconditions;
 
 import java.util.Map;
 
 /** redis dynamic table source. @Author: jeff.zou @Date: 2022/3/7.13:41 */
-public class RedisDynamicTableSource implements LookupTableSource {
+public class RedisDynamicTableSource implements LookupTableSource, SupportsProjectionPushDown {
 
     private FlinkConfigBase flinkConfigBase;
     private Map<String, String> properties;
@@ -25,16 +33,64 @@ public class RedisDynamicTableSource implements LookupTableSource {
     private ReadableConfig config;
     private RedisMapper redisMapper;
     private RedisLookupOptions redisCacheOptions;
+    private DecodingFormat<DeserializationSchema<RowData>> valueDecodingFormat;
+
+    /** the indexes of columns read by the lookups, null if all the columns are read. */
+    private int[] projectedFields;
 
     @Override
     public LookupRuntimeProvider getLookupRuntimeProvider(LookupContext context) {
+        // the keys of lookup are the indexes in the projected row.
+        int[][] keys = context.getKeys();
+        int[] lookupKeys = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lookupKeys[i] = projectedFields == null ? keys[i][0] : projectedFields[keys[i][0]];
+        }
+        DeserializationSchema<RowData> valueDeserializer =
+                valueDecodingFormat == null
+                        ? null
+                        : valueDecodingFormat.createRuntimeDecoder(
+                                context, resolvedSchema.toPhysicalRowDataType());
         return AsyncTableFunctionProvider.of(
                 new RedisLookupFunction(
-                        flinkConfigBase, redisMapper, redisCacheOptions, resolvedSchema));
+                        flinkConfigBase,
+                        redisMapper,
+                        redisCacheOptions,
+                        resolvedSchema,
+                        valueDeserializer,
+                        projectedFields,
+                        lookupKeys));
+    }
+
+    @Override
+    public boolean supportsNestedProjection() {
+        return false;
+    }
+
+    @Override
+    public void applyProjection(int[][] projectedFields, DataType producedDataType) {
+        this.projectedFields = new int[projectedFields.length];
+        for (int i = 0; i < projectedFields.length; i++) {
+            this.projectedFields[i] = projectedFields[i][0];
+        }
     }
 
     public RedisDynamicTableSource(
             Map<String, String> properties, ResolvedSchema resolvedSchema, ReadableConfig config) {
+        this(properties, resolvedSchema, config, null);
+    }
+
+    /**
+     * @param properties
+     * @param resolvedSchema
+     * @param config
+     * @param valueDecodingFormat the format of value, null if the value is not read by format
+     */
+    public RedisDynamicTableSource(
+            Map<String, String> properties,
+            ResolvedSchema resolvedSchema,
+            ReadableConfig config,
+            DecodingFormat<DeserializationSchema<RowData>> valueDecodingFormat) {
         this.properties = properties;
         Preconditions.checkNotNull(properties, "properties should not be null");
         this.resolvedSchema = resolvedSchema;
@@ -57,12 +113,31 @@ public class RedisDynamicTableSource implements LookupTableSource {
                         .setMaxRetryTimes(config.get(RedisOptions.LOOKUP_MAX_RETRIES))
                         .setLoadAll(config.get(RedisOptions.LOOKUP_CACHE_LOAD_ALL))
                         .setRedisValueDataStructure(config.get(RedisOptions.VALUE_DATA_STRUCTURE))
+                        .setReadFrom(
+                                RedisReadFrom.fromValue(config.get(RedisOptions.LOOKUP_READ_FROM)))
+                        .setValueCompression(
+                                RedisValueCompression.fromValue(
+                                        config.get(RedisOptions.VALUE_COMPRESSION)))
+                        .setBatchSize(config.get(RedisOptions.LOOKUP_BATCH_SIZE))
+                        .setBatchMaxDelay(config.get(RedisOptions.LOOKUP_BATCH_MAX_DELAY))
+                        .setRetryOptions(
+                                new RedisRetryOptions.Builder()
+                                        .setInitialDelay(
+                                                config.get(RedisOptions.RETRY_BACKOFF_INITIAL_DELAY))
+                                        .setMaxDelay(config.get(RedisOptions.RETRY_BACKOFF_MAX_DELAY))
+                                        .setRetryableErrors(
+                                                config.get(RedisOptions.RETRY_RETRYABLE_ERRORS))
+                                        .build())
                         .build();
+        this.valueDecodingFormat = valueDecodingFormat;
     }
 
     @Override
     public DynamicTableSource copy() {
-        return new RedisDynamicTableSource(properties, resolvedSchema, config);
+        RedisDynamicTableSource source =
+                new RedisDynamicTableSource(properties, resolvedSchema, config, valueDecodingFormat);
+        source.projectedFields = projectedFields;
+        return source;
     }
 
     @Override
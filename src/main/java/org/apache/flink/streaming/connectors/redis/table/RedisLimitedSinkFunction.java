@@ -1,5 +1,6 @@
 package org.apache.flink.streaming.connectors.redis.table;
 
+import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
@@ -46,7 +47,27 @@ public class RedisLimitedSinkFunction<IN> extends RedisSinkFunction<IN> {
             RedisSinkOptions redisSinkOptions,
             ResolvedSchema resolvedSchema,
             ReadableConfig config) {
-        super(flinkConfigBase, redisSinkMapper, redisSinkOptions, resolvedSchema);
+        this(flinkConfigBase, redisSinkMapper, redisSinkOptions, resolvedSchema, config, null);
+    }
+
+    /**
+     * Creates a new {@link RedisSinkFunction} that writes the value by the format.
+     *
+     * @param flinkConfigBase
+     * @param redisSinkMapper
+     * @param redisSinkOptions
+     * @param resolvedSchema
+     * @param config
+     * @param valueSerializer the serializer of value, null if the value is not written by format
+     */
+    public RedisLimitedSinkFunction(
+            FlinkConfigBase flinkConfigBase,
+            RedisSinkMapper<IN> redisSinkMapper,
+            RedisSinkOptions redisSinkOptions,
+            ResolvedSchema resolvedSchema,
+            ReadableConfig config,
+            SerializationSchema<RowData> valueSerializer) {
+        super(flinkConfigBase, redisSinkMapper, redisSinkOptions, resolvedSchema, valueSerializer);
         maxOnline = config.get(RedisOptions.SINK_LIMIT_MAX_ONLINE);
 
         Preconditions.checkState(
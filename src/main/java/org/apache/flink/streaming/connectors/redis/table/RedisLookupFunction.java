@@ -2,17 +2,28 @@ package org.apache.flink.streaming.connectors.redis.table;
 
 import static org.apache.flink.streaming.connectors.redis.table.RedisDynamicTableFactory.CACHE_SEPERATOR;
 
+import io.lettuce.core.KeyValue;
+
+import org.apache.flink.api.common.serialization.DeserializationSchema;
 import org.apache.flink.calcite.shaded.com.google.common.cache.Cache;
 import org.apache.flink.calcite.shaded.com.google.common.cache.CacheBuilder;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.streaming.connectors.redis.common.buffer.RedisLookupBatcher;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisLookupOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueCompression;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisValueDataStructure;
 import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainer;
 import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainerBuilder;
 import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter.RedisDeserializationConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisValueCompressor;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommandBaseDescription;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisMapper;
+import org.apache.flink.streaming.connectors.redis.common.retry.RedisAsyncRetrier;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -20,15 +31,26 @@ import org.apache.flink.table.functions.AsyncTableFunction;
 import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.SimpleUserCodeClassLoader;
+import org.apache.flink.util.UserCodeClassLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /** redis lookup function. @Author: jeff.zou @Date: 2022/3/7.14:33 */
 public class RedisLookupFunction extends AsyncTableFunction<RowData> {
@@ -42,9 +64,27 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
     private final long cacheMaxSize;
     private final long cacheTtl;
     private final int maxRetryTimes;
+    private final RedisRetryOptions retryOptions;
+    private transient RedisAsyncRetrier retrier;
     private final List<DataType> dataTypes;
+    private transient RedisDeserializationConverter[] deserializers;
     private final boolean loadAll;
     private final RedisValueDataStructure redisValueDataStructure;
+    private final RedisReadFrom readFrom;
+    private final DeserializationSchema<RowData> valueDeserializer;
+    private transient RowData.FieldGetter[] fieldGetters;
+    private final RedisValueCompression valueCompression;
+    private transient RedisValueCompressor valueCompressor;
+    private final int[] projectedFields;
+    private final int[] keyOrder;
+    // the columns read from hash except the key, and the fields named by them.
+    private final int[] hashReadColumns;
+    private final String[] hashReadFields;
+    private final int batchSize;
+    private final long batchMaxDelay;
+    // the batches of GET keys read by MGET, and of HGET keys and fields read by one pipeline.
+    private transient RedisLookupBatcher<String, String> getBatcher;
+    private transient RedisLookupBatcher<List<String>, String> hgetBatcher;
     private Cache<String, Object> cache;
 
     public RedisLookupFunction(
@@ -52,6 +92,44 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
             RedisMapper redisMapper,
             RedisLookupOptions redisLookupOptions,
             ResolvedSchema resolvedSchema) {
+        this(flinkConfigBase, redisMapper, redisLookupOptions, resolvedSchema, null);
+    }
+
+    public RedisLookupFunction(
+            FlinkConfigBase flinkConfigBase,
+            RedisMapper redisMapper,
+            RedisLookupOptions redisLookupOptions,
+            ResolvedSchema resolvedSchema,
+            DeserializationSchema<RowData> valueDeserializer) {
+        this(
+                flinkConfigBase,
+                redisMapper,
+                redisLookupOptions,
+                resolvedSchema,
+                valueDeserializer,
+                null,
+                null);
+    }
+
+    /**
+     * @param flinkConfigBase
+     * @param redisMapper
+     * @param redisLookupOptions
+     * @param resolvedSchema
+     * @param valueDeserializer the deserializer of value, null if the value is not read by format
+     * @param projectedFields the indexes of columns in the rows returned, null if all the columns
+     *     are returned
+     * @param lookupKeys the indexes of columns of the keys passed to eval, null if they are the
+     *     first columns in order
+     */
+    public RedisLookupFunction(
+            FlinkConfigBase flinkConfigBase,
+            RedisMapper redisMapper,
+            RedisLookupOptions redisLookupOptions,
+            ResolvedSchema resolvedSchema,
+            DeserializationSchema<RowData> valueDeserializer,
+            int[] projectedFields,
+            int[] lookupKeys) {
         Preconditions.checkNotNull(
                 flinkConfigBase, "Redis connection pool config should not be null");
         Preconditions.checkNotNull(redisMapper, "Redis Mapper can not be null");
@@ -60,17 +138,13 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
         this.cacheTtl = redisLookupOptions.getCacheTtl();
         this.cacheMaxSize = redisLookupOptions.getCacheMaxSize();
         this.maxRetryTimes = redisLookupOptions.getMaxRetryTimes();
+        this.retryOptions = redisLookupOptions.getRetryOptions();
         this.loadAll = redisLookupOptions.getLoadAll();
         this.redisValueDataStructure = redisLookupOptions.getRedisValueDataStructure();
-
-        if (this.loadAll) {
-            Preconditions.checkArgument(
-                    cacheMaxSize != -1 && cacheTtl != -1,
-                    "cache must be opened by cacheMaxSize and cacheTtl when u want to load all elements to cache.");
-            Preconditions.checkArgument(
-                    this.loadAll && redisCommand == RedisCommand.HSET,
-                    "just hget support load all.");
-        }
+        this.readFrom = redisLookupOptions.getReadFrom();
+        this.valueCompression = redisLookupOptions.getValueCompression();
+        this.batchSize = redisLookupOptions.getBatchSize();
+        this.batchMaxDelay = redisLookupOptions.getBatchMaxDelay();
 
         RedisCommandBaseDescription redisCommandDescription = redisMapper.getCommandDescription();
         Preconditions.checkNotNull(
@@ -81,35 +155,166 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
                 "unsupport command for query redis: %s, just get hget.",
                 redisCommand.name());
 
+        if (this.loadAll) {
+            Preconditions.checkArgument(
+                    cacheMaxSize != -1 && cacheTtl != -1,
+                    "cache must be opened by cacheMaxSize and cacheTtl when u want to load all elements to cache.");
+            Preconditions.checkArgument(
+                    redisCommand == RedisCommand.HGET, "just hget support load all.");
+        }
+
+        this.valueDeserializer = valueDeserializer;
+        if (valueDeserializer != null) {
+            Preconditions.checkArgument(
+                    redisValueDataStructure == RedisValueDataStructure.row && !loadAll,
+                    "value.format just support the value data structure row without load all.");
+        }
+        if (valueCompression != RedisValueCompression.NONE) {
+            // the map of load all is read as strings.
+            Preconditions.checkArgument(
+                    !loadAll, "value.compression is not supported when load all is enabled.");
+        }
+
+        if (redisValueDataStructure == RedisValueDataStructure.hash) {
+            // the fields of hash used by the query are read as the row.
+            Preconditions.checkArgument(
+                    redisCommand == RedisCommand.HGET
+                            && !loadAll
+                            && valueDeserializer == null
+                            && valueCompression == RedisValueCompression.NONE,
+                    "the value data structure hash just support hget without load all, value.format and value.compression.");
+        }
+
+        if (isBatched()) {
+            // the values of MGET and pipelined HGET are read as strings.
+            Preconditions.checkArgument(
+                    !loadAll
+                            && redisValueDataStructure != RedisValueDataStructure.hash
+                            && !isBinaryValue(),
+                    "lookup.batch.size just support get and hget without load all, value.format, value.compression and the value data structure hash.");
+            Preconditions.checkArgument(
+                    batchMaxDelay > 0, "lookup.batch.max-delay must be more than 0.");
+        }
+
         this.dataTypes = resolvedSchema.getColumnDataTypes();
+        this.projectedFields = projectedFields;
+        this.keyOrder = createKeyOrder(lookupKeys);
+
+        // just the projected fields are read from hash.
+        int[] columns =
+                projectedFields == null
+                        ? IntStream.range(0, dataTypes.size()).toArray()
+                        : projectedFields;
+        this.hashReadColumns = Arrays.stream(columns).filter(column -> column != 0).toArray();
+        List<String> columnNames = resolvedSchema.getColumnNames();
+        this.hashReadFields = new String[hashReadColumns.length];
+        for (int i = 0; i < hashReadColumns.length; i++) {
+            hashReadFields[i] = columnNames.get(hashReadColumns[i]);
+        }
+    }
+
+    /**
+     * the order of keys passed to eval, which are sorted by the columns in the projected row.
+     *
+     * @param lookupKeys
+     * @return null if the keys are in the order of columns, or are not the first columns
+     */
+    private static int[] createKeyOrder(int[] lookupKeys) {
+        if (lookupKeys == null) {
+            return null;
+        }
+        int[] sorted = lookupKeys.clone();
+        Arrays.sort(sorted);
+        boolean inOrder = true;
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] != i) {
+                // the keys are taken as they are.
+                return null;
+            }
+            inOrder &= lookupKeys[i] == i;
+        }
+        return inOrder ? null : lookupKeys;
+    }
+
+    /**
+     * order the keys by their columns.
+     *
+     * @param keys
+     * @return
+     */
+    private Object[] orderKeys(Object[] keys) {
+        if (keyOrder == null) {
+            return keys;
+        }
+        Object[] orderedKeys = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            orderedKeys[keyOrder[i]] = keys[i];
+        }
+        return orderedKeys;
+    }
+
+    /**
+     * pick the projected fields of row.
+     *
+     * @param rowData
+     * @return
+     */
+    private GenericRowData projectRow(GenericRowData rowData) {
+        if (projectedFields == null) {
+            return rowData;
+        }
+        GenericRowData projectedRow =
+                new GenericRowData(rowData.getRowKind(), projectedFields.length);
+        for (int i = 0; i < projectedFields.length; i++) {
+            projectedRow.setField(i, rowData.getField(projectedFields[i]));
+        }
+        return projectedRow;
+    }
+
+    private Collection<GenericRowData> projectRows(Collection<GenericRowData> rows) {
+        if (projectedFields == null) {
+            return rows;
+        }
+        List<GenericRowData> projectedRows = new ArrayList<>(rows.size());
+        for (GenericRowData rowData : rows) {
+            projectedRows.add(projectRow(rowData));
+        }
+        return projectedRows;
     }
 
     public void eval(CompletableFuture<Collection<GenericRowData>> resultFuture, Object... keys)
             throws Exception {
+        // the keys in the order of columns.
+        Object[] redisKeys = orderKeys(keys);
 
         // when use cache.
         if (cache != null) {
             GenericRowData genericRowData = null;
             switch (redisCommand) {
                 case GET:
-                    genericRowData = (GenericRowData) cache.getIfPresent(String.valueOf(keys[0]));
+                    genericRowData =
+                            (GenericRowData) cache.getIfPresent(String.valueOf(redisKeys[0]));
                     break;
                 case HGET:
-                    if (loadAll) {
+                    if (redisValueDataStructure == RedisValueDataStructure.hash) {
+                        genericRowData =
+                                (GenericRowData) cache.getIfPresent(String.valueOf(redisKeys[0]));
+                    } else if (loadAll) {
                         Map<String, String> map =
-                                (Map<String, String>) cache.getIfPresent(String.valueOf(keys[0]));
+                                (Map<String, String>)
+                                        cache.getIfPresent(String.valueOf(redisKeys[0]));
                         if (map != null) {
-                            resultFuture.complete(
-                                    Collections.singleton(
-                                            createRowDataForHash(
-                                                    keys, map.get(String.valueOf(keys[1])))));
+                            GenericRowData rowData =
+                                    createRowDataForHash(
+                                            redisKeys, map.get(String.valueOf(redisKeys[1])));
+                            resultFuture.complete(Collections.singleton(projectRow(rowData)));
                             return;
                         }
                     } else {
                         String key =
-                                new StringBuilder(String.valueOf(keys[0]))
+                                new StringBuilder(String.valueOf(redisKeys[0]))
                                         .append(CACHE_SEPERATOR)
-                                        .append(String.valueOf(keys[1]))
+                                        .append(String.valueOf(redisKeys[1]))
                                         .toString();
                         genericRowData = (GenericRowData) cache.getIfPresent(key);
                     }
@@ -119,90 +324,252 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
 
             // when cache is not null.
             if (genericRowData != null) {
-                resultFuture.complete(Collections.singleton(genericRowData));
+                resultFuture.complete(Collections.singleton(projectRow(genericRowData)));
                 return;
             }
         }
 
-        // It will try many times which less than {@code maxRetryTimes} until execute success.
-        for (int i = 0; i <= maxRetryTimes; i++) {
-            try {
-                query(resultFuture, keys);
-                break;
-            } catch (Exception e) {
-                LOG.error("query redis error, retry times:{}", i, e);
-                if (i >= maxRetryTimes) {
-                    throw new RuntimeException("query redis error ", e);
-                }
-                Thread.sleep(500 * i);
-            }
+        if (isBatched()) {
+            queryInBatch(redisKeys)
+                    .whenComplete(
+                            (rows, throwable) -> {
+                                if (throwable != null) {
+                                    LOG.error("query redis error", throwable);
+                                    resultFuture.completeExceptionally(throwable);
+                                } else {
+                                    resultFuture.complete(projectRows(rows));
+                                }
+                            });
+            return;
         }
+
+        // It will try many times which less than {@code maxRetryTimes} until execute success.
+        retrier.execute(() -> query(redisKeys))
+                .whenComplete(
+                        (rows, throwable) -> {
+                            if (throwable != null) {
+                                LOG.error("query redis error", throwable);
+                                resultFuture.completeExceptionally(throwable);
+                            } else {
+                                resultFuture.complete(projectRows(rows));
+                            }
+                        });
     }
 
     /**
      * query redis.
      *
      * @param keys
-     * @throws Exception
+     * @return
      */
-    private void query(CompletableFuture<Collection<GenericRowData>> resultFuture, Object... keys) {
+    private CompletionStage<Collection<GenericRowData>> query(Object... keys) {
         switch (redisCommand) {
             case GET:
-                this.redisCommandsContainer
+                if (isBinaryValue()) {
+                    String key = String.valueOf(keys[0]);
+                    return this.redisCommandsContainer
+                            .getBinaryAsyncCommands(key)
+                            .get(key)
+                            .thenApply(
+                                    result -> {
+                                        GenericRowData rowData =
+                                                createRowDataForBytes(keys, result);
+                                        if (cache != null && result != null) {
+                                            cache.put(key, rowData);
+                                        }
+                                        return Collections.singleton(rowData);
+                                    });
+                }
+                return this.redisCommandsContainer
                         .get(String.valueOf(keys[0]))
-                        .thenAccept(
-                                result -> {
-                                    GenericRowData rowData = createRowDataForString(keys, result);
-                                    resultFuture.complete(Collections.singleton(rowData));
-                                    if (cache != null && result != null) {
-                                        cache.put(String.valueOf(keys[0]), rowData);
-                                    }
-                                });
-
-                break;
+                        .thenApply(result -> createRowsForString(keys, result));
             case HGET:
                 if (loadAll) {
-                    loadAllElements(resultFuture, keys);
-                    return;
+                    return loadAllElements(keys);
+                }
+                if (redisValueDataStructure == RedisValueDataStructure.hash) {
+                    String key = String.valueOf(keys[0]);
+                    // HMGET needs a field at least.
+                    CompletionStage<GenericRowData> rowFuture =
+                            hashReadFields.length == 0
+                                    ? this.redisCommandsContainer
+                                            .exists(key)
+                                            .thenApply(count -> createRowDataForKey(keys, count))
+                                    : this.redisCommandsContainer
+                                            .hmget(key, hashReadFields)
+                                            .thenApply(
+                                                    values ->
+                                                            createRowDataForHashFields(
+                                                                    keys, values));
+                    return rowFuture.thenApply(
+                            rowData -> {
+                                if (cache != null && rowData.getField(0) != null) {
+                                    cache.put(key, rowData);
+                                }
+                                return Collections.singleton(rowData);
+                            });
+                }
+                if (isBinaryValue()) {
+                    String key = String.valueOf(keys[0]);
+                    return this.redisCommandsContainer
+                            .getBinaryAsyncCommands(key)
+                            .hget(key, String.valueOf(keys[1]))
+                            .thenApply(
+                                    result -> {
+                                        GenericRowData rowData =
+                                                createRowDataForBytes(keys, result);
+                                        if (cache != null && result != null) {
+                                            cache.put(
+                                                    new StringBuilder(key)
+                                                            .append(CACHE_SEPERATOR)
+                                                            .append(String.valueOf(keys[1]))
+                                                            .toString(),
+                                                    rowData);
+                                        }
+                                        return Collections.singleton(rowData);
+                                    });
                 }
 
-                this.redisCommandsContainer
+                return this.redisCommandsContainer
                         .hget(String.valueOf(keys[0]), String.valueOf(keys[1]))
-                        .thenAccept(
-                                result -> {
-                                    GenericRowData rowData = createRowDataForHash(keys, result);
-                                    resultFuture.complete(Collections.singleton(rowData));
-                                    if (cache != null && result != null) {
-                                        String key =
-                                                new StringBuilder(String.valueOf(keys[0]))
-                                                        .append(CACHE_SEPERATOR)
-                                                        .append(String.valueOf(keys[1]))
-                                                        .toString();
-                                        cache.put(key, rowData);
-                                    }
-                                });
-
-                break;
+                        .thenApply(result -> createRowsForString(keys, result));
             default:
+                return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+    }
+
+    /**
+     * query redis in the current batch, the batch is read with retries.
+     *
+     * @param keys
+     * @return
+     */
+    private CompletionStage<Collection<GenericRowData>> queryInBatch(Object... keys) {
+        CompletableFuture<String> value =
+                redisCommand == RedisCommand.GET
+                        ? getBatcher.add(String.valueOf(keys[0]))
+                        : hgetBatcher.add(
+                                Arrays.asList(String.valueOf(keys[0]), String.valueOf(keys[1])));
+        return value.thenApply(result -> createRowsForString(keys, result));
+    }
+
+    /**
+     * read the values of keys by one MGET.
+     *
+     * @param keys
+     * @return the values in the order of keys, null if the key is absent
+     */
+    private CompletionStage<List<String>> mget(List<String> keys) {
+        return this.redisCommandsContainer
+                .mget(keys.toArray(new String[0]))
+                .thenApply(
+                        values ->
+                                values.stream()
+                                        .map(value -> value.getValueOrElse(null))
+                                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * read the values of hash fields by one HMGET per key, so the lookups of the fields of a same
+     * key in the batch cost one command. The lookups of different keys still send one HMGET for
+     * every key.
+     *
+     * @param targets the keys and fields
+     * @return the values in the order of targets, null if the field is absent
+     */
+    private CompletionStage<List<String>> hmgetByKey(List<List<String>> targets) {
+        Map<String, List<String>> fieldsByKey = new LinkedHashMap<>();
+        for (List<String> target : targets) {
+            fieldsByKey.computeIfAbsent(target.get(0), k -> new ArrayList<>()).add(target.get(1));
+        }
+        Map<String, CompletableFuture<List<KeyValue<String, String>>>> futures =
+                new HashMap<>(fieldsByKey.size() * 2);
+        for (Map.Entry<String, List<String>> entry : fieldsByKey.entrySet()) {
+            futures.put(
+                    entry.getKey(),
+                    this.redisCommandsContainer
+                            .hmget(entry.getKey(), entry.getValue().toArray(new String[0]))
+                            .toCompletableFuture());
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .thenApply(
+                        v -> {
+                            // the fields of a key are replied in the order they were added.
+                            Map<String, Integer> nextIndexes = new HashMap<>(futures.size() * 2);
+                            List<String> values = new ArrayList<>(targets.size());
+                            for (List<String> target : targets) {
+                                int index = nextIndexes.merge(target.get(0), 1, Integer::sum) - 1;
+                                values.add(
+                                        futures.get(target.get(0))
+                                                .join()
+                                                .get(index)
+                                                .getValueOrElse(null));
+                            }
+                            return values;
+                        });
+    }
+
+    /**
+     * create the row for the value read as string by GET or HGET, and cache it when the value
+     * exists.
+     *
+     * @param keys
+     * @param value
+     * @return
+     */
+    private Collection<GenericRowData> createRowsForString(Object[] keys, String value) {
+        if (redisCommand == RedisCommand.GET) {
+            GenericRowData rowData = createRowDataForString(keys, value);
+            if (cache != null && value != null) {
+                cache.put(String.valueOf(keys[0]), rowData);
+            }
+            return Collections.singleton(rowData);
         }
+        GenericRowData rowData = createRowDataForHash(keys, value);
+        if (cache != null && value != null) {
+            String key =
+                    new StringBuilder(String.valueOf(keys[0]))
+                            .append(CACHE_SEPERATOR)
+                            .append(String.valueOf(keys[1]))
+                            .toString();
+            cache.put(key, rowData);
+        }
+        return Collections.singleton(rowData);
+    }
+
+    /**
+     * whether the concurrent lookups are read in batches.
+     *
+     * @return
+     */
+    private boolean isBatched() {
+        return batchSize > 1;
+    }
+
+    /**
+     * whether the value is read as bytes, to be decompressed or read by the format.
+     *
+     * @return
+     */
+    private boolean isBinaryValue() {
+        return valueDeserializer != null || valueCompression != RedisValueCompression.NONE;
     }
 
     /**
-     * load all element in memory from map.
+     * load all element in memory from map. The whole map may be big, so it is read on a pooled
+     * connection to not hold up the other lookups.
      *
      * @param keys
+     * @return
      */
-    private void loadAllElements(
-            CompletableFuture<Collection<GenericRowData>> resultFuture, Object... keys) {
-        this.redisCommandsContainer
-                .hgetAll(String.valueOf(keys[0]))
-                .thenAccept(
+    private CompletionStage<Collection<GenericRowData>> loadAllElements(Object... keys) {
+        return this.redisCommandsContainer
+                .executeOnPooledConnection(commands -> commands.hgetall(String.valueOf(keys[0])))
+                .thenApply(
                         map -> {
                             cache.put(String.valueOf(keys[0]), map);
-                            resultFuture.complete(
-                                    Collections.singleton(
-                                            createRowDataForHash(
-                                                    keys, map.get(String.valueOf(keys[1])))));
+                            return Collections.singleton(
+                                    createRowDataForHash(keys, map.get(String.valueOf(keys[1]))));
                         });
     }
 
@@ -220,14 +587,54 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
             }
             genericRowData.setField(0, keys[0]);
             genericRowData.setField(1, keys[1]);
-            genericRowData.setField(
-                    2,
-                    RedisRowConverter.dataTypeFromString(dataTypes.get(2).getLogicalType(), value));
+            genericRowData.setField(2, deserializers[2].deserialize(value));
             return genericRowData;
         }
         return createRowDataForRow(value);
     }
 
+    /**
+     * create row data for the fields read from hash, which are named by the columns. The columns
+     * not read are left null.
+     *
+     * @param keys
+     * @param values the values in the order of {@link #hashReadFields}
+     * @return
+     */
+    private GenericRowData createRowDataForHashFields(
+            Object[] keys, List<KeyValue<String, String>> values) {
+        GenericRowData genericRowData = new GenericRowData(dataTypes.size());
+        boolean found = false;
+        for (int i = 0; i < hashReadColumns.length; i++) {
+            KeyValue<String, String> value = values.get(i);
+            if (value.hasValue()) {
+                int column = hashReadColumns[i];
+                genericRowData.setField(
+                        column, deserializers[column].deserialize(value.getValue()));
+                found = true;
+            }
+        }
+        if (found) {
+            genericRowData.setField(0, keys[0]);
+        }
+        return genericRowData;
+    }
+
+    /**
+     * create row data for hash when just the key is read.
+     *
+     * @param keys
+     * @param count the number of keys existed
+     * @return
+     */
+    private GenericRowData createRowDataForKey(Object[] keys, Long count) {
+        GenericRowData genericRowData = new GenericRowData(dataTypes.size());
+        if (count != null && count > 0) {
+            genericRowData.setField(0, keys[0]);
+        }
+        return genericRowData;
+    }
+
     /**
      * create row data for string.
      *
@@ -241,9 +648,7 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
                 return genericRowData;
             }
             genericRowData.setField(0, keys[0]);
-            genericRowData.setField(
-                    1,
-                    RedisRowConverter.dataTypeFromString(dataTypes.get(1).getLogicalType(), value));
+            genericRowData.setField(1, deserializers[1].deserialize(value));
             return genericRowData;
         }
 
@@ -265,10 +670,7 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
         String[] values = value.split(CACHE_SEPERATOR);
         for (int i = 0; i < dataTypes.size(); i++) {
             if (i < values.length) {
-                genericRowData.setField(
-                        i,
-                        RedisRowConverter.dataTypeFromString(
-                                dataTypes.get(i).getLogicalType(), values[i]));
+                genericRowData.setField(i, deserializers[i].deserialize(values[i]));
             } else {
                 genericRowData.setField(i, null);
             }
@@ -276,13 +678,112 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
         return genericRowData;
     }
 
+    /**
+     * create row data for the value read as bytes, which is decompressed if it has the header of
+     * compression.
+     *
+     * @param keys
+     * @param value
+     * @return
+     */
+    private GenericRowData createRowDataForBytes(Object[] keys, byte[] value) {
+        if (valueCompressor != null) {
+            value = valueCompressor.decompress(value);
+        }
+        if (valueDeserializer != null) {
+            return createRowDataForFormat(value);
+        }
+        String string = value == null ? null : new String(value, StandardCharsets.UTF_8);
+        return redisCommand == RedisCommand.GET
+                ? createRowDataForString(keys, string)
+                : createRowDataForHash(keys, string);
+    }
+
+    /**
+     * create row data for whole row read by the format.
+     *
+     * @param value
+     * @return
+     */
+    private GenericRowData createRowDataForFormat(byte[] value) {
+        GenericRowData genericRowData = new GenericRowData(fieldGetters.length);
+        if (value == null) {
+            return genericRowData;
+        }
+        RowData rowData;
+        try {
+            rowData = valueDeserializer.deserialize(value);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize the value of redis.", e);
+        }
+        if (rowData == null) {
+            return genericRowData;
+        }
+        if (rowData instanceof GenericRowData) {
+            return (GenericRowData) rowData;
+        }
+        for (int i = 0; i < fieldGetters.length; i++) {
+            genericRowData.setField(i, fieldGetters[i].getFieldOrNull(rowData));
+        }
+        return genericRowData;
+    }
+
     @Override
     public void open(FunctionContext context) throws Exception {
         super.open(context);
+        if (valueDeserializer != null) {
+            valueDeserializer.open(
+                    new DeserializationSchema.InitializationContext() {
+                        @Override
+                        public MetricGroup getMetricGroup() {
+                            return context.getMetricGroup().addGroup("user");
+                        }
+
+                        @Override
+                        public UserCodeClassLoader getUserCodeClassLoader() {
+                            return SimpleUserCodeClassLoader.create(
+                                    Thread.currentThread().getContextClassLoader());
+                        }
+                    });
+            this.fieldGetters = new RowData.FieldGetter[dataTypes.size()];
+            for (int i = 0; i < fieldGetters.length; i++) {
+                fieldGetters[i] = RowData.createFieldGetter(dataTypes.get(i).getLogicalType(), i);
+            }
+        }
+        if (valueCompression != RedisValueCompression.NONE) {
+            // the min bytes are just for writing.
+            this.valueCompressor = new RedisValueCompressor(valueCompression, 0);
+        }
+        this.deserializers = RedisRowConverter.createDeserializers(dataTypes);
         try {
 
-            this.redisCommandsContainer = RedisCommandsContainerBuilder.build(this.flinkConfigBase);
+            this.redisCommandsContainer =
+                    RedisCommandsContainerBuilder.build(this.flinkConfigBase, true, readFrom);
             this.redisCommandsContainer.open();
+            this.retrier =
+                    new RedisAsyncRetrier(
+                            maxRetryTimes,
+                            retryOptions,
+                            true,
+                            this.redisCommandsContainer.getEventExecutor(),
+                            () -> {});
+            if (isBatched()) {
+                if (redisCommand == RedisCommand.GET) {
+                    this.getBatcher =
+                            new RedisLookupBatcher<>(
+                                    batchSize,
+                                    batchMaxDelay,
+                                    this.redisCommandsContainer.getEventExecutor(),
+                                    keys -> retrier.execute(() -> mget(keys)));
+                } else {
+                    this.hgetBatcher =
+                            new RedisLookupBatcher<>(
+                                    batchSize,
+                                    batchMaxDelay,
+                                    this.redisCommandsContainer.getEventExecutor(),
+                                    targets -> retrier.execute(() -> hmgetByKey(targets)));
+                }
+            }
             LOG.info("{} success to create redis container:{}", Thread.currentThread().getId());
         } catch (Exception e) {
             LOG.error("Redis has not been properly initialized: ", e);
@@ -300,6 +801,12 @@ public class RedisLookupFunction extends AsyncTableFunction<RowData> {
 
     @Override
     public void close() throws Exception {
+        if (getBatcher != null) {
+            getBatcher.close();
+        }
+        if (hgetBatcher != null) {
+            hgetBatcher.close();
+        }
         if (redisCommandsContainer != null) {
             redisCommandsContainer.close();
         }
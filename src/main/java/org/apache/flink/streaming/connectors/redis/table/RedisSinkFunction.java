@@ -1,37 +1,85 @@
 package org.apache.flink.streaming.connectors.redis.table;
 
-import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ExpireArgs;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 
+import org.apache.flink.api.common.serialization.RuntimeContextInitializationContextAdapters;
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.apache.flink.calcite.shaded.com.google.common.cache.Cache;
+import org.apache.flink.calcite.shaded.com.google.common.cache.CacheBuilder;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Meter;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
+import org.apache.flink.streaming.connectors.redis.common.buffer.RedisAccCombiner;
+import org.apache.flink.streaming.connectors.redis.common.buffer.RedisBatchBuffer;
+import org.apache.flink.streaming.connectors.redis.common.buffer.RedisUpsertBuffer;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisSinkOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueCompression;
 import org.apache.flink.streaming.connectors.redis.common.config.RedisValueDataStructure;
+import org.apache.flink.streaming.connectors.redis.common.container.RedisClusterContainer;
 import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainer;
 import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainerBuilder;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisBinaryRowConverter;
 import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter.RedisSerializationConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisValueCompressor;
+import org.apache.flink.streaming.connectors.redis.common.limit.RedisConcurrencyLimiter;
+import org.apache.flink.streaming.connectors.redis.common.limit.RedisDispatchClock;
+import org.apache.flink.streaming.connectors.redis.common.limit.RedisRateLimiter;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommandDescription;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisDataType;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisOperationType;
 import org.apache.flink.streaming.connectors.redis.common.mapper.RedisSinkMapper;
+import org.apache.flink.streaming.connectors.redis.common.retry.RedisAsyncRetrier;
+import org.apache.flink.streaming.connectors.redis.common.retry.RedisKeyOrderGuard;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * @param <IN>
  */
-public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
+public class RedisSinkFunction<IN> extends RichSinkFunction<IN> implements CheckpointedFunction {
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisSinkFunction.class);
 
@@ -43,6 +91,9 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
 
     protected int expireTimeSeconds = -1;
 
+    /** whether EXPIRE ... NX is supported by the server, which requires redis 7.0. */
+    private transient boolean expireNxSupported;
+
     private RedisSinkMapper<IN> redisSinkMapper;
     private RedisCommand redisCommand;
 
@@ -54,6 +105,126 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
 
     private RedisValueDataStructure redisValueDataStructure;
 
+    private final int bufferFlushMaxRows;
+
+    private final long bufferFlushInterval;
+
+    private transient int bufferedRows;
+
+    private transient volatile boolean closed;
+
+    /**
+     * whether a flush is sending the commands drained from the buffers, it releases the monitor of
+     * sink while waiting for the rate limiter.
+     */
+    private transient boolean flushing;
+
+    private transient ScheduledExecutorService scheduler;
+
+    private transient ScheduledFuture<?> scheduledFuture;
+
+    private final int maxInFlight;
+
+    private transient Semaphore inFlightPermits;
+
+    private transient AtomicReference<Throwable> asyncFailure;
+
+    private final boolean adaptiveConcurrency;
+
+    private final long adaptiveConcurrencyTargetLatency;
+
+    /** the adaptive limit of commands in flight, which is under {@code maxInFlight}. */
+    private transient RedisConcurrencyLimiter concurrencyLimiter;
+
+    /** the time when the commands are sent, the latency of {@code concurrencyLimiter} starts. */
+    private transient RedisDispatchClock dispatchClock;
+
+    private final boolean preAggregation;
+
+    private transient RedisAccCombiner accCombiner;
+
+    private final boolean upsertCompaction;
+
+    private transient RedisUpsertBuffer upsertBuffer;
+
+    private transient RedisBatchBuffer batchBuffer;
+
+    private final RedisRetryOptions retryOptions;
+
+    private transient RedisAsyncRetrier retrier;
+
+    /** retry the EXPIRE of keys apart from their commands, which may not be idempotent. */
+    private transient RedisAsyncRetrier ttlRetrier;
+
+    /** keep the writes of each key in order when they are retried, null if there is no retry. */
+    private transient RedisKeyOrderGuard orderGuard;
+
+    private final long rateLimitOpsPerSecond;
+
+    private transient RedisRateLimiter rateLimiter;
+
+    /** the ops taken from {@link #rateLimiter}, whose rate is the actual ops per second. */
+    private transient Meter rateLimitAcquiredOps;
+
+    /** whether the buffered commands are ordered by hash slot, just for redis cluster. */
+    private transient boolean slotAware;
+
+    private final long ttlRefreshInterval;
+
+    private final long ttlRefreshCacheMaxRows;
+
+    /** the keys whose ttl was set in the last {@code ttlRefreshInterval} milliseconds. */
+    private transient Cache<String, Boolean> ttlRefreshCache;
+
+    /** serialize the value of SET and HSET to bytes, null if the value is sent as string. */
+    private transient RedisBinaryRowConverter binaryRowConverter;
+
+    /** serialize the whole row to the value by {@code value.format}, null if no format is set. */
+    private final SerializationSchema<RowData> valueSerializer;
+
+    private final RedisValueCompression valueCompression;
+
+    private final int valueCompressionMinBytes;
+
+    /** compress the value of SET and HSET, null if the value is not compressed. */
+    private transient RedisValueCompressor valueCompressor;
+
+    /** the fields of hash named by the columns, the first is the key and not a field. */
+    private final String[] hashFields;
+
+    /**
+     * whether the UPDATE_AFTER row in hash structure just sends the fields changed from its
+     * UPDATE_BEFORE row. False when the keys expire, the hash may be gone before the UPDATE_AFTER
+     * row, so every row writes all its fields.
+     */
+    private transient boolean hashUpdateDiffEnabled;
+
+    /**
+     * the key and fields of the UPDATE_BEFORE row received just before, which is the before-image
+     * of the next row only if that is the UPDATE_AFTER row of the same key. An UPDATE_BEFORE row
+     * whose UPDATE_AFTER row goes to another subtask is dropped by the next row.
+     */
+    private transient String hashUpdateBeforeKey;
+
+    /** the fields of the UPDATE_BEFORE row, reused by every UPDATE_BEFORE row. */
+    private transient String[] hashUpdateBefore;
+
+    /** the fields of the row written to hash, reused by every row. */
+    private transient String[] hashValues;
+
+    /**
+     * the params of the rows whose value is serialized to bytes, reused by every row. The key and
+     * field are taken out of it before the command captures them, while the params of the other
+     * rows are kept by the buffers and the retries, so each of them has its own.
+     */
+    private transient String[] binaryParams;
+
+    /** the serializers of whole row, created once in open. */
+    private transient RedisSerializationConverter[] serializers;
+
+    /** the builder of whole row, reused for every row. */
+    private transient StringBuilder wholeRowBuilder;
+
     /**
      * Creates a new {@link RedisSinkFunction} that connects to the Redis server.
      *
@@ -66,11 +237,30 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
             RedisSinkMapper<IN> redisSinkMapper,
             RedisSinkOptions redisSinkOptions,
             ResolvedSchema resolvedSchema) {
+        this(flinkConfigBase, redisSinkMapper, redisSinkOptions, resolvedSchema, null);
+    }
+
+    /**
+     * Creates a new {@link RedisSinkFunction} that writes the whole row as value by the format.
+     *
+     * @param flinkConfigBase
+     * @param redisSinkMapper
+     * @param redisSinkOptions
+     * @param resolvedSchema
+     * @param valueSerializer the serializer of value, null if the value is not written by format
+     */
+    public RedisSinkFunction(
+            FlinkConfigBase flinkConfigBase,
+            RedisSinkMapper<IN> redisSinkMapper,
+            RedisSinkOptions redisSinkOptions,
+            ResolvedSchema resolvedSchema,
+            SerializationSchema<RowData> valueSerializer) {
         Objects.requireNonNull(flinkConfigBase, "Redis connection pool config should not be null");
         Objects.requireNonNull(redisSinkMapper, "Redis Mapper can not be null");
 
         this.flinkConfigBase = flinkConfigBase;
         this.maxRetryTimes = redisSinkOptions.getMaxRetryTimes();
+        this.retryOptions = redisSinkOptions.getRetryOptions();
         this.redisSinkMapper = redisSinkMapper;
         RedisCommandDescription redisCommandDescription =
                 (RedisCommandDescription) redisSinkMapper.getCommandDescription();
@@ -86,13 +276,97 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
         }
 
         this.columnDataTypes = resolvedSchema.getColumnDataTypes();
+        this.hashFields = resolvedSchema.getColumnNames().toArray(new String[0]);
         this.redisValueDataStructure = redisSinkOptions.getRedisValueDataStructure();
+        this.bufferFlushMaxRows = redisSinkOptions.getBufferFlushMaxRows();
+        this.bufferFlushInterval = redisSinkOptions.getBufferFlushInterval();
+        Preconditions.checkArgument(
+                bufferFlushMaxRows >= 0 && bufferFlushInterval >= 0,
+                "the max rows and interval of buffer flush can not be negative");
+        this.maxInFlight = redisSinkOptions.getMaxInFlight();
+        Preconditions.checkArgument(
+                maxInFlight > 0, "the max in flight of sink must be more than 0");
+        this.adaptiveConcurrency = redisSinkOptions.isAdaptiveConcurrency();
+        this.adaptiveConcurrencyTargetLatency =
+                redisSinkOptions.getAdaptiveConcurrencyTargetLatency();
+        this.preAggregation = redisSinkOptions.isPreAggregation();
+        if (preAggregation) {
+            Preconditions.checkArgument(
+                    redisCommand.getRedisOperationType() == RedisOperationType.ACC,
+                    "the pre aggregation just support ACC commands, but the command is %s",
+                    redisCommand.name());
+            Preconditions.checkArgument(
+                    isBuffered(),
+                    "the max rows or interval of buffer flush must be set when pre aggregation is enabled");
+        }
+        this.upsertCompaction = redisSinkOptions.isUpsertCompaction();
+        if (upsertCompaction) {
+            Preconditions.checkArgument(
+                    RedisUpsertBuffer.isSupported(redisCommand) && !setIfAbsent,
+                    "the upsert compaction just support set, hset, sadd and zadd without set.if.absent, but the command is %s",
+                    redisCommand.name());
+            Preconditions.checkArgument(
+                    isBuffered(),
+                    "the max rows or interval of buffer flush must be set when upsert compaction is enabled");
+        }
+        this.rateLimitOpsPerSecond = redisSinkOptions.getRateLimitOpsPerSecond();
+        Preconditions.checkArgument(
+                rateLimitOpsPerSecond >= 0, "the rate limit of sink can not be negative");
+        this.ttlRefreshInterval = redisSinkOptions.getTtlRefreshInterval();
+        this.ttlRefreshCacheMaxRows = redisSinkOptions.getTtlRefreshCacheMaxRows();
+        if (ttlRefreshInterval > 0) {
+            Preconditions.checkArgument(
+                    ttl == null || ttlRefreshInterval < ttl * 1000L,
+                    "the ttl refresh interval must be less than ttl, or the key may expire");
+            Preconditions.checkArgument(
+                    ttlRefreshCacheMaxRows > 0,
+                    "the max rows of ttl refresh cache must be more than 0");
+        }
         if (redisValueDataStructure == RedisValueDataStructure.row) {
             Preconditions.checkArgument(
                     this.redisCommand.getRedisOperationType() == RedisOperationType.INSERT,
                     "the value data structure cant be row when command is %s",
                     this.redisCommand.name());
         }
+        if (redisValueDataStructure == RedisValueDataStructure.hash) {
+            Preconditions.checkArgument(
+                    redisCommand == RedisCommand.HSET && !setIfAbsent,
+                    "the value data structure hash just support hset without set.if.absent, but the command is %s",
+                    redisCommand.name());
+            // the buffered rows are merged by a single field.
+            Preconditions.checkArgument(
+                    !isBuffered(),
+                    "the value data structure hash is not supported when the buffer flush is set");
+            Preconditions.checkArgument(
+                    hashFields.length > 1,
+                    "the value data structure hash needs at least one column besides the key");
+        }
+        this.valueSerializer = valueSerializer;
+        if (valueSerializer != null) {
+            Preconditions.checkArgument(
+                    redisValueDataStructure == RedisValueDataStructure.row
+                            && (redisCommand == RedisCommand.SET
+                                    || redisCommand == RedisCommand.HSET),
+                    "value.format just support set and hset when value.data.structure is row, but the command is %s",
+                    redisCommand.name());
+            // the buffered rows are merged by their string params.
+            Preconditions.checkArgument(
+                    !isBuffered(), "value.format is not supported when the buffer flush is set");
+        }
+        this.valueCompression = redisSinkOptions.getValueCompression();
+        this.valueCompressionMinBytes = redisSinkOptions.getValueCompressionMinBytes();
+        if (valueCompression != RedisValueCompression.NONE) {
+            // the values are compressed on the way of bytes, which is not taken by buffered rows.
+            Preconditions.checkArgument(
+                    (redisCommand == RedisCommand.SET || redisCommand == RedisCommand.HSET)
+                            && redisValueDataStructure != RedisValueDataStructure.hash
+                            && !isBuffered(),
+                    "value.compression just support set and hset without the buffer flush and the value data structure hash, but the command is %s",
+                    redisCommand.name());
+            Preconditions.checkArgument(
+                    valueCompressionMinBytes >= 0,
+                    "the min bytes of value compression can not be negative");
+        }
     }
 
     /**
@@ -104,14 +378,27 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
      */
     @Override
     public void invoke(IN input, Context context) throws Exception {
+        checkAsyncFailure();
+
         RowData rowData = (RowData) input;
         RowKind kind = rowData.getRowKind();
+        if (redisValueDataStructure == RedisValueDataStructure.hash) {
+            invokeHash(rowData, kind);
+            return;
+        }
         if (kind == RowKind.UPDATE_BEFORE) {
             return;
         }
 
-        String[] params = new String[calcParamNumByCommand()];
-        for (int i = 0; i < params.length; i++) {
+        byte[] value =
+                binaryRowConverter != null && kind != RowKind.DELETE
+                        ? serializeValue(rowData, binaryParams.length - 1)
+                        : null;
+        String[] params =
+                value != null ? binaryParams : new String[calcParamNumByCommand(redisCommand)];
+        boolean wholeRow = redisValueDataStructure == RedisValueDataStructure.row;
+        int stringParams = value != null || wholeRow ? params.length - 1 : params.length;
+        for (int i = 0; i < stringParams; i++) {
             params[i] =
                     redisSinkMapper.getKeyFromData(
                             rowData, columnDataTypes.get(i).getLogicalType(), i);
@@ -119,53 +406,528 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
 
         // the value is taken from the entire row when redisValueFromType is row, and columns
         // separated by '\01'
-        if (redisValueDataStructure == RedisValueDataStructure.row) {
-            params[params.length - 1] = serializeWholeRow(rowData);
+        if (value == null && wholeRow) {
+            params[params.length - 1] = serializeWholeRow(rowData, serializers, wholeRowBuilder);
         }
 
-        startSink(params, kind);
+        if (isBuffered()) {
+            synchronized (this) {
+                if (accCombiner != null) {
+                    // retraction is folded in as negative delta.
+                    accCombiner.add(params, kind == RowKind.DELETE);
+                } else if (upsertBuffer != null) {
+                    upsertBuffer.add(params, kind);
+                } else if (batchBuffer != null) {
+                    batchBuffer.add(params, kind);
+                } else {
+                    startSink(params, null, kind);
+                }
+                bufferedRows++;
+                if (bufferFlushMaxRows > 0 && bufferedRows >= bufferFlushMaxRows) {
+                    flush();
+                }
+            }
+        } else {
+            startSink(params, value, kind);
+        }
     }
 
     /**
-     * It will try many times which less than {@code maxRetryTimes} until execute success.
+     * write the row as the fields of hash. The row deleted removes the key, the UPDATE_AFTER row
+     * just sends the fields changed from its UPDATE_BEFORE row unless the keys expire, and the
+     * null fields are removed from the hash.
      *
-     * @param params
+     * @param rowData
+     * @param kind
      * @throws Exception
      */
-    private void startSink(String[] params, RowKind kind) throws Exception {
-        for (int i = 0; i <= maxRetryTimes; i++) {
-            try {
-                RedisFuture redisFuture = null;
-                if (kind == RowKind.DELETE) {
-                    redisFuture = rowKindDelete(params);
+    private void invokeHash(RowData rowData, RowKind kind) throws Exception {
+        String key =
+                redisSinkMapper.getKeyFromData(rowData, columnDataTypes.get(0).getLogicalType(), 0);
+        // the UPDATE_BEFORE row kept is trusted by the row just after it only.
+        String[] before =
+                kind == RowKind.UPDATE_AFTER && key.equals(hashUpdateBeforeKey)
+                        ? hashUpdateBefore
+                        : null;
+        hashUpdateBeforeKey = null;
+        if (kind == RowKind.UPDATE_BEFORE) {
+            if (hashUpdateDiffEnabled) {
+                hashUpdateBeforeKey = key;
+                serializeHashFields(rowData, hashUpdateBefore);
+            }
+            return;
+        }
+        if (kind == RowKind.DELETE) {
+            if (ttlRefreshCache != null) {
+                ttlRefreshCache.invalidate(key);
+            }
+            startSink(
+                    () -> redisCommandsContainer.del(key),
+                    Collections.singletonList(key),
+                    false,
+                    1);
+            return;
+        }
+
+        // the changed fields are copied out of the holder before they are captured.
+        String[] values = serializeHashFields(rowData, hashValues);
+        Map<String, String> changedFields = new LinkedHashMap<>();
+        List<String> removedFields = new ArrayList<>();
+        for (int i = 1; i < values.length; i++) {
+            if (before != null && Objects.equals(before[i], values[i])) {
+                continue;
+            }
+            if (values[i] == null) {
+                removedFields.add(hashFields[i]);
+            } else {
+                changedFields.put(hashFields[i], values[i]);
+            }
+        }
+        if (changedFields.isEmpty() && removedFields.isEmpty()) {
+            return;
+        }
+        startSink(
+                () -> sinkHash(key, changedFields, removedFields),
+                Collections.singletonList(key),
+                true,
+                1);
+    }
+
+    /**
+     * serialize the fields of row for hash.
+     *
+     * @param rowData
+     * @param values the holder of fields
+     * @return the holder, null for the null field
+     */
+    private String[] serializeHashFields(RowData rowData, String[] values) {
+        for (int i = 1; i < values.length; i++) {
+            values[i] = RedisRowConverter.rowDataToString(serializers[i], rowData, i);
+        }
+        return values;
+    }
+
+    /**
+     * set the changed fields of hash in one HSET, and remove the null fields in one HDEL.
+     *
+     * @param key
+     * @param changedFields
+     * @param removedFields
+     * @return
+     */
+    private CompletionStage<?> sinkHash(
+            String key, Map<String, String> changedFields, List<String> removedFields) {
+        CompletionStage<?> redisFuture = null;
+        if (!changedFields.isEmpty()) {
+            redisFuture = this.redisCommandsContainer.hset(key, changedFields);
+        }
+        if (!removedFields.isEmpty()) {
+            CompletionStage<?> hdelFuture =
+                    this.redisCommandsContainer.hdel(key, removedFields.toArray(new String[0]));
+            // the commands on the same key are pipelined in order.
+            redisFuture =
+                    redisFuture == null
+                            ? hdelFuture
+                            : redisFuture.thenCombine(hdelFuture, (r, d) -> r);
+        }
+        return redisFuture;
+    }
+
+    /**
+     * serialize the value of row to bytes.
+     *
+     * @param rowData
+     * @param valueIndex
+     * @return null if the value is null
+     */
+    private byte[] serializeValue(RowData rowData, int valueIndex) {
+        byte[] value;
+        if (valueSerializer != null) {
+            value = valueSerializer.serialize(rowData);
+        } else if (redisValueDataStructure == RedisValueDataStructure.row) {
+            value = binaryRowConverter.wholeRowToBytes(rowData);
+        } else {
+            value = binaryRowConverter.toBytes(rowData, valueIndex);
+        }
+        return valueCompressor == null ? value : valueCompressor.compress(value);
+    }
+
+    /**
+     * whether commands are queued on the connection and sent as one pipeline.
+     *
+     * @return
+     */
+    private boolean isBuffered() {
+        return bufferFlushMaxRows > 0 || bufferFlushInterval > 0;
+    }
+
+    /**
+     * send the queued commands to redis, the combined, compacted or batched commands are sent
+     * first.
+     *
+     * @throws Exception
+     */
+    private synchronized void flush() throws Exception {
+        // the flush waiting for the rate limiter is not overtaken, to keep the order of commands.
+        while (flushing) {
+            wait();
+        }
+        if (bufferedRows == 0) {
+            return;
+        }
+        bufferedRows = 0;
+        flushing = true;
+        try {
+            sendBuffered();
+        } finally {
+            flushing = false;
+            notifyAll();
+        }
+    }
+
+    /**
+     * send the rows drained from the buffers.
+     *
+     * @throws Exception
+     */
+    private void sendBuffered() throws Exception {
+        if (accCombiner != null) {
+            List<String[]> combined = accCombiner.drain();
+            if (slotAware) {
+                combined.sort(Comparator.comparingInt(params -> SlotHash.getSlot(params[0])));
+            }
+            for (String[] params : combined) {
+                startSink(params, RowKind.INSERT);
+            }
+        }
+        if (upsertBuffer != null) {
+            for (RedisUpsertBuffer.Entry entry : upsertBuffer.drain()) {
+                if (batchBuffer != null) {
+                    batchBuffer.add(entry.getParams(), entry.getKind());
                 } else {
-                    redisFuture = sink(params);
+                    startSink(entry.getParams(), entry.getKind());
                 }
+            }
+        }
+        if (batchBuffer != null) {
+            for (RedisBatchBuffer.Batch batch : batchBuffer.drain()) {
+                startBatchSink(batch);
+            }
+        }
+        flushCommands();
+    }
 
-                if (redisFuture != null) {
-                    redisFuture.whenComplete((r, t) -> setTtl(params[0]));
-                }
+    /** send the commands issued by a completion callback when commands are queued. */
+    private void flushIfBuffered() {
+        if (isBuffered()) {
+            flushCommands();
+        }
+    }
 
-                break;
-            } catch (UnsupportedOperationException e) {
+    /** send the commands queued on the connection, they are sent to redis from now on. */
+    private void flushCommands() {
+        if (dispatchClock != null) {
+            dispatchClock.flushed();
+        }
+        this.redisCommandsContainer.flushCommands();
+    }
+
+    /**
+     * rethrow the first failure of the commands that have been sent to redis.
+     *
+     * @throws IOException
+     */
+    private void checkAsyncFailure() throws IOException {
+        Throwable failure = asyncFailure.getAndSet(null);
+        if (failure != null) {
+            throw new IOException("Writing records to redis failed.", failure);
+        }
+    }
+
+    /**
+     * take a permit for a new row, the rows which are queued on the connection will be sent to
+     * redis before waiting for a permit, otherwise they never complete.
+     *
+     * @throws InterruptedException
+     */
+    private void acquirePermit() throws InterruptedException {
+        if (!inFlightPermits.tryAcquire()) {
+            flushIfBuffered();
+            inFlightPermits.acquire();
+        }
+        if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+            flushIfBuffered();
+            try {
+                concurrencyLimiter.acquire();
+            } catch (InterruptedException e) {
+                inFlightPermits.release();
                 throw e;
-            } catch (Exception e1) {
-                LOG.error("sink redis error, retry times:{}", i, e1);
-                if (i >= this.maxRetryTimes) {
-                    throw new RuntimeException("sink redis error ", e1);
+            }
+        }
+    }
+
+    /** release the permit of row which is not sent. */
+    private void releasePermit() {
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.release();
+        }
+        inFlightPermits.release();
+    }
+
+    /**
+     * issue the commands of row, and release its permit when all of them are completed.
+     *
+     * <p>The latency of commands is measured from when they are sent to redis, the commands queued
+     * on the connection are sent by the next flush.
+     *
+     * @param command issue the commands and return their future
+     * @param write the write registered in {@link #orderGuard}, null if there is no guard
+     */
+    private void trackInFlight(
+            Supplier<CompletionStage<?>> command, RedisKeyOrderGuard.Write write) {
+        RedisDispatchClock.Dispatch dispatch = dispatchClock == null ? null : dispatchClock.next();
+        command.get()
+                .whenComplete(
+                        (r, t) -> {
+                            if (t != null) {
+                                LOG.error("sink redis error", t);
+                                asyncFailure.compareAndSet(null, t);
+                            }
+                            if (write != null) {
+                                orderGuard.complete(write);
+                            }
+                            if (dispatch != null) {
+                                concurrencyLimiter.release(dispatch.getSentNanos(), t != null);
+                            }
+                            inFlightPermits.release();
+                        });
+    }
+
+    /**
+     * wait until all the commands which have been sent to redis are completed.
+     *
+     * @throws Exception
+     */
+    private void waitForPendingWrites() throws Exception {
+        if (isBuffered()) {
+            flush();
+        }
+        inFlightPermits.acquire(maxInFlight);
+        inFlightPermits.release(maxInFlight);
+    }
+
+    /**
+     * send the row to redis.
+     *
+     * @param params
+     * @param kind
+     * @throws Exception
+     */
+    private void startSink(String[] params, RowKind kind) throws Exception {
+        startSink(params, null, kind);
+    }
+
+    /**
+     * send the row to redis.
+     *
+     * @param params
+     * @param value the value serialized to bytes, null if it is the last of params
+     * @param kind
+     * @throws Exception
+     */
+    private void startSink(String[] params, byte[] value, RowKind kind) throws Exception {
+        if (kind == RowKind.DELETE && ttlRefreshCache != null) {
+            // the key may be removed, its ttl has to be set again.
+            ttlRefreshCache.invalidate(params[0]);
+        }
+        String key = params[0];
+        Supplier<CompletionStage<?>> command;
+        if (value != null) {
+            // the params may be reused by the next row.
+            String field = redisCommand == RedisCommand.HSET ? params[1] : null;
+            command = () -> sinkBinary(key, field, value);
+        } else {
+            command = () -> kind == RowKind.DELETE ? rowKindDelete(params) : sink(params);
+        }
+        startSink(
+                command,
+                Collections.singletonList(key),
+                kind == RowKind.DELETE || !isTtlInSet(),
+                1);
+    }
+
+    /**
+     * send the rows of batch as one multi-element command, the batch of one row is sent as usual.
+     *
+     * @param batch
+     * @throws Exception
+     */
+    private void startBatchSink(RedisBatchBuffer.Batch batch) throws Exception {
+        List<String[]> rows = batch.getRows();
+        if (rows.size() == 1) {
+            startSink(rows.get(0), batch.isDelete() ? RowKind.DELETE : RowKind.INSERT);
+            return;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (String[] params : rows) {
+            keys.add(params[0]);
+        }
+        if (batch.isDelete() && ttlRefreshCache != null) {
+            ttlRefreshCache.invalidateAll(keys);
+        }
+        // the rows merged into one command still cost redis one op each.
+        startSink(() -> sinkBatch(rows, batch.isDelete()), keys, true, rows.size());
+    }
+
+    /**
+     * send the command, it will try many times which less than {@code maxRetryTimes} until execute
+     * success, the retries are scheduled by {@link RedisAsyncRetrier} without blocking the task.
+     *
+     * <p>When the rate limit is reached, the task waits for the rate limiter before sending the
+     * command, so no throttled command piles up to delay the checkpoint, and the sink is
+     * backpressured at once. A flush waits between the commands of buffers without holding the
+     * monitor of sink, so the rows are still buffered and the timer is not stalled, but the flush
+     * on a full buffer or on checkpoint lasts until all the buffered ops are permitted.
+     *
+     * @param command issue the command and return its future
+     * @param keys the keys written by the command
+     * @param ttl whether the ttl is set for the keys
+     * @param ops the number of ops taken from the rate limiter
+     * @throws Exception
+     */
+    private void startSink(
+            Supplier<CompletionStage<?>> command, Collection<String> keys, boolean ttl, int ops)
+            throws Exception {
+        acquirePermit();
+        boolean tracked = false;
+        try {
+            if (rateLimiter != null) {
+                long delayNanos = rateLimiter.reserve(ops);
+                if (delayNanos > 0) {
+                    // the commands queued on the connection are sent before waiting.
+                    flushIfBuffered();
+                    awaitRateLimit(delayNanos);
                 }
-                Thread.sleep(500 * i);
+                rateLimitAcquiredOps.markEvent(ops);
+            }
+            dispatch(command, keys, ttl);
+            tracked = true;
+        } finally {
+            if (!tracked) {
+                releasePermit();
             }
         }
     }
 
+    /**
+     * wait for the ops reserved from the rate limiter. The monitor of sink is released while
+     * waiting in a flush, the next flush waits for this one to complete.
+     *
+     * @param delayNanos
+     * @throws InterruptedException
+     */
+    private void awaitRateLimit(long delayNanos) throws InterruptedException {
+        if (!flushing || !Thread.holdsLock(this)) {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+            return;
+        }
+        long deadline = System.nanoTime() + delayNanos;
+        for (long remaining = delayNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+    }
+
+    /**
+     * send the command, or hold it until the retried writes of its keys complete.
+     *
+     * @param command issue the command and return its future
+     * @param keys the keys written by the command
+     * @param ttl whether the ttl is set for the keys
+     */
+    private void dispatch(
+            Supplier<CompletionStage<?>> command, Collection<String> keys, boolean ttl) {
+        if (orderGuard == null) {
+            trackInFlight(() -> execute(command, keys, ttl, null), null);
+            return;
+        }
+
+        RedisKeyOrderGuard.Write write = orderGuard.register(keys);
+        if (write.getBarrier() == null) {
+            trackInFlight(() -> execute(command, keys, ttl, write), write);
+            return;
+        }
+        write.getBarrier()
+                .whenComplete(
+                        (r, t) -> {
+                            orderGuard.sent(write);
+                            trackInFlight(() -> execute(command, keys, ttl, write), write);
+                            flushIfBuffered();
+                        });
+    }
+
+    /**
+     * issue the command and set the ttl of keys, retry the command and the EXPIRE apart when they
+     * fail, so that a failed EXPIRE does not send a command like RPUSH or INCRBY again.
+     *
+     * @param command issue the command and return its future
+     * @param keys the keys written by the command
+     * @param ttl whether the ttl is set for the keys
+     * @param write the write registered in {@link #orderGuard}, null if there is no guard
+     * @return
+     */
+    private CompletionStage<?> execute(
+            Supplier<CompletionStage<?>> command,
+            Collection<String> keys,
+            boolean ttl,
+            RedisKeyOrderGuard.Write write) {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<?> commandFuture =
+                retrier.execute(
+                        () -> {
+                            attempts.incrementAndGet();
+                            CompletionStage<?> future = command.get();
+                            return future == null
+                                    ? CompletableFuture.completedFuture(null)
+                                    : future;
+                        },
+                        write == null ? () -> true : () -> orderGuard.retry(write));
+        if (!ttl || (this.ttl == null && expireTimeSeconds == -1)) {
+            return commandFuture;
+        }
+
+        // commands on the same key are pipelined in order, so the EXPIRE is sent with the first
+        // attempt without waiting. It is sent again after a retried command, which it may precede.
+        List<CompletionStage<Boolean>> pipelined = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            pipelined.add(setTtl(key));
+        }
+        return commandFuture.thenCompose(
+                r -> {
+                    boolean retried = attempts.get() > 1;
+                    CompletableFuture<?>[] ttlFutures = new CompletableFuture<?>[keys.size()];
+                    int i = 0;
+                    for (String key : keys) {
+                        ttlFutures[i] =
+                                ttlRetrier.retry(
+                                        retried ? setTtl(key) : pipelined.get(i),
+                                        () -> setTtl(key));
+                        i++;
+                    }
+                    if (retried) {
+                        flushIfBuffered();
+                    }
+                    return CompletableFuture.allOf(ttlFutures);
+                });
+    }
+
     /**
      * process redis command.
      *
      * @param params
      */
-    private RedisFuture sink(String[] params) {
-        RedisFuture redisFuture = null;
+    private CompletionStage<?> sink(String[] params) {
+        CompletionStage<?> redisFuture = null;
         switch (redisCommand) {
             case RPUSH:
                 redisFuture = this.redisCommandsContainer.rpush(params[0], params[1]);
@@ -178,16 +940,19 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
                 break;
             case SET:
                 {
-                    if (!this.setIfAbsent) {
-                        redisFuture = this.redisCommandsContainer.set(params[0], params[1]);
+                    if (this.setIfAbsent) {
+                        // the new key gets its ttl atomically, setTtl still applies to the
+                        // existing key.
+                        SetArgs setArgs =
+                                ttl != null ? SetArgs.Builder.nx().ex(ttl) : SetArgs.Builder.nx();
+                        redisFuture =
+                                this.redisCommandsContainer.set(params[0], params[1], setArgs);
+                    } else if (isTtlInSet()) {
+                        redisFuture =
+                                this.redisCommandsContainer.set(
+                                        params[0], params[1], SetArgs.Builder.ex(ttl));
                     } else {
-                        redisFuture = this.redisCommandsContainer.exists(params[0]);
-                        redisFuture.whenComplete(
-                                (existsVal, throwable) -> {
-                                    if ((int) existsVal == 0) {
-                                        this.redisCommandsContainer.set(params[0], params[1]);
-                                    }
-                                });
+                        redisFuture = this.redisCommandsContainer.set(params[0], params[1]);
                     }
                 }
                 break;
@@ -215,14 +980,8 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
                         redisFuture =
                                 this.redisCommandsContainer.hset(params[0], params[1], params[2]);
                     } else {
-                        redisFuture = this.redisCommandsContainer.hexists(params[0], params[1]);
-                        redisFuture.whenComplete(
-                                (exist, throwable) -> {
-                                    if (!(Boolean) exist) {
-                                        this.redisCommandsContainer.hset(
-                                                params[0], params[1], params[2]);
-                                    }
-                                });
+                        redisFuture =
+                                this.redisCommandsContainer.hsetnx(params[0], params[1], params[2]);
                     }
                 }
                 break;
@@ -262,13 +1021,99 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
         return redisFuture;
     }
 
+    /**
+     * process SET and HSET whose value is serialized to bytes.
+     *
+     * @param key
+     * @param field the field of HSET, null for SET
+     * @param value
+     */
+    private CompletionStage<?> sinkBinary(String key, String field, byte[] value) {
+        RedisClusterAsyncCommands<String, byte[]> commands =
+                this.redisCommandsContainer.getBinaryAsyncCommands(key);
+        if (redisCommand == RedisCommand.HSET) {
+            return this.setIfAbsent
+                    ? commands.hsetnx(key, field, value)
+                    : commands.hset(key, field, value);
+        }
+
+        if (this.setIfAbsent) {
+            SetArgs setArgs = ttl != null ? SetArgs.Builder.nx().ex(ttl) : SetArgs.Builder.nx();
+            return commands.set(key, value, setArgs);
+        } else if (isTtlInSet()) {
+            return commands.set(key, value, SetArgs.Builder.ex(ttl));
+        }
+        return commands.set(key, value);
+    }
+
+    /**
+     * process the rows of the same key (or the rows of SET) with one multi-element command.
+     *
+     * @param rows
+     * @param delete
+     */
+    private CompletionStage<?> sinkBatch(List<String[]> rows, boolean delete) {
+        String key = rows.get(0)[0];
+        if (delete) {
+            // just the deletes of SADD are batched.
+            return this.redisCommandsContainer.srem(key, valuesOf(rows, 1));
+        }
+
+        switch (redisCommand) {
+            case SET:
+                {
+                    Map<String, String> map = new LinkedHashMap<>();
+                    for (String[] params : rows) {
+                        map.put(params[0], params[1]);
+                    }
+                    return this.redisCommandsContainer.mset(map);
+                }
+            case HSET:
+                {
+                    Map<String, String> map = new LinkedHashMap<>();
+                    for (String[] params : rows) {
+                        map.put(params[1], params[2]);
+                    }
+                    return this.redisCommandsContainer.hset(key, map);
+                }
+            case SADD:
+                return this.redisCommandsContainer.sadd(key, valuesOf(rows, 1));
+            case RPUSH:
+                return this.redisCommandsContainer.rpush(key, valuesOf(rows, 1));
+            case LPUSH:
+                return this.redisCommandsContainer.lpush(key, valuesOf(rows, 1));
+            case PFADD:
+                return this.redisCommandsContainer.pfadd(key, valuesOf(rows, 1));
+            case ZADD:
+                {
+                    ScoredValue<String>[] scoredValues = new ScoredValue[rows.size()];
+                    for (int i = 0; i < scoredValues.length; i++) {
+                        String[] params = rows.get(i);
+                        scoredValues[i] = ScoredValue.just(Double.valueOf(params[1]), params[2]);
+                    }
+                    return this.redisCommandsContainer.zadd(key, scoredValues);
+                }
+            default:
+                throw new UnsupportedOperationException(
+                        "Cannot batch such data type: " + redisCommand);
+        }
+    }
+
+    private static String[] valuesOf(List<String[]> rows, int index) {
+        String[] values = new String[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rows.get(i)[index];
+        }
+        return values;
+    }
+
     /**
      * process redis command when RowKind == DELETE.
      *
      * @param params
      */
-    private RedisFuture rowKindDelete(String[] params) {
-        RedisFuture redisFuture = null;
+    private CompletionStage<?> rowKindDelete(String[] params) {
+        CompletionStage<?> redisFuture = null;
         switch (redisCommand) {
             case SADD:
                 redisFuture = this.redisCommandsContainer.srem(params[0], params[1]);
@@ -316,63 +1161,155 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
         return redisFuture;
     }
 
+    /**
+     * the number of connections of the container.
+     *
+     * @return
+     */
+    private int connectionCount() {
+        return flinkConfigBase.getLettuceConfig() == null
+                ? 1
+                : flinkConfigBase.getLettuceConfig().getConnectionCount();
+    }
+
+    /**
+     * whether the ttl is set by SET ... EX, so no EXPIRE is needed.
+     *
+     * @return
+     */
+    private boolean isTtlInSet() {
+        return redisCommand == RedisCommand.SET && !setIfAbsent && ttl != null && !ttlKeyNotAbsent;
+    }
+
     /**
      * set ttl for key.
      *
      * @param key
+     * @return the future completed when the ttl has been set, whose value is null if no EXPIRE is
+     *     sent.
      */
-    private void setTtl(String key) {
+    private CompletionStage<Boolean> setTtl(String key) {
         if (redisCommand == RedisCommand.DEL) {
-            return;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (ttlRefreshCache != null && ttlRefreshCache.getIfPresent(key) != null) {
+            return CompletableFuture.completedFuture(null);
         }
 
         if (ttl != null) {
             if (ttlKeyNotAbsent) {
                 // set ttl when key not absent
-                this.redisCommandsContainer
+                if (expireNxSupported) {
+                    return expire(key, ttl, true);
+                }
+                return this.redisCommandsContainer
                         .getTTL(key)
-                        .whenComplete(
-                                (t, h) -> {
-                                    if (t < 0) {
-                                        this.redisCommandsContainer.expire(key, ttl);
+                        .thenCompose(
+                                t -> {
+                                    if (t >= 0) {
+                                        return CompletableFuture.completedFuture(null);
                                     }
+                                    CompletionStage<Boolean> expireFuture = expire(key, ttl, false);
+                                    flushIfBuffered();
+                                    return expireFuture;
                                 });
             } else {
                 // set ttl every sink
-                this.redisCommandsContainer.expire(key, ttl);
+                return expire(key, ttl, false);
             }
         } else if (expireTimeSeconds != -1) {
-            this.redisCommandsContainer
+            if (expireNxSupported) {
+                return expire(key, secondsToExpireTime(), true);
+            }
+            return this.redisCommandsContainer
                     .getTTL(key)
-                    .whenComplete(
-                            (t, h) -> {
-                                if (t < 0) {
-                                    int now = LocalTime.now().toSecondOfDay();
-                                    this.redisCommandsContainer.expire(
-                                            key,
-                                            expireTimeSeconds > now
-                                                    ? expireTimeSeconds - now
-                                                    : 86400 + expireTimeSeconds - now);
+                    .thenCompose(
+                            t -> {
+                                if (t >= 0) {
+                                    return CompletableFuture.completedFuture(null);
                                 }
+                                CompletionStage<Boolean> expireFuture =
+                                        expire(key, secondsToExpireTime(), false);
+                                flushIfBuffered();
+                                return expireFuture;
                             });
-        } else if (ttl != null) {
-            this.redisCommandsContainer.expire(key, ttl);
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * expire the key, the key is skipped by {@link #ttlRefreshCache} only when redis replies that
+     * the ttl has been set, it is not when the key is missing or the NX ttl is kept.
+     *
+     * @param key
+     * @param seconds
+     * @param nx whether the ttl is set only when the key has no ttl
+     * @return
+     */
+    private CompletionStage<Boolean> expire(String key, int seconds, boolean nx) {
+        CompletionStage<Boolean> expireFuture =
+                nx
+                        ? this.redisCommandsContainer.expire(key, seconds, ExpireArgs.Builder.nx())
+                        : this.redisCommandsContainer.expire(key, seconds);
+        if (ttlRefreshCache == null) {
+            return expireFuture;
+        }
+        return expireFuture.thenApply(
+                applied -> {
+                    if (Boolean.TRUE.equals(applied)) {
+                        ttlRefreshCache.put(key, Boolean.TRUE);
+                    }
+                    return applied;
+                });
+    }
+
+    /**
+     * the seconds from now to the next expire time of day.
+     *
+     * @return
+     */
+    private int secondsToExpireTime() {
+        int now = LocalTime.now().toSecondOfDay();
+        return expireTimeSeconds > now ? expireTimeSeconds - now : 86400 + expireTimeSeconds - now;
+    }
+
+    /**
+     * check if EXPIRE ... NX is supported by the server version.
+     *
+     * @return
+     */
+    private boolean isExpireNxSupported() {
+        try {
+            String info = this.redisCommandsContainer.info("server").get();
+            for (String line : info.split("\r?\n")) {
+                if (line.startsWith("redis_version:")) {
+                    String version = line.substring("redis_version:".length()).trim();
+                    return Integer.parseInt(version.substring(0, version.indexOf('.'))) >= 7;
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("get redis version error, EXPIRE ... NX is not used", e);
+        }
+        return false;
     }
 
     /**
      * serialize whole row.
      *
      * @param rowData
+     * @param serializers the serializers of fields
+     * @param stringBuilder the builder reused for every row
      * @return
      */
-    private String serializeWholeRow(RowData rowData) {
-        StringBuilder stringBuilder = new StringBuilder();
-        for (int i = 0; i < columnDataTypes.size(); i++) {
-            stringBuilder.append(
-                    RedisRowConverter.rowDataToString(
-                            columnDataTypes.get(i).getLogicalType(), rowData, i));
-            if (i != columnDataTypes.size() - 1) {
+    static String serializeWholeRow(
+            RowData rowData,
+            RedisSerializationConverter[] serializers,
+            StringBuilder stringBuilder) {
+        stringBuilder.setLength(0);
+        for (int i = 0; i < serializers.length; i++) {
+            stringBuilder.append(RedisRowConverter.rowDataToString(serializers[i], rowData, i));
+            if (i != serializers.length - 1) {
                 stringBuilder.append(RedisDynamicTableFactory.CACHE_SEPERATOR);
             }
         }
@@ -382,9 +1319,10 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
     /**
      * calculate the number of redis command's param
      *
+     * @param redisCommand
      * @return
      */
-    private int calcParamNumByCommand() {
+    static int calcParamNumByCommand(RedisCommand redisCommand) {
         if (redisCommand == RedisCommand.DEL) {
             return 1;
         }
@@ -407,26 +1345,201 @@ public class RedisSinkFunction<IN> extends RichSinkFunction<IN> {
      */
     @Override
     public void open(Configuration parameters) throws Exception {
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.asyncFailure = new AtomicReference<>();
         try {
-            this.redisCommandsContainer = RedisCommandsContainerBuilder.build(this.flinkConfigBase);
+            // the auto flush of a buffered sink can not be turned off on a shared connection.
+            this.redisCommandsContainer =
+                    RedisCommandsContainerBuilder.build(this.flinkConfigBase, !isBuffered());
             this.redisCommandsContainer.open();
             LOG.info(
                     "{} success to create redis container for sink",
                     Thread.currentThread().getId());
+            this.retrier =
+                    new RedisAsyncRetrier(
+                            maxRetryTimes,
+                            retryOptions,
+                            redisCommand.isIdempotent(),
+                            this.redisCommandsContainer.getEventExecutor(),
+                            this::flushIfBuffered);
+            this.ttlRetrier =
+                    new RedisAsyncRetrier(
+                            maxRetryTimes,
+                            retryOptions,
+                            true,
+                            this.redisCommandsContainer.getEventExecutor(),
+                            this::flushIfBuffered);
+            if (maxRetryTimes > 0) {
+                this.orderGuard = new RedisKeyOrderGuard();
+            }
+            if (adaptiveConcurrency) {
+                this.concurrencyLimiter =
+                        new RedisConcurrencyLimiter(
+                                Math.max(1, maxInFlight / 10),
+                                1,
+                                maxInFlight,
+                                adaptiveConcurrencyTargetLatency);
+                this.dispatchClock = new RedisDispatchClock(isBuffered());
+                getRuntimeContext()
+                        .getMetricGroup()
+                        .gauge(
+                                "redisConcurrencyLimit",
+                                (Gauge<Integer>) () -> concurrencyLimiter.getLimit());
+            }
+            if (rateLimitOpsPerSecond > 0) {
+                // the limit is shared by all subtasks of the sink.
+                this.rateLimiter =
+                        new RedisRateLimiter(
+                                (double) rateLimitOpsPerSecond
+                                        / getRuntimeContext().getNumberOfParallelSubtasks());
+                this.rateLimitAcquiredOps =
+                        getRuntimeContext()
+                                .getMetricGroup()
+                                .meter("redisRateLimitAcquiredOps", new MeterView(60));
+                getRuntimeContext()
+                        .getMetricGroup()
+                        .gauge("redisRateLimitOpsPerSecond", (Gauge<Double>) rateLimiter::getRate);
+                getRuntimeContext()
+                        .getMetricGroup()
+                        .gauge(
+                                "redisRateLimitWaitMillis",
+                                (Gauge<Long>)
+                                        () ->
+                                                TimeUnit.NANOSECONDS.toMillis(
+                                                        rateLimiter.getWaitNanos()));
+            }
+            if ((ttl != null && ttlKeyNotAbsent) || expireTimeSeconds != -1) {
+                this.expireNxSupported = isExpireNxSupported();
+            }
+            if (isBuffered()) {
+                this.redisCommandsContainer.setAutoFlushCommands(false);
+            }
+            if (preAggregation) {
+                this.accCombiner = new RedisAccCombiner(redisCommand);
+            }
+            if (upsertCompaction) {
+                this.upsertBuffer = new RedisUpsertBuffer(redisCommand);
+            }
+            // the node connections of cluster queue their own commands, grouping them by slot
+            // makes each flush one contiguous pipeline per master.
+            boolean cluster = this.redisCommandsContainer instanceof RedisClusterContainer;
+            this.slotAware = isBuffered() && cluster;
+            if (isBuffered() && !setIfAbsent && RedisBatchBuffer.isSupported(redisCommand)) {
+                // an MSET has to go to one node of cluster, and to the connection its keys are
+                // bound to.
+                this.batchBuffer =
+                        new RedisBatchBuffer(
+                                redisCommand, cluster ? SlotHash.SLOT_COUNT : connectionCount());
+            }
+            // SET without NX discards the ttl of key, so the ttl has to be set every time.
+            if (ttlRefreshInterval > 0 && (redisCommand != RedisCommand.SET || setIfAbsent)) {
+                this.ttlRefreshCache =
+                        CacheBuilder.newBuilder()
+                                .expireAfterWrite(ttlRefreshInterval, TimeUnit.MILLISECONDS)
+                                .maximumSize(ttlRefreshCacheMaxRows)
+                                .build();
+            }
+            if (redisValueDataStructure == RedisValueDataStructure.hash
+                    && ttl == null
+                    && expireTimeSeconds == -1) {
+                this.hashUpdateDiffEnabled = true;
+            }
+            if (valueSerializer != null) {
+                valueSerializer.open(
+                        RuntimeContextInitializationContextAdapters.serializationAdapter(
+                                getRuntimeContext(),
+                                metricGroup -> metricGroup.addGroup("user")));
+            }
+            if (valueCompression != RedisValueCompression.NONE) {
+                this.valueCompressor =
+                        new RedisValueCompressor(valueCompression, valueCompressionMinBytes);
+            }
+            // the deleted rows of whole row are sent as strings, even if the value has a format.
+            if (redisValueDataStructure != RedisValueDataStructure.column) {
+                this.serializers = RedisRowConverter.createSerializers(columnDataTypes);
+                this.wholeRowBuilder = new StringBuilder();
+            }
+            // the buffered rows are merged by their string params, the rows sent one by one skip
+            // the strings of value.
+            if (!isBuffered()
+                    && (redisCommand == RedisCommand.SET || redisCommand == RedisCommand.HSET)) {
+                List<LogicalType> fieldTypes = new ArrayList<>(columnDataTypes.size());
+                for (DataType dataType : columnDataTypes) {
+                    fieldTypes.add(dataType.getLogicalType());
+                }
+                this.binaryRowConverter = new RedisBinaryRowConverter(fieldTypes);
+                this.binaryParams = new String[calcParamNumByCommand(redisCommand)];
+            }
+            if (redisValueDataStructure == RedisValueDataStructure.hash) {
+                this.hashValues = new String[serializers.length];
+                this.hashUpdateBefore = new String[serializers.length];
+            }
+            if (bufferFlushInterval > 0) {
+                this.scheduler =
+                        Executors.newScheduledThreadPool(
+                                1, new ExecutorThreadFactory("redis-sink-flusher"));
+                this.scheduledFuture =
+                        this.scheduler.scheduleWithFixedDelay(
+                                () -> {
+                                    synchronized (RedisSinkFunction.this) {
+                                        if (!closed) {
+                                            try {
+                                                flush();
+                                            } catch (Exception e) {
+                                                asyncFailure.compareAndSet(null, e);
+                                            }
+                                        }
+                                    }
+                                },
+                                bufferFlushInterval,
+                                bufferFlushInterval,
+                                TimeUnit.MILLISECONDS);
+            }
         } catch (Exception e) {
             LOG.error("Redis has not been properly initialized: ", e);
             throw e;
         }
     }
 
+    @Override
+    public void initializeState(FunctionInitializationContext context) throws Exception {
+        // nothing to restore, the rows are in redis once the checkpoint completes.
+    }
+
+    /**
+     * Wait for all the commands which have been sent to redis, so that the rows before the
+     * checkpoint barrier are written to redis when the checkpoint completes.
+     */
+    @Override
+    public void snapshotState(FunctionSnapshotContext context) throws Exception {
+        checkAsyncFailure();
+        waitForPendingWrites();
+        checkAsyncFailure();
+    }
+
     /**
      * Closes commands container.
      *
      * @throws IOException if command container is unable to close.
      */
     @Override
-    public void close() throws IOException {
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduler.shutdown();
+        }
+
         if (redisCommandsContainer != null) {
+            try {
+                waitForPendingWrites();
+            } catch (Exception e) {
+                LOG.error("wait for pending commands to redis error when closing sink", e);
+            }
             redisCommandsContainer.close();
         }
     }
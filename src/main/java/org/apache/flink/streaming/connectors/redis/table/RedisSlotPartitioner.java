@@ -0,0 +1,47 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import io.lettuce.core.cluster.SlotHash;
+
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisSinkMapper;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+
+/**
+ * partition the rows by the hash slot of their redis key, each sink subtask owns a contiguous slot
+ * range, so it mostly writes to one master of redis cluster. The rows of null key have no slot, they
+ * all go to the first subtask.
+ */
+public class RedisSlotPartitioner implements Partitioner<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public int partition(String key, int numPartitions) {
+        if (key == null) {
+            return 0;
+        }
+        return SlotHash.getSlot(key) * numPartitions / SlotHash.SLOT_COUNT;
+    }
+
+    /** extract the redis key of row like {@link RedisSinkFunction}, which is the first column. */
+    public static class RedisKeySelector implements KeySelector<RowData, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RedisSinkMapper<RowData> redisSinkMapper;
+
+        private final LogicalType keyType;
+
+        public RedisKeySelector(RedisSinkMapper<RowData> redisSinkMapper, LogicalType keyType) {
+            this.redisSinkMapper = redisSinkMapper;
+            this.keyType = keyType;
+        }
+
+        @Override
+        public String getKey(RowData rowData) {
+            return redisSinkMapper.getKeyFromData(rowData, keyType, 0);
+        }
+    }
+}
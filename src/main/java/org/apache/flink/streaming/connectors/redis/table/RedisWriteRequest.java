@@ -0,0 +1,86 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * request entry of {@link RedisAsyncSinkWriter}, which holds the redis command to be executed and
+ * its params. The command is already resolved by the row kind, eg: a DELETE row of SET is a DEL.
+ */
+public class RedisWriteRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RedisCommand redisCommand;
+
+    private final String[] params;
+
+    public RedisWriteRequest(RedisCommand redisCommand, String[] params) {
+        this.redisCommand = redisCommand;
+        this.params = params;
+    }
+
+    public RedisCommand getRedisCommand() {
+        return redisCommand;
+    }
+
+    public String[] getParams() {
+        return params;
+    }
+
+    /**
+     * the size of request, which is used to limit the size of batch. The params are sent to redis
+     * as UTF-8, so their encoded length is counted rather than the number of chars.
+     *
+     * @return
+     */
+    public long getSizeInBytes() {
+        long size = 0;
+        for (String param : params) {
+            if (param != null) {
+                size += utf8Length(param);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * the number of bytes of the string encoded as UTF-8, without encoding it.
+     *
+     * @param value
+     * @return
+     */
+    static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // a supplementary character takes 4 bytes for its 2 chars.
+                length += 4;
+                i++;
+            } else {
+                // an unpaired surrogate is encoded as '?' by String#getBytes.
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisWriteRequest{"
+                + "redisCommand="
+                + redisCommand
+                + ", params="
+                + Arrays.toString(params)
+                + '}';
+    }
+}
@@ -0,0 +1,166 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.connector.base.sink.writer.ElementConverter;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueDataStructure;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter.RedisSerializationConverter;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisSinkMapper;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.types.RowKind;
+
+import java.util.List;
+
+/**
+ * convert the incoming row to {@link RedisWriteRequest}, the params are the same as {@link
+ * RedisSinkFunction}, and the command of DELETE row is resolved like {@code
+ * RedisSinkFunction#rowKindDelete}.
+ *
+ * @param <IN>
+ */
+public class RedisWriteRequestConverter<IN> implements ElementConverter<IN, RedisWriteRequest> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RedisSinkMapper<IN> redisSinkMapper;
+
+    private final RedisCommand redisCommand;
+
+    private final List<DataType> columnDataTypes;
+
+    private final RedisValueDataStructure redisValueDataStructure;
+
+    /** the serializers of whole row, created on first use. */
+    private transient RedisSerializationConverter[] serializers;
+
+    private transient StringBuilder wholeRowBuilder;
+
+    public RedisWriteRequestConverter(
+            RedisSinkMapper<IN> redisSinkMapper,
+            RedisCommand redisCommand,
+            List<DataType> columnDataTypes,
+            RedisValueDataStructure redisValueDataStructure) {
+        this.redisSinkMapper = redisSinkMapper;
+        this.redisCommand = redisCommand;
+        this.columnDataTypes = columnDataTypes;
+        this.redisValueDataStructure = redisValueDataStructure;
+    }
+
+    @Override
+    public RedisWriteRequest apply(IN input, SinkWriter.Context context) {
+        RowData rowData = (RowData) input;
+        String[] params = new String[RedisSinkFunction.calcParamNumByCommand(redisCommand)];
+        boolean wholeRow = redisValueDataStructure == RedisValueDataStructure.row;
+        int stringParams = wholeRow ? params.length - 1 : params.length;
+        for (int i = 0; i < stringParams; i++) {
+            params[i] =
+                    redisSinkMapper.getKeyFromData(
+                            rowData, columnDataTypes.get(i).getLogicalType(), i);
+        }
+
+        // the value is taken from the entire row when redisValueFromType is row, and columns
+        // separated by '\01'
+        if (wholeRow) {
+            if (serializers == null) {
+                serializers = RedisRowConverter.createSerializers(columnDataTypes);
+                wholeRowBuilder = new StringBuilder();
+            }
+            params[params.length - 1] =
+                    RedisSinkFunction.serializeWholeRow(rowData, serializers, wholeRowBuilder);
+        }
+
+        if (rowData.getRowKind() == RowKind.DELETE) {
+            return rowKindDelete(params);
+        }
+        return new RedisWriteRequest(redisCommand, params);
+    }
+
+    /**
+     * whether the row has nothing to write, eg: UPDATE_BEFORE or DELETE of RPUSH.
+     *
+     * @param input
+     * @return
+     */
+    public boolean isIgnored(IN input) {
+        RowKind kind = ((RowData) input).getRowKind();
+        if (kind == RowKind.UPDATE_BEFORE) {
+            return true;
+        }
+        return kind == RowKind.DELETE && !supportRowKindDelete(redisCommand);
+    }
+
+    /**
+     * whether the command has a reverse operation when RowKind == DELETE.
+     *
+     * @param redisCommand
+     * @return
+     */
+    private static boolean supportRowKindDelete(RedisCommand redisCommand) {
+        switch (redisCommand) {
+            case SADD:
+            case SET:
+            case ZADD:
+            case ZINCRBY:
+            case HSET:
+            case HINCRBY:
+            case HINCRBYFLOAT:
+            case INCRBY:
+            case INCRBYFLOAT:
+            case DECRBY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * resolve the command when RowKind == DELETE.
+     *
+     * @param params
+     * @return
+     */
+    private RedisWriteRequest rowKindDelete(String[] params) {
+        switch (redisCommand) {
+            case SADD:
+                return new RedisWriteRequest(RedisCommand.SREM, new String[] {params[0], params[1]});
+            case SET:
+                return new RedisWriteRequest(RedisCommand.DEL, new String[] {params[0]});
+            case ZADD:
+                return new RedisWriteRequest(RedisCommand.ZREM, new String[] {params[0], params[2]});
+            case ZINCRBY:
+                return new RedisWriteRequest(
+                        RedisCommand.ZINCRBY,
+                        new String[] {params[0], negateDouble(params[1]), params[2]});
+            case HSET:
+                return new RedisWriteRequest(RedisCommand.HDEL, new String[] {params[0], params[1]});
+            case HINCRBY:
+                return new RedisWriteRequest(
+                        RedisCommand.HINCRBY,
+                        new String[] {params[0], params[1], negateLong(params[2])});
+            case HINCRBYFLOAT:
+                return new RedisWriteRequest(
+                        RedisCommand.HINCRBYFLOAT,
+                        new String[] {params[0], params[1], negateDouble(params[2])});
+            case INCRBY:
+            case DECRBY:
+                return new RedisWriteRequest(
+                        redisCommand, new String[] {params[0], negateLong(params[1])});
+            case INCRBYFLOAT:
+                return new RedisWriteRequest(
+                        redisCommand, new String[] {params[0], negateDouble(params[1])});
+            default:
+                throw new UnsupportedOperationException(
+                        "Cannot process delete for such data type: " + redisCommand);
+        }
+    }
+
+    private static String negateLong(String value) {
+        return String.valueOf(-Long.valueOf(value));
+    }
+
+    private static String negateDouble(String value) {
+        return String.valueOf(-Double.valueOf(value));
+    }
+}
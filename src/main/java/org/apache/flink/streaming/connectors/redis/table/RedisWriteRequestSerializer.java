@@ -0,0 +1,51 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import org.apache.flink.connector.base.sink.writer.AsyncSinkWriterStateSerializer;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/** serializer for the buffered {@link RedisWriteRequest} of {@link RedisAsyncSinkWriter}. */
+public class RedisWriteRequestSerializer extends AsyncSinkWriterStateSerializer<RedisWriteRequest> {
+
+    @Override
+    protected void serializeRequestToStream(RedisWriteRequest request, DataOutputStream out)
+            throws IOException {
+        out.writeUTF(request.getRedisCommand().name());
+        String[] params = request.getParams();
+        out.writeInt(params.length);
+        for (String param : params) {
+            if (param == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = param.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    protected RedisWriteRequest deserializeRequestFromStream(
+            long requestSize, DataInputStream in) throws IOException {
+        RedisCommand redisCommand = RedisCommand.valueOf(in.readUTF());
+        String[] params = new String[in.readInt()];
+        for (int i = 0; i < params.length; i++) {
+            int length = in.readInt();
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                params[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return new RedisWriteRequest(redisCommand, params);
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,529 @@
+package org.apache.flink.streaming.connectors.redis;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.CommandArgs;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkSingleConfigHandler;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
+import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.container.RedisSharedContainers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * an in-memory redis behind {@link RedisCommandsContainer}, which records the commands sent to it.
+ * It is registered as the shared container of {@link #config()}, so the sinks and lookups built
+ * with that config take it instead of connecting to a server.
+ *
+ * <p>The strings are kept as bytes, so the values written by the binary commands can be read by
+ * the string commands and the other way round. A command can be failed by {@link #failWith}, or
+ * held by {@link #hold} until the test completes it.
+ */
+public class TestRedisCommandsContainer {
+
+    /** a command sent to the container. */
+    public static class Call {
+        public final String command;
+        public final Object[] args;
+        public final TestRedisFuture<Object> future = new TestRedisFuture<>();
+        private Runnable apply;
+
+        Call(String command, Object[] args) {
+            this.command = command;
+            this.args = args == null ? new Object[0] : args;
+        }
+
+        /** apply the held command to the data and complete it. */
+        public void complete() {
+            apply.run();
+        }
+
+        /** fail the held command without applying it. */
+        public void fail(Throwable error) {
+            future.completeExceptionally(error);
+        }
+
+        @Override
+        public String toString() {
+            return command + Arrays.deepToString(args);
+        }
+    }
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final Map<String, String> options;
+
+    private final FlinkConfigBase config;
+
+    private final ScheduledExecutorService eventExecutor =
+            Executors.newSingleThreadScheduledExecutor();
+
+    private final Map<String, Object> data = new HashMap<>();
+
+    private final Map<String, Long> ttls = new HashMap<>();
+
+    private final List<Call> calls = new ArrayList<>();
+
+    private final List<Call> held = new ArrayList<>();
+
+    private final List<String> flushes = new ArrayList<>();
+
+    private Function<Call, Throwable> failure = call -> null;
+
+    private Function<Call, Boolean> holding = call -> false;
+
+    private final RedisCommandsContainer container;
+
+    private final RedisClusterAsyncCommands<String, byte[]> binaryCommands;
+
+    public TestRedisCommandsContainer() {
+        this(RedisReadFrom.MASTER);
+    }
+
+    public TestRedisCommandsContainer(RedisReadFrom readFrom) {
+        this("test-" + NEXT_ID.incrementAndGet(), readFrom);
+    }
+
+    private TestRedisCommandsContainer(String host, RedisReadFrom readFrom) {
+        this.options = new HashMap<>();
+        options.put(RedisOptions.REDISMODE.key(), "single");
+        options.put(RedisOptions.HOST.key(), host);
+        options.put(RedisOptions.CONNECTION_SHARED.key(), "true");
+        if (readFrom != RedisReadFrom.MASTER) {
+            options.put(RedisOptions.LOOKUP_READ_FROM.key(), readFrom.getValue());
+        }
+        this.config = new FlinkSingleConfigHandler().createFlinkConfig(Configuration.fromMap(options));
+        this.container =
+                (RedisCommandsContainer)
+                        Proxy.newProxyInstance(
+                                getClass().getClassLoader(),
+                                new Class<?>[] {RedisCommandsContainer.class},
+                                new Handler(false));
+        this.binaryCommands =
+                (RedisClusterAsyncCommands<String, byte[]>)
+                        Proxy.newProxyInstance(
+                                getClass().getClassLoader(),
+                                new Class<?>[] {RedisClusterAsyncCommands.class},
+                                new Handler(true));
+        RedisSharedContainers.acquire(config, readFrom, () -> container);
+    }
+
+    /**
+     * another container of the same server, whose lookups read from other nodes.
+     *
+     * @param readFrom
+     * @return
+     */
+    public TestRedisCommandsContainer readFrom(RedisReadFrom readFrom) {
+        return new TestRedisCommandsContainer(options.get(RedisOptions.HOST.key()), readFrom);
+    }
+
+    /** the config whose shared container is this one. */
+    public FlinkConfigBase config() {
+        return config;
+    }
+
+    /** the table options of a connector which takes this container, without the command. */
+    public Map<String, String> options() {
+        return new HashMap<>(options);
+    }
+
+    public RedisCommandsContainer container() {
+        return container;
+    }
+
+    /** fail the commands for which the function returns an error, they are not applied. */
+    public synchronized void failWith(Function<Call, Throwable> failure) {
+        this.failure = failure;
+    }
+
+    /** hold the commands for which the function returns true, until they are completed. */
+    public synchronized void hold(Function<Call, Boolean> holding) {
+        this.holding = holding;
+    }
+
+    public synchronized List<Call> held() {
+        return new ArrayList<>(held);
+    }
+
+    public synchronized List<Call> calls() {
+        return new ArrayList<>(calls);
+    }
+
+    /** the names of commands sent, in order. */
+    public synchronized List<String> commands() {
+        List<String> commands = new ArrayList<>();
+        for (Call call : calls) {
+            commands.add(call.command);
+        }
+        return commands;
+    }
+
+    public synchronized int count(String command) {
+        int count = 0;
+        for (Call call : calls) {
+            if (call.command.equals(command)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** the changes of auto flush and the flushes, in order. */
+    public synchronized List<String> flushes() {
+        return new ArrayList<>(flushes);
+    }
+
+    public synchronized String getString(String key) {
+        Object value = data.get(key);
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : null;
+    }
+
+    public synchronized byte[] getBytes(String key) {
+        Object value = data.get(key);
+        return value instanceof byte[] ? (byte[]) value : null;
+    }
+
+    public synchronized Map<String, String> getHash(String key) {
+        Map<String, byte[]> hash = hash(key, false);
+        if (hash == null) {
+            return null;
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        hash.forEach((field, value) -> result.put(field, string(value)));
+        return result;
+    }
+
+    public synchronized Long getTtl(String key) {
+        return ttls.get(key);
+    }
+
+    public synchronized void putString(String key, String value) {
+        data.put(key, bytes(value));
+    }
+
+    public synchronized void putHash(String key, Map<String, String> fields) {
+        Map<String, byte[]> hash = hash(key, true);
+        fields.forEach((field, value) -> hash.put(field, bytes(value)));
+    }
+
+    /** remove the key as if it expired. */
+    public synchronized void expireNow(String key) {
+        data.remove(key);
+        ttls.remove(key);
+    }
+
+    /** give back all the references of the shared container and stop the event executor. */
+    public void release() {
+        while (!RedisSharedContainers.release(container)) {
+            // the references taken by the sinks or lookups which were not closed.
+        }
+        eventExecutor.shutdownNow();
+    }
+
+    private class Handler implements InvocationHandler {
+
+        private final boolean binary;
+
+        Handler(boolean binary) {
+            this.binary = binary;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TestRedisCommandsContainer";
+                case "open":
+                    return null;
+                case "close":
+                    RedisSharedContainers.release(container);
+                    return null;
+                case "getEventExecutor":
+                    return eventExecutor;
+                case "getBinaryAsyncCommands":
+                    return binaryCommands;
+                case "setAutoFlushCommands":
+                    synchronized (TestRedisCommandsContainer.this) {
+                        flushes.add("autoFlush=" + args[0]);
+                    }
+                    return null;
+                case "flushCommands":
+                    synchronized (TestRedisCommandsContainer.this) {
+                        flushes.add("flush");
+                    }
+                    return null;
+                case "executeOnPooledConnection":
+                    throw new UnsupportedOperationException("no pool in test container");
+                default:
+                    return send(method.getName(), args, binary);
+            }
+        }
+    }
+
+    private TestRedisFuture<Object> send(String command, Object[] args, boolean binary) {
+        Call call = new Call(command, args);
+        boolean hold;
+        synchronized (this) {
+            calls.add(call);
+            Throwable error = failure.apply(call);
+            if (error != null) {
+                call.future.completeExceptionally(error);
+                return call.future;
+            }
+            call.apply =
+                    () -> {
+                        Object result;
+                        try {
+                            synchronized (this) {
+                                result = execute(command, call.args, binary);
+                            }
+                        } catch (RuntimeException e) {
+                            call.future.completeExceptionally(e);
+                            return;
+                        }
+                        call.future.complete(result);
+                    };
+            hold = holding.apply(call);
+            if (hold) {
+                held.add(call);
+            }
+        }
+        if (!hold) {
+            call.complete();
+        }
+        return call.future;
+    }
+
+    private Object execute(String command, Object[] args, boolean binary) {
+        String key = args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+        switch (command) {
+            case "get":
+                return binary ? getBytes(key) : getString(key);
+            case "set":
+                {
+                    List<String> setArgs = setArgs(args.length > 2 ? (SetArgs) args[2] : null);
+                    if (setArgs.contains("NX") && data.containsKey(key)) {
+                        return null;
+                    }
+                    data.put(key, binary ? (byte[]) args[1] : bytes((String) args[1]));
+                    ttls.remove(key);
+                    int ex = setArgs.indexOf("EX");
+                    if (ex >= 0) {
+                        ttls.put(key, Long.parseLong(setArgs.get(ex + 1)));
+                    }
+                    return "OK";
+                }
+            case "mset":
+                ((Map<String, String>) args[0]).forEach((k, v) -> data.put(k, bytes(v)));
+                return "OK";
+            case "mget":
+                {
+                    List<KeyValue<String, String>> values = new ArrayList<>();
+                    for (String k : (String[]) args[0]) {
+                        values.add(KeyValue.fromNullable(k, getString(k)));
+                    }
+                    return values;
+                }
+            case "del":
+                {
+                    boolean existed = data.remove(key) != null;
+                    ttls.remove(key);
+                    return existed ? 1L : 0L;
+                }
+            case "sadd":
+                {
+                    List<String> set =
+                            (List<String>) data.computeIfAbsent(key, k -> new ArrayList<>());
+                    long added = 0;
+                    for (String value : values(args[1])) {
+                        if (!set.contains(value)) {
+                            set.add(value);
+                            added++;
+                        }
+                    }
+                    return added;
+                }
+            case "exists":
+                return data.containsKey(key) ? 1L : 0L;
+            case "hset":
+                {
+                    Map<String, byte[]> hash = hash(key, true);
+                    if (args[1] instanceof Map) {
+                        long added = 0;
+                        for (Map.Entry<String, String> entry :
+                                ((Map<String, String>) args[1]).entrySet()) {
+                            if (hash.put(entry.getKey(), bytes(entry.getValue())) == null) {
+                                added++;
+                            }
+                        }
+                        return added;
+                    }
+                    byte[] value = binary ? (byte[]) args[2] : bytes((String) args[2]);
+                    return hash.put((String) args[1], value) == null;
+                }
+            case "hsetnx":
+                {
+                    Map<String, byte[]> hash = hash(key, true);
+                    if (hash.containsKey(args[1])) {
+                        return false;
+                    }
+                    hash.put(
+                            (String) args[1],
+                            binary ? (byte[]) args[2] : bytes((String) args[2]));
+                    return true;
+                }
+            case "hget":
+                {
+                    Map<String, byte[]> hash = hash(key, false);
+                    byte[] value = hash == null ? null : hash.get(args[1]);
+                    return binary ? value : string(value);
+                }
+            case "hmget":
+                {
+                    Map<String, byte[]> hash = hash(key, false);
+                    List<KeyValue<String, String>> values = new ArrayList<>();
+                    for (String field : (String[]) args[1]) {
+                        values.add(
+                                KeyValue.fromNullable(
+                                        field, hash == null ? null : string(hash.get(field))));
+                    }
+                    return values;
+                }
+            case "hgetAll":
+                {
+                    Map<String, String> all = getHash(key);
+                    return all == null ? new HashMap<>() : all;
+                }
+            case "hdel":
+                {
+                    Map<String, byte[]> hash = hash(key, false);
+                    String[] fields =
+                            args[1] instanceof String[]
+                                    ? (String[]) args[1]
+                                    : new String[] {(String) args[1]};
+                    long removed = 0;
+                    for (String field : fields) {
+                        if (hash != null && hash.remove(field) != null) {
+                            removed++;
+                        }
+                    }
+                    if (hash != null && hash.isEmpty()) {
+                        data.remove(key);
+                        ttls.remove(key);
+                    }
+                    return removed;
+                }
+            case "rpush":
+            case "lpush":
+                {
+                    List<String> list =
+                            (List<String>) data.computeIfAbsent(key, k -> new ArrayList<>());
+                    for (String value : values(args[1])) {
+                        if (command.equals("rpush")) {
+                            list.add(value);
+                        } else {
+                            list.add(0, value);
+                        }
+                    }
+                    return (long) list.size();
+                }
+            case "incrBy":
+            case "decrBy":
+                {
+                    long delta = (Long) args[1];
+                    long value = getString(key) == null ? 0 : Long.parseLong(getString(key));
+                    value += command.equals("incrBy") ? delta : -delta;
+                    data.put(key, bytes(String.valueOf(value)));
+                    return value;
+                }
+            case "hincrBy":
+                {
+                    Map<String, byte[]> hash = hash(key, true);
+                    byte[] old = hash.get(args[1]);
+                    long value = (old == null ? 0 : Long.parseLong(string(old))) + (Long) args[2];
+                    hash.put((String) args[1], bytes(String.valueOf(value)));
+                    return value;
+                }
+            case "expire":
+                {
+                    if (!data.containsKey(key)) {
+                        return false;
+                    }
+                    boolean nx = args.length > 2 && args[2] != null;
+                    if (nx && ttls.containsKey(key)) {
+                        return false;
+                    }
+                    ttls.put(key, ((Number) args[1]).longValue());
+                    return true;
+                }
+            case "getTTL":
+                {
+                    if (!data.containsKey(key)) {
+                        return -2L;
+                    }
+                    Long ttl = ttls.get(key);
+                    return ttl == null ? -1L : ttl;
+                }
+            case "info":
+                return "# Server\r\nredis_version:7.0.0\r\n";
+            default:
+                throw new UnsupportedOperationException(
+                        "unsupported command in test container: " + command);
+        }
+    }
+
+    private Map<String, byte[]> hash(String key, boolean create) {
+        Object value = data.get(key);
+        if (value == null && create) {
+            value = new LinkedHashMap<String, byte[]>();
+            data.put(key, value);
+        }
+        return (Map<String, byte[]>) value;
+    }
+
+    /** the words of SET options, like [NX, EX, 60]. */
+    public static List<String> setArgs(SetArgs setArgs) {
+        if (setArgs == null) {
+            return new ArrayList<>();
+        }
+        CommandArgs<String, String> commandArgs = new CommandArgs<>(StringCodec.UTF8);
+        setArgs.build(commandArgs);
+        return Arrays.asList(commandArgs.toCommandString().split(" "));
+    }
+
+    private static String[] values(Object values) {
+        return values instanceof String[] ? (String[]) values : new String[] {(String) values};
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
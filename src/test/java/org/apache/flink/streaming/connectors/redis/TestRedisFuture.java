@@ -0,0 +1,43 @@
+package org.apache.flink.streaming.connectors.redis;
+
+import io.lettuce.core.RedisFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * a {@link RedisFuture} completed by the test instead of a redis server.
+ *
+ * @param <V>
+ */
+public class TestRedisFuture<V> extends CompletableFuture<V> implements RedisFuture<V> {
+
+    @Override
+    public String getError() {
+        if (!isCompletedExceptionally()) {
+            return null;
+        }
+        try {
+            get();
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            get(timeout, unit);
+        } catch (ExecutionException e) {
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/** the merge of ACC deltas before they are sent to redis. */
+public class RedisAccCombinerTest {
+
+    @Test
+    public void testMergeDeltasByKey() {
+        RedisAccCombiner combiner = new RedisAccCombiner(RedisCommand.INCRBY);
+        combiner.add(new String[] {"a", "3"}, false);
+        combiner.add(new String[] {"b", "1"}, false);
+        combiner.add(new String[] {"a", "4"}, false);
+        combiner.add(new String[] {"a", "2"}, true);
+        Assertions.assertEquals(2, combiner.size());
+
+        List<String[]> drained = combiner.drain();
+        Assertions.assertEquals(2, drained.size());
+        // the targets keep the order of their first rows.
+        Assertions.assertArrayEquals(new String[] {"a", "5"}, drained.get(0));
+        Assertions.assertArrayEquals(new String[] {"b", "1"}, drained.get(1));
+        Assertions.assertEquals(0, combiner.size());
+        Assertions.assertTrue(combiner.drain().isEmpty());
+    }
+
+    @Test
+    public void testMergeDeltasByField() {
+        RedisAccCombiner combiner = new RedisAccCombiner(RedisCommand.HINCRBY);
+        combiner.add(new String[] {"h", "f1", "1"}, false);
+        combiner.add(new String[] {"h", "f2", "10"}, false);
+        combiner.add(new String[] {"h", "f1", "2"}, false);
+
+        List<String[]> drained = combiner.drain();
+        Assertions.assertEquals(2, drained.size());
+        Assertions.assertArrayEquals(new String[] {"h", "f1", "3"}, drained.get(0));
+        Assertions.assertArrayEquals(new String[] {"h", "f2", "10"}, drained.get(1));
+    }
+
+    @Test
+    public void testMergeFloatDeltasByMember() {
+        RedisAccCombiner combiner = new RedisAccCombiner(RedisCommand.ZINCRBY);
+        combiner.add(new String[] {"z", "1.5", "m"}, false);
+        combiner.add(new String[] {"z", "0.5", "m"}, false);
+
+        List<String[]> drained = combiner.drain();
+        Assertions.assertEquals(1, drained.size());
+        Assertions.assertArrayEquals(new String[] {"z", "2.0", "m"}, drained.get(0));
+    }
+
+    @Test
+    public void testDropCancelledDeltas() {
+        RedisAccCombiner combiner = new RedisAccCombiner(RedisCommand.INCRBY);
+        combiner.add(new String[] {"a", "3"}, false);
+        combiner.add(new String[] {"a", "3"}, true);
+        combiner.add(new String[] {"b", "1"}, false);
+
+        List<String[]> drained = combiner.drain();
+        Assertions.assertEquals(1, drained.size());
+        Assertions.assertArrayEquals(new String[] {"b", "1"}, drained.get(0));
+    }
+
+    @Test
+    public void testRejectNonAccCommand() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class, () -> new RedisAccCombiner(RedisCommand.SET));
+    }
+}
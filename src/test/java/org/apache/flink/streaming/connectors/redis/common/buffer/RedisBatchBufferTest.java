@@ -0,0 +1,106 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import io.lettuce.core.cluster.SlotHash;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** the grouping of buffered rows into multi-element commands, by key and by hash slot. */
+public class RedisBatchBufferTest {
+
+    @Test
+    public void testGroupRowsByKey() {
+        RedisBatchBuffer buffer = new RedisBatchBuffer(RedisCommand.SADD, 1);
+        buffer.add(new String[] {"a", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"b", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"a", "2"}, RowKind.INSERT);
+        buffer.add(new String[] {"a", "3"}, RowKind.DELETE);
+        buffer.add(new String[] {"a", "4"}, RowKind.DELETE);
+        buffer.add(new String[] {"a", "5"}, RowKind.INSERT);
+
+        List<RedisBatchBuffer.Batch> batches = buffer.drain();
+        Assertions.assertEquals(4, batches.size());
+        assertBatch(batches.get(0), false, "a", "1", "2");
+        assertBatch(batches.get(1), false, "b", "1");
+        // a row of the other kind closes the batch of key to keep the order.
+        assertBatch(batches.get(2), true, "a", "3", "4");
+        assertBatch(batches.get(3), false, "a", "5");
+        Assertions.assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    public void testDeleteOfSetClosesMset() {
+        RedisBatchBuffer buffer = new RedisBatchBuffer(RedisCommand.SET, 1);
+        buffer.add(new String[] {"a", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"b", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"a", "1"}, RowKind.DELETE);
+        buffer.add(new String[] {"c", "1"}, RowKind.INSERT);
+
+        List<RedisBatchBuffer.Batch> batches = buffer.drain();
+        Assertions.assertEquals(3, batches.size());
+        Assertions.assertEquals(2, batches.get(0).getRows().size());
+        Assertions.assertTrue(batches.get(1).isDelete());
+        Assertions.assertEquals("c", batches.get(2).getRows().get(0)[0]);
+    }
+
+    @Test
+    public void testGroupMsetBySlot() {
+        RedisBatchBuffer buffer = new RedisBatchBuffer(RedisCommand.SET, SlotHash.SLOT_COUNT);
+        String[] keys = {"a", "b", "{a}1", "c", "{b}2", "{c}3"};
+        for (String key : keys) {
+            buffer.add(new String[] {key, "v"}, RowKind.INSERT);
+        }
+
+        List<RedisBatchBuffer.Batch> batches = buffer.drain();
+        Assertions.assertEquals(3, batches.size());
+        int lastSlot = -1;
+        for (RedisBatchBuffer.Batch batch : batches) {
+            Set<Integer> slots = new HashSet<>();
+            for (String[] params : batch.getRows()) {
+                slots.add(SlotHash.getSlot(params[0]));
+            }
+            // each MSET goes to one slot, and the slots are drained in order.
+            Assertions.assertEquals(1, slots.size());
+            int slot = slots.iterator().next();
+            Assertions.assertTrue(slot > lastSlot);
+            Assertions.assertEquals(2, batch.getRows().size());
+            lastSlot = slot;
+        }
+    }
+
+    @Test
+    public void testKeepOrderOfKeyWhenSortedBySlot() {
+        RedisBatchBuffer buffer = new RedisBatchBuffer(RedisCommand.HSET, SlotHash.SLOT_COUNT);
+        buffer.add(new String[] {"b", "f", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"a", "f", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"b", "f", "2"}, RowKind.DELETE);
+        buffer.add(new String[] {"b", "f", "3"}, RowKind.INSERT);
+
+        List<RedisBatchBuffer.Batch> batches = buffer.drain();
+        Assertions.assertEquals(4, batches.size());
+        int slotOfB = SlotHash.getSlot("b");
+        int slotOfA = SlotHash.getSlot("a");
+        int b = slotOfB < slotOfA ? 0 : 1;
+        // the sort is stable, the batches of b keep their order.
+        assertBatch(batches.get(b), false, "b", "f");
+        assertBatch(batches.get(b + 1), true, "b", "f");
+        assertBatch(batches.get(b + 2), false, "b", "f");
+        Assertions.assertEquals("3", batches.get(b + 2).getRows().get(0)[2]);
+    }
+
+    private static void assertBatch(
+            RedisBatchBuffer.Batch batch, boolean delete, String key, String... values) {
+        Assertions.assertEquals(delete, batch.isDelete());
+        Assertions.assertEquals(values.length, batch.getRows().size());
+        for (int i = 0; i < values.length; i++) {
+            Assertions.assertEquals(key, batch.getRows().get(i)[0]);
+            Assertions.assertEquals(values[i], batch.getRows().get(i)[1]);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** the lookups collected into batches by size and by time. */
+public class RedisLookupBatcherTest {
+
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    /** read the value "v-key" of every key, and record the keys of batch. */
+    private CompletionStage<List<String>> read(List<String> keys) {
+        batches.add(keys);
+        return CompletableFuture.completedFuture(
+                keys.stream().map(key -> "v-" + key).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFlushBySize() throws Exception {
+        RedisLookupBatcher<String, String> batcher =
+                new RedisLookupBatcher<>(3, NEVER, timer, this::read);
+        CompletableFuture<String> a = batcher.add("a");
+        CompletableFuture<String> b = batcher.add("b");
+        Assertions.assertTrue(batches.isEmpty());
+        Assertions.assertFalse(a.isDone());
+
+        CompletableFuture<String> c = batcher.add("c");
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList("a", "b", "c")), batches);
+        Assertions.assertEquals("v-a", a.get());
+        Assertions.assertEquals("v-b", b.get());
+        Assertions.assertEquals("v-c", c.get());
+
+        // the next batch starts empty.
+        CompletableFuture<String> d = batcher.add("d");
+        Assertions.assertFalse(d.isDone());
+        batcher.close();
+    }
+
+    @Test
+    public void testFlushByTime() throws Exception {
+        RedisLookupBatcher<String, String> batcher =
+                new RedisLookupBatcher<>(10, 20, timer, this::read);
+        CompletableFuture<String> a = batcher.add("a");
+        CompletableFuture<String> b = batcher.add("b");
+        Assertions.assertEquals("v-a", a.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals("v-b", b.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList("a", "b")), batches);
+
+        // a new timer is started by the first lookup of next batch.
+        Assertions.assertEquals("v-c", batcher.add("c").get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, batches.size());
+        batcher.close();
+    }
+
+    @Test
+    public void testFanOutLookupsOfSameKey() throws Exception {
+        RedisLookupBatcher<String, String> batcher =
+                new RedisLookupBatcher<>(2, NEVER, timer, this::read);
+        CompletableFuture<String> first = batcher.add("a");
+        CompletableFuture<String> second = batcher.add("a");
+        // the same key is counted once for the size of batch.
+        Assertions.assertTrue(batches.isEmpty());
+        CompletableFuture<String> other = batcher.add("b");
+
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList("a", "b")), batches);
+        Assertions.assertEquals("v-a", first.get());
+        Assertions.assertEquals("v-a", second.get());
+        Assertions.assertEquals("v-b", other.get());
+        batcher.close();
+    }
+
+    @Test
+    public void testFailAllLookupsOfBatch() {
+        RuntimeException error = new RuntimeException("read failed");
+        RedisLookupBatcher<String, String> batcher =
+                new RedisLookupBatcher<>(
+                        2,
+                        NEVER,
+                        timer,
+                        keys -> {
+                            CompletableFuture<List<String>> future = new CompletableFuture<>();
+                            future.completeExceptionally(error);
+                            return future;
+                        });
+        CompletableFuture<String> a = batcher.add("a");
+        CompletableFuture<String> b = batcher.add("b");
+        for (CompletableFuture<String> future : Arrays.asList(a, b)) {
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, future::get);
+            Assertions.assertSame(error, e.getCause());
+        }
+    }
+
+    @Test
+    public void testCloseFailsPendingLookups() {
+        RedisLookupBatcher<String, String> batcher =
+                new RedisLookupBatcher<>(10, NEVER, timer, this::read);
+        CompletableFuture<String> pending = batcher.add("a");
+        batcher.close();
+
+        Assertions.assertThrows(ExecutionException.class, pending::get);
+        Assertions.assertThrows(ExecutionException.class, () -> batcher.add("b").get());
+        Assertions.assertTrue(batches.isEmpty());
+    }
+}
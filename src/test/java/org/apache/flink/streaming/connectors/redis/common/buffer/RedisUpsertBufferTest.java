@@ -0,0 +1,82 @@
+package org.apache.flink.streaming.connectors.redis.common.buffer;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/** the compaction of changelog rows to the latest state of each target. */
+public class RedisUpsertBufferTest {
+
+    @Test
+    public void testKeepLatestStateOfKey() {
+        RedisUpsertBuffer buffer = new RedisUpsertBuffer(RedisCommand.SET);
+        buffer.add(new String[] {"a", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"b", "1"}, RowKind.INSERT);
+        buffer.add(new String[] {"a", "2"}, RowKind.UPDATE_AFTER);
+        buffer.add(new String[] {"a", "3"}, RowKind.UPDATE_AFTER);
+        Assertions.assertEquals(2, buffer.size());
+
+        List<RedisUpsertBuffer.Entry> drained = buffer.drain();
+        Assertions.assertEquals(2, drained.size());
+        Assertions.assertArrayEquals(new String[] {"a", "3"}, drained.get(0).getParams());
+        Assertions.assertEquals(RowKind.UPDATE_AFTER, drained.get(0).getKind());
+        Assertions.assertArrayEquals(new String[] {"b", "1"}, drained.get(1).getParams());
+        Assertions.assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testKeepLatestStateOfField() {
+        RedisUpsertBuffer buffer = new RedisUpsertBuffer(RedisCommand.HSET);
+        buffer.add(new String[] {"h", "f1", "1"}, RowKind.UPDATE_AFTER);
+        buffer.add(new String[] {"h", "f2", "1"}, RowKind.UPDATE_AFTER);
+        buffer.add(new String[] {"h", "f1", "2"}, RowKind.UPDATE_AFTER);
+
+        List<RedisUpsertBuffer.Entry> drained = buffer.drain();
+        Assertions.assertEquals(2, drained.size());
+        Assertions.assertArrayEquals(new String[] {"h", "f1", "2"}, drained.get(0).getParams());
+        Assertions.assertArrayEquals(new String[] {"h", "f2", "1"}, drained.get(1).getParams());
+    }
+
+    @Test
+    public void testDropTargetInsertedAndDeletedInWindow() {
+        RedisUpsertBuffer buffer = new RedisUpsertBuffer(RedisCommand.SADD);
+        buffer.add(new String[] {"s", "m1"}, RowKind.INSERT);
+        buffer.add(new String[] {"s", "m1"}, RowKind.DELETE);
+        Assertions.assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    public void testKeepDeleteOfTargetExistingBeforeWindow() {
+        RedisUpsertBuffer buffer = new RedisUpsertBuffer(RedisCommand.SET);
+        // the first row is an update, so the key may exist in redis.
+        buffer.add(new String[] {"a", "1"}, RowKind.UPDATE_AFTER);
+        buffer.add(new String[] {"a", "1"}, RowKind.DELETE);
+
+        List<RedisUpsertBuffer.Entry> drained = buffer.drain();
+        Assertions.assertEquals(1, drained.size());
+        Assertions.assertEquals(RowKind.DELETE, drained.get(0).getKind());
+    }
+
+    @Test
+    public void testKeepInsertAfterDelete() {
+        RedisUpsertBuffer buffer = new RedisUpsertBuffer(RedisCommand.ZADD);
+        buffer.add(new String[] {"z", "1", "m"}, RowKind.DELETE);
+        buffer.add(new String[] {"z", "2", "m"}, RowKind.INSERT);
+
+        List<RedisUpsertBuffer.Entry> drained = buffer.drain();
+        Assertions.assertEquals(1, drained.size());
+        Assertions.assertArrayEquals(new String[] {"z", "2", "m"}, drained.get(0).getParams());
+        Assertions.assertEquals(RowKind.INSERT, drained.get(0).getKind());
+    }
+
+    @Test
+    public void testRejectUnsupportedCommand() {
+        Assertions.assertFalse(RedisUpsertBuffer.isSupported(RedisCommand.RPUSH));
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> new RedisUpsertBuffer(RedisCommand.RPUSH));
+    }
+}
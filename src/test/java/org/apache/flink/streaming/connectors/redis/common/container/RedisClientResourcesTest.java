@@ -0,0 +1,51 @@
+package org.apache.flink.streaming.connectors.redis.common.container;
+
+import io.lettuce.core.resource.ClientResources;
+
+import org.apache.flink.streaming.connectors.redis.common.config.LettuceConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/** the client resources shared by the containers and counted by reference. */
+public class RedisClientResourcesTest {
+
+    @Test
+    public void testShareResourcesOfSamePoolSizes() {
+        ClientResources first = RedisClientResources.acquire(new LettuceConfig(2, 3));
+        // the other settings of lettuce do not split the resources.
+        ClientResources second =
+                RedisClientResources.acquire(new LettuceConfig(2, 3, true, 4, 8, 8, 0));
+        ClientResources other = RedisClientResources.acquire(new LettuceConfig(2, 4));
+        try {
+            Assertions.assertSame(first, second);
+            Assertions.assertNotSame(first, other);
+        } finally {
+            RedisClientResources.release(first);
+            RedisClientResources.release(second);
+            RedisClientResources.release(other);
+        }
+    }
+
+    @Test
+    public void testShutDownByLastRelease() {
+        ClientResources first = RedisClientResources.acquire(new LettuceConfig(2, 5));
+        ClientResources second = RedisClientResources.acquire(new LettuceConfig(2, 5));
+
+        RedisClientResources.release(first);
+        Assertions.assertFalse(first.eventExecutorGroup().isShuttingDown());
+
+        RedisClientResources.release(second);
+        Assertions.assertTrue(first.eventExecutorGroup().isShuttingDown());
+
+        // released again by mistake, it is ignored.
+        RedisClientResources.release(first);
+
+        ClientResources recreated = RedisClientResources.acquire(new LettuceConfig(2, 5));
+        try {
+            Assertions.assertNotSame(first, recreated);
+            Assertions.assertFalse(recreated.eventExecutorGroup().isShuttingDown());
+        } finally {
+            RedisClientResources.release(recreated);
+        }
+    }
+}
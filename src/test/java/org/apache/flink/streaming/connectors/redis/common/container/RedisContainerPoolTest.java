@@ -0,0 +1,221 @@
+package org.apache.flink.streaming.connectors.redis.common.container;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+
+import org.apache.flink.streaming.connectors.redis.common.config.LettuceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/** the pool of connections which is opened on first borrow. */
+public class RedisContainerPoolTest {
+
+    private FakeRedisServer server;
+
+    private RedisContainer container;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new FakeRedisServer();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (container != null) {
+            container.close();
+        }
+        server.close();
+    }
+
+    private void open(int minIdle) {
+        RedisURI redisURI = RedisURI.create("127.0.0.1", server.getPort());
+        container =
+                new RedisContainer(
+                        RedisClient.create(redisURI),
+                        redisURI,
+                        new LettuceConfig(null, null, false, 1, 2, 2, minIdle),
+                        null);
+        container.open();
+    }
+
+    @Test
+    public void testNoPoolOpenedByDefault() throws Exception {
+        open(1);
+        container.getAsyncCommands().get("k").get(10, TimeUnit.SECONDS);
+        // the min idle connections of pool are not opened with the container.
+        Thread.sleep(200);
+        Assertions.assertEquals(1, server.connections.size());
+    }
+
+    @Test
+    public void testBorrowAndRelease() throws Exception {
+        // no idle connection is kept apart from the borrowed one, to count the connections.
+        open(0);
+        Assertions.assertNull(
+                container
+                        .executeOnPooledConnection(commands -> commands.get("k"))
+                        .get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, server.connections.size());
+        // the GET is sent on the borrowed connection, not the shared one.
+        Assertions.assertFalse(server.connections.get(0).commands.contains("GET"));
+        Assertions.assertTrue(server.connections.get(1).commands.contains("GET"));
+
+        // the connection is given back, so it is borrowed again.
+        container
+                .executeOnPooledConnection(commands -> commands.hgetall("h"))
+                .get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, server.connections.size());
+        Assertions.assertTrue(server.connections.get(1).commands.contains("HGETALL"));
+    }
+
+    @Test
+    public void testBorrowMinIdleConnection() throws Exception {
+        open(1);
+        // the first borrow gets the min idle connection opened with the pool.
+        for (int i = 0; i < 10; i++) {
+            container
+                    .executeOnPooledConnection(commands -> commands.get("k"))
+                    .get(10, TimeUnit.SECONDS);
+        }
+        Assertions.assertTrue(server.connections.get(1).commands.contains("GET"));
+        Assertions.assertTrue(server.connections.size() <= 1 + 2);
+    }
+
+    /**
+     * a redis server which speaks RESP2 and replies nil to every read, it just serves the handshake
+     * and the reads of these tests.
+     */
+    private static final class FakeRedisServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+
+        private final List<FakeConnection> connections = new CopyOnWriteArrayList<>();
+
+        private FakeRedisServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "fake-redis-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    FakeConnection connection = new FakeConnection(serverSocket.accept());
+                    connections.add(connection);
+                    Thread thread = new Thread(connection::serve, "fake-redis-connection");
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            } catch (IOException e) {
+                // the server is closed.
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (FakeConnection connection : connections) {
+                connection.socket.close();
+            }
+        }
+    }
+
+    /** a connection of the fake server, which records the commands it receives. */
+    private static final class FakeConnection {
+
+        private final Socket socket;
+
+        private final List<String> commands = new CopyOnWriteArrayList<>();
+
+        private FakeConnection(Socket socket) {
+            this.socket = socket;
+        }
+
+        private void serve() {
+            try (InputStream in = new BufferedInputStream(socket.getInputStream());
+                    OutputStream out = socket.getOutputStream()) {
+                List<String> command;
+                while ((command = readCommand(in)) != null) {
+                    String name = command.get(0).toUpperCase();
+                    commands.add(name);
+                    out.write(reply(name).getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // the connection is closed.
+            }
+        }
+
+        private static String reply(String name) {
+            switch (name) {
+                case "HELLO":
+                    return "-ERR unknown command 'HELLO'\r\n";
+                case "PING":
+                    return "+PONG\r\n";
+                case "GET":
+                    return "$-1\r\n";
+                case "HGETALL":
+                    return "*0\r\n";
+                default:
+                    return "+OK\r\n";
+            }
+        }
+
+        private static List<String> readCommand(InputStream in) throws IOException {
+            String header = readLine(in);
+            if (header == null) {
+                return null;
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<String> command = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = Integer.parseInt(readLine(in).substring(1));
+                byte[] bytes = new byte[length + 2];
+                int read = 0;
+                while (read < bytes.length) {
+                    int n = in.read(bytes, read, bytes.length - read);
+                    if (n < 0) {
+                        return null;
+                    }
+                    read += n;
+                }
+                command.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            }
+            return command;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    return null;
+                }
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.apache.flink.streaming.connectors.redis.common.container;
+
+import io.lettuce.core.resource.ClientResources;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkSingleConfigHandler;
+import org.apache.flink.streaming.connectors.redis.common.config.LettuceConfig;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * the containers shared by reference, they are built without connecting to redis, which is
+ * connected by {@link RedisCommandsContainer#open()}.
+ */
+public class RedisSharedContainersTest {
+
+    private static final int IO_POOL_SIZE = 2;
+
+    private static final int EVENT_POOL_SIZE = 7;
+
+    private FlinkConfigBase config(String host, boolean shared) {
+        Map<String, String> options = new HashMap<>();
+        options.put(RedisOptions.REDISMODE.key(), "single");
+        options.put(RedisOptions.HOST.key(), host);
+        options.put(RedisOptions.CONNECTION_SHARED.key(), String.valueOf(shared));
+        options.put(RedisOptions.NETTY_IO_POOL_SIZE.key(), String.valueOf(IO_POOL_SIZE));
+        options.put(RedisOptions.NETTY_EVENT_POOL_SIZE.key(), String.valueOf(EVENT_POOL_SIZE));
+        return new FlinkSingleConfigHandler().createFlinkConfig(Configuration.fromMap(options));
+    }
+
+    @Test
+    public void testShareContainerOfSameConfig() throws Exception {
+        FlinkConfigBase config = config("shared-host", true);
+        RedisCommandsContainer first = RedisCommandsContainerBuilder.build(config, true);
+        RedisCommandsContainer second =
+                RedisCommandsContainerBuilder.build(config("shared-host", true), true);
+        RedisCommandsContainer replica =
+                RedisCommandsContainerBuilder.build(config, true, RedisReadFrom.REPLICA);
+        RedisCommandsContainer notShareable = RedisCommandsContainerBuilder.build(config, false);
+        try {
+            Assertions.assertSame(first, second);
+            Assertions.assertNotSame(first, replica);
+            Assertions.assertNotSame(first, notShareable);
+        } finally {
+            first.close();
+            second.close();
+            replica.close();
+            notShareable.close();
+        }
+    }
+
+    @Test
+    public void testNotShareContainerWhenDisabled() throws Exception {
+        FlinkConfigBase config = config("not-shared-host", false);
+        RedisCommandsContainer first = RedisCommandsContainerBuilder.build(config, true);
+        RedisCommandsContainer second = RedisCommandsContainerBuilder.build(config, true);
+        try {
+            Assertions.assertNotSame(first, second);
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    public void testCloseByLastReference() throws Exception {
+        // hold the client resources, to see whether the containers give back theirs.
+        ClientResources resources =
+                RedisClientResources.acquire(new LettuceConfig(IO_POOL_SIZE, EVENT_POOL_SIZE));
+        FlinkConfigBase config = config("closed-host", true);
+        RedisCommandsContainer first = RedisCommandsContainerBuilder.build(config, true);
+        RedisCommandsContainer second = RedisCommandsContainerBuilder.build(config, true);
+        Assertions.assertSame(first, second);
+
+        // still used by the other one, so it is not closed.
+        first.close();
+        Assertions.assertSame(second, RedisCommandsContainerBuilder.build(config, true));
+        second.close();
+
+        // closed by the last one, a new container is built after that.
+        second.close();
+        RedisCommandsContainer rebuilt = RedisCommandsContainerBuilder.build(config, true);
+        Assertions.assertNotSame(first, rebuilt);
+        rebuilt.close();
+
+        // all the containers have given back the resources.
+        Assertions.assertFalse(resources.eventExecutorGroup().isShuttingDown());
+        RedisClientResources.release(resources);
+        Assertions.assertTrue(resources.eventExecutorGroup().isShuttingDown());
+    }
+
+    @Test
+    public void testReleaseContainerNotShared() throws Exception {
+        FlinkConfigBase config = config("released-host", false);
+        RedisCommandsContainer container = RedisCommandsContainerBuilder.build(config, true);
+        try {
+            Assertions.assertTrue(RedisSharedContainers.release(container));
+        } finally {
+            container.close();
+        }
+    }
+}
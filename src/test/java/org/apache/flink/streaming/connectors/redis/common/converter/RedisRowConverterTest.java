@@ -0,0 +1,108 @@
+package org.apache.flink.streaming.connectors.redis.common.converter;
+
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter.RedisDeserializationConverter;
+import org.apache.flink.streaming.connectors.redis.common.converter.RedisRowConverter.RedisSerializationConverter;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.DataType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/** the converters of fields, which are created once for all the rows. */
+public class RedisRowConverterTest {
+
+    private static final List<DataType> DATA_TYPES =
+            Arrays.asList(
+                    DataTypes.STRING(),
+                    DataTypes.INT(),
+                    DataTypes.BIGINT(),
+                    DataTypes.DOUBLE(),
+                    DataTypes.BOOLEAN(),
+                    DataTypes.DECIMAL(10, 2),
+                    DataTypes.BYTES(),
+                    DataTypes.TIMESTAMP(3),
+                    DataTypes.ARRAY(DataTypes.INT()));
+
+    @Test
+    public void testRoundTripOfFields() {
+        GenericRowData row =
+                GenericRowData.of(
+                        StringData.fromString("name"),
+                        7,
+                        1L << 40,
+                        1.5d,
+                        true,
+                        DecimalData.fromBigDecimal(new BigDecimal("12.34"), 10, 2),
+                        new byte[] {1, 2, 3},
+                        TimestampData.fromEpochMillis(1_600_000_000_123L),
+                        null);
+        RedisSerializationConverter[] serializers = RedisRowConverter.createSerializers(DATA_TYPES);
+        RedisDeserializationConverter[] deserializers =
+                RedisRowConverter.createDeserializers(DATA_TYPES);
+
+        String[] values = new String[row.getArity() - 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = RedisRowConverter.rowDataToString(serializers[i], row, i);
+        }
+        Assertions.assertArrayEquals(
+                new String[] {
+                    "name", "7", "1099511627776", "1.5", "true", "12.34", "AQID", "1600000000123"
+                },
+                values);
+
+        for (int i = 0; i < values.length; i++) {
+            Object field = deserializers[i].deserialize(values[i]);
+            if (field instanceof byte[]) {
+                Assertions.assertArrayEquals((byte[]) row.getField(i), (byte[]) field);
+            } else {
+                Assertions.assertEquals(row.getField(i), field, "field " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsConverterOfType() {
+        GenericRowData row = GenericRowData.of(StringData.fromString("v"), 3);
+        RedisSerializationConverter[] serializers = RedisRowConverter.createSerializers(DATA_TYPES);
+        for (int i = 0; i < row.getArity(); i++) {
+            Assertions.assertEquals(
+                    RedisRowConverter.rowDataToString(DATA_TYPES.get(i).getLogicalType(), row, i),
+                    RedisRowConverter.rowDataToString(serializers[i], row, i));
+        }
+    }
+
+    @Test
+    public void testNullField() {
+        GenericRowData row = GenericRowData.of(null, null);
+        RedisSerializationConverter[] serializers = RedisRowConverter.createSerializers(DATA_TYPES);
+        Assertions.assertNull(RedisRowConverter.rowDataToString(serializers[0], row, 0));
+        Assertions.assertNull(RedisRowConverter.rowDataToString(serializers[1], row, 1));
+    }
+
+    @Test
+    public void testUnsupportedTypeFailsWhenUsed() {
+        // the column of unsupported type does not fail the others.
+        RedisSerializationConverter[] serializers = RedisRowConverter.createSerializers(DATA_TYPES);
+        RedisDeserializationConverter[] deserializers =
+                RedisRowConverter.createDeserializers(DATA_TYPES);
+        int unsupported = DATA_TYPES.size() - 1;
+        GenericRowData row = new GenericRowData(DATA_TYPES.size());
+        row.setField(unsupported, new int[] {1});
+
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () ->
+                        RedisRowConverter.rowDataToString(
+                                serializers[unsupported], row, unsupported));
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> deserializers[unsupported].deserialize("[1]"));
+    }
+}
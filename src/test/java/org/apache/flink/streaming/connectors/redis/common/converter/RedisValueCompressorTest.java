@@ -0,0 +1,128 @@
+package org.apache.flink.streaming.connectors.redis.common.converter;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisValueCompression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/** the header, the min bytes and the values written before compression was enabled. */
+public class RedisValueCompressorTest {
+
+    private static final RedisValueCompression[] CODECS = {
+        RedisValueCompression.LZ4, RedisValueCompression.SNAPPY, RedisValueCompression.ZSTD
+    };
+
+    private static byte[] compressible(int length) {
+        byte[] value = new byte[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = (byte) ('a' + i % 4);
+        }
+        return value;
+    }
+
+    @Test
+    public void testRoundTripWithHeader() {
+        byte[] value = compressible(2048);
+        for (RedisValueCompression codec : CODECS) {
+            byte[] compressed = new RedisValueCompressor(codec, 1024).compress(value);
+            Assertions.assertTrue(compressed.length < value.length, codec.getValue());
+            // the magic, the id of codec and the length of original value.
+            Assertions.assertArrayEquals(
+                    new byte[] {(byte) 0xFF, 'r', 'z', codec.getId(), 0, 0, 8, 0},
+                    Arrays.copyOf(compressed, 8),
+                    codec.getValue());
+            // the codec is taken from the header, not the option of lookup.
+            for (RedisValueCompression reader : CODECS) {
+                Assertions.assertArrayEquals(
+                        value, new RedisValueCompressor(reader, 0).decompress(compressed));
+            }
+        }
+    }
+
+    @Test
+    public void testNotCompressValueLessThanMinBytes() {
+        byte[] value = compressible(1023);
+        RedisValueCompressor compressor = new RedisValueCompressor(RedisValueCompression.LZ4, 1024);
+        Assertions.assertSame(value, compressor.compress(value));
+        Assertions.assertNotSame(value, compressor.compress(compressible(1024)));
+    }
+
+    @Test
+    public void testNotCompressValueNotSmaller() {
+        byte[] value = new byte[2048];
+        new Random(42).nextBytes(value);
+        for (RedisValueCompression codec : CODECS) {
+            Assertions.assertSame(value, new RedisValueCompressor(codec, 0).compress(value));
+        }
+    }
+
+    @Test
+    public void testReadLegacyValue() {
+        // written before compression was enabled, or smaller than the min bytes.
+        byte[] legacy = "{\"name\":\"tom\"}".getBytes(StandardCharsets.UTF_8);
+        RedisValueCompressor compressor = new RedisValueCompressor(RedisValueCompression.ZSTD, 0);
+        Assertions.assertSame(legacy, compressor.decompress(legacy));
+        Assertions.assertNull(compressor.decompress(null));
+        Assertions.assertNull(compressor.compress(null));
+    }
+
+    @Test
+    public void testValueStartingWithMagic() {
+        // a value which is not compressed but looks like the header.
+        byte[] value = {(byte) 0xFF, 'r', 'z', 1, 2, 3, 4, 5, 6};
+        RedisValueCompressor compressor = new RedisValueCompressor(RedisValueCompression.LZ4, 1024);
+        byte[] written = compressor.compress(value);
+        Assertions.assertEquals(RedisValueCompression.NONE.getId(), written[3]);
+        Assertions.assertArrayEquals(value, compressor.decompress(written));
+    }
+
+    @Test
+    public void testFailFastWithoutCodec() throws Exception {
+        URL classes =
+                RedisValueCompressor.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new CodecHidingClassLoader(classes)) {
+            Class<?> compressorClass = classLoader.loadClass(RedisValueCompressor.class.getName());
+            Assertions.assertNotSame(RedisValueCompressor.class, compressorClass);
+            InvocationTargetException e =
+                    Assertions.assertThrows(
+                            InvocationTargetException.class,
+                            () ->
+                                    compressorClass
+                                            .getConstructor(RedisValueCompression.class, int.class)
+                                            .newInstance(RedisValueCompression.LZ4, 1024));
+            Assertions.assertTrue(
+                    e.getCause() instanceof IllegalStateException, String.valueOf(e.getCause()));
+            Assertions.assertTrue(
+                    e.getCause().getMessage().contains("org.lz4:lz4-java"),
+                    e.getCause().getMessage());
+        }
+    }
+
+    /** load the compressor and its nested classes by itself, and hide the classes of lz4. */
+    private static class CodecHidingClassLoader extends URLClassLoader {
+
+        CodecHidingClassLoader(URL classes) {
+            super(new URL[] {classes}, RedisValueCompressorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("net.jpountz.")) {
+                throw new ClassNotFoundException(name);
+            }
+            if (name.startsWith(RedisValueCompressor.class.getName())) {
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : findClass(name);
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.apache.flink.streaming.connectors.redis.common.format;
+
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.format.DecodingFormat;
+import org.apache.flink.table.connector.format.EncodingFormat;
+import org.apache.flink.table.connector.sink.DynamicTableSink;
+import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.factories.DeserializationFormatFactory;
+import org.apache.flink.table.factories.DynamicTableFactory;
+import org.apache.flink.table.factories.SerializationFormatFactory;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * a json format of the flat rows of STRING, INT, BIGINT, DOUBLE and BOOLEAN, which stands for
+ * flink-json in the tests: 'value.format' = 'test-json'.
+ */
+public class TestJsonFormatFactory
+        implements DeserializationFormatFactory, SerializationFormatFactory {
+
+    public static final String IDENTIFIER = "test-json";
+
+    @Override
+    public DecodingFormat<DeserializationSchema<RowData>> createDecodingFormat(
+            DynamicTableFactory.Context context, ReadableConfig formatOptions) {
+        return new DecodingFormat<DeserializationSchema<RowData>>() {
+            @Override
+            public DeserializationSchema<RowData> createRuntimeDecoder(
+                    DynamicTableSource.Context context, DataType physicalDataType) {
+                return new JsonDeserializationSchema(
+                        (RowType) physicalDataType.getLogicalType(),
+                        context.createTypeInformation(physicalDataType));
+            }
+
+            @Override
+            public ChangelogMode getChangelogMode() {
+                return ChangelogMode.insertOnly();
+            }
+        };
+    }
+
+    @Override
+    public EncodingFormat<SerializationSchema<RowData>> createEncodingFormat(
+            DynamicTableFactory.Context context, ReadableConfig formatOptions) {
+        return new EncodingFormat<SerializationSchema<RowData>>() {
+            @Override
+            public SerializationSchema<RowData> createRuntimeEncoder(
+                    DynamicTableSink.Context context, DataType physicalDataType) {
+                return new JsonSerializationSchema((RowType) physicalDataType.getLogicalType());
+            }
+
+            @Override
+            public ChangelogMode getChangelogMode() {
+                return ChangelogMode.insertOnly();
+            }
+        };
+    }
+
+    @Override
+    public String factoryIdentifier() {
+        return IDENTIFIER;
+    }
+
+    @Override
+    public Set<ConfigOption<?>> requiredOptions() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Set<ConfigOption<?>> optionalOptions() {
+        return Collections.emptySet();
+    }
+
+    /** write the row as a json object of its fields by name. */
+    private static class JsonSerializationSchema implements SerializationSchema<RowData> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RowType rowType;
+
+        private transient ObjectMapper objectMapper;
+
+        private JsonSerializationSchema(RowType rowType) {
+            this.rowType = rowType;
+        }
+
+        @Override
+        public void open(InitializationContext context) {
+            objectMapper = new ObjectMapper();
+        }
+
+        @Override
+        public byte[] serialize(RowData rowData) {
+            ObjectNode node = objectMapper.createObjectNode();
+            List<RowType.RowField> fields = rowType.getFields();
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).getName();
+                if (rowData.isNullAt(i)) {
+                    node.putNull(name);
+                    continue;
+                }
+                LogicalType type = fields.get(i).getType();
+                switch (type.getTypeRoot()) {
+                    case VARCHAR:
+                        node.put(name, rowData.getString(i).toString());
+                        break;
+                    case INTEGER:
+                        node.put(name, rowData.getInt(i));
+                        break;
+                    case BIGINT:
+                        node.put(name, rowData.getLong(i));
+                        break;
+                    case DOUBLE:
+                        node.put(name, rowData.getDouble(i));
+                        break;
+                    case BOOLEAN:
+                        node.put(name, rowData.getBoolean(i));
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("unsupported type: " + type);
+                }
+            }
+            try {
+                return objectMapper.writeValueAsBytes(node);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /** read the row from a json object of its fields by name. */
+    private static class JsonDeserializationSchema implements DeserializationSchema<RowData> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RowType rowType;
+
+        private final TypeInformation<RowData> producedType;
+
+        private transient ObjectMapper objectMapper;
+
+        private JsonDeserializationSchema(
+                RowType rowType, TypeInformation<RowData> producedType) {
+            this.rowType = rowType;
+            this.producedType = producedType;
+        }
+
+        @Override
+        public void open(InitializationContext context) {
+            objectMapper = new ObjectMapper();
+        }
+
+        @Override
+        public RowData deserialize(byte[] message) throws IOException {
+            JsonNode node = objectMapper.readTree(message);
+            List<RowType.RowField> fields = rowType.getFields();
+            GenericRowData rowData = new GenericRowData(fields.size());
+            for (int i = 0; i < fields.size(); i++) {
+                JsonNode field = node.get(fields.get(i).getName());
+                if (field == null || field.isNull()) {
+                    continue;
+                }
+                LogicalType type = fields.get(i).getType();
+                switch (type.getTypeRoot()) {
+                    case VARCHAR:
+                        rowData.setField(i, StringData.fromString(field.asText()));
+                        break;
+                    case INTEGER:
+                        rowData.setField(i, field.asInt());
+                        break;
+                    case BIGINT:
+                        rowData.setField(i, field.asLong());
+                        break;
+                    case DOUBLE:
+                        rowData.setField(i, field.asDouble());
+                        break;
+                    case BOOLEAN:
+                        rowData.setField(i, field.asBoolean());
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("unsupported type: " + type);
+                }
+            }
+            return rowData;
+        }
+
+        @Override
+        public boolean isEndOfStream(RowData nextElement) {
+            return false;
+        }
+
+        @Override
+        public TypeInformation<RowData> getProducedType() {
+            return producedType;
+        }
+    }
+}
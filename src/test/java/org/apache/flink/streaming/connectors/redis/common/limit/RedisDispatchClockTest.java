@@ -0,0 +1,55 @@
+package org.apache.flink.streaming.connectors.redis.common.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/** the time when the commands are sent, from which the adaptive concurrency measures latency. */
+public class RedisDispatchClockTest {
+
+    @Test
+    public void testSentWhenIssued() {
+        RedisDispatchClock clock = new RedisDispatchClock(false);
+        long before = System.nanoTime();
+        RedisDispatchClock.Dispatch dispatch = clock.next();
+        long after = System.nanoTime();
+        Assertions.assertTrue(dispatch.getSentNanos() - before >= 0);
+        Assertions.assertTrue(after - dispatch.getSentNanos() >= 0);
+        // the flush is not the time of commands which are not queued.
+        clock.flushed();
+        Assertions.assertNotSame(dispatch, clock.next());
+    }
+
+    @Test
+    public void testQueuedCommandsSentByFlush() throws Exception {
+        RedisDispatchClock clock = new RedisDispatchClock(true);
+        RedisDispatchClock.Dispatch first = clock.next();
+        Assertions.assertSame(first, clock.next());
+
+        // the time waiting in the queue is not counted.
+        Thread.sleep(20);
+        long beforeFlush = System.nanoTime();
+        clock.flushed();
+        Assertions.assertTrue(first.getSentNanos() - beforeFlush >= 0);
+
+        // the commands issued after the flush are sent by the next one.
+        RedisDispatchClock.Dispatch second = clock.next();
+        Assertions.assertNotSame(first, second);
+        Thread.sleep(20);
+        long beforeNextFlush = System.nanoTime();
+        clock.flushed();
+        Assertions.assertTrue(second.getSentNanos() - beforeNextFlush >= 0);
+        Assertions.assertTrue(beforeNextFlush - first.getSentNanos() > 0);
+    }
+
+    @Test
+    public void testNotFlushedFromEarliestIssue() {
+        RedisDispatchClock clock = new RedisDispatchClock(true);
+        long beforeFlush = System.nanoTime();
+        clock.flushed();
+        long afterFlush = System.nanoTime();
+        // flushed by redis client, so the latency is measured from the last flush at most.
+        RedisDispatchClock.Dispatch dispatch = clock.next();
+        Assertions.assertTrue(dispatch.getSentNanos() - beforeFlush >= 0);
+        Assertions.assertTrue(afterFlush - dispatch.getSentNanos() >= 0);
+    }
+}
@@ -0,0 +1,39 @@
+package org.apache.flink.streaming.connectors.redis.common.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/** the waits of reservations of the token bucket. */
+public class RedisRateLimiterTest {
+
+    @Test
+    public void testReservationsWaitInOrder() {
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(10);
+        Assertions.assertEquals(0, rateLimiter.reserve(1));
+        long second = rateLimiter.reserve(1);
+        long third = rateLimiter.reserve(5);
+        long fourth = rateLimiter.reserve(1);
+
+        // each op costs 100 ms.
+        long tolerance = TimeUnit.MILLISECONDS.toNanos(20);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), second, tolerance);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(200), third, tolerance);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(700), fourth, tolerance);
+        Assertions.assertEquals(
+                TimeUnit.MILLISECONDS.toNanos(800), rateLimiter.getWaitNanos(), tolerance);
+    }
+
+    @Test
+    public void testNoWaitUnderRate() throws Exception {
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(1000);
+        Assertions.assertEquals(0, rateLimiter.getWaitNanos());
+        // the idle time is stored for a burst.
+        Thread.sleep(50);
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertEquals(0, rateLimiter.reserve(1));
+        }
+        Assertions.assertEquals(0, rateLimiter.getWaitNanos());
+    }
+}
@@ -0,0 +1,151 @@
+package org.apache.flink.streaming.connectors.redis.common.retry;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/** the retries of failed redis commands. */
+public class RedisAsyncRetrierTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    private final AtomicInteger afterRetries = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    private RedisAsyncRetrier retrier(int maxRetryTimes, boolean idempotent) {
+        return new RedisAsyncRetrier(
+                maxRetryTimes,
+                new RedisRetryOptions.Builder()
+                        .setInitialDelay(1)
+                        .setMaxDelay(2)
+                        .setRetryableErrors("LOADING,RedisCommandTimeoutException")
+                        .build(),
+                idempotent,
+                timer,
+                afterRetries::incrementAndGet);
+    }
+
+    /** a command which fails with the errors in order, and then succeeds. */
+    private static Supplier<CompletionStage<String>> command(
+            AtomicInteger attempts, Throwable... errors) {
+        return () -> {
+            int attempt = attempts.getAndIncrement();
+            CompletableFuture<String> future = new CompletableFuture<>();
+            if (attempt < errors.length) {
+                future.completeExceptionally(errors[attempt]);
+            } else {
+                future.complete("OK");
+            }
+            return future;
+        };
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) throws Exception {
+        ExecutionException e =
+                Assertions.assertThrows(
+                        ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    @Test
+    public void testRetryRetryableError() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result =
+                retrier(3, true)
+                        .execute(
+                                command(
+                                        attempts,
+                                        new RedisCommandExecutionException("LOADING"),
+                                        new RedisCommandTimeoutException("timeout")));
+        Assertions.assertEquals("OK", result.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(3, attempts.get());
+        // the last retry completes the result on the timer before its callback.
+        timer.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, afterRetries.get());
+    }
+
+    @Test
+    public void testNotRetryOtherError() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        RedisCommandExecutionException error = new RedisCommandExecutionException("ERR syntax");
+        CompletableFuture<String> result = retrier(3, true).execute(command(attempts, error));
+        Assertions.assertSame(error, failure(result));
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testNotRetryTimeoutOfNonIdempotentCommand() throws Exception {
+        // the command may have been executed by redis.
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result =
+                retrier(3, false)
+                        .execute(command(attempts, new RedisCommandTimeoutException("timeout")));
+        Assertions.assertTrue(failure(result) instanceof RedisCommandTimeoutException);
+        Assertions.assertEquals(1, attempts.get());
+
+        // an error reply means the command has not been executed.
+        attempts.set(0);
+        result =
+                retrier(3, false)
+                        .execute(command(attempts, new RedisCommandExecutionException("LOADING")));
+        Assertions.assertEquals("OK", result.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testFailWhenRetriesExhausted() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        RedisCommandExecutionException last = new RedisCommandExecutionException("LOADING 3");
+        CompletableFuture<String> result =
+                retrier(2, true)
+                        .execute(
+                                command(
+                                        attempts,
+                                        new RedisCommandExecutionException("LOADING 1"),
+                                        new RedisCommandExecutionException("LOADING 2"),
+                                        last));
+        Assertions.assertSame(last, failure(result));
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testFailWhenRetryNotAllowed() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result =
+                retrier(3, true)
+                        .execute(
+                                command(attempts, new RedisCommandExecutionException("LOADING")),
+                                () -> false);
+        Assertions.assertTrue(failure(result) instanceof RedisCommandExecutionException);
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testRetryFirstAttemptIssuedByCaller() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> firstAttempt = new CompletableFuture<>();
+        CompletableFuture<String> result =
+                retrier(3, true).retry(firstAttempt, command(attempts));
+        Assertions.assertFalse(result.isDone());
+        firstAttempt.completeExceptionally(new RedisCommandExecutionException("LOADING"));
+        Assertions.assertEquals("OK", result.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,91 @@
+package org.apache.flink.streaming.connectors.redis.common.retry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/** the order of writes of the same key when they are retried. */
+public class RedisKeyOrderGuardTest {
+
+    @Test
+    public void testSendWritesWithoutRetry() {
+        RedisKeyOrderGuard guard = new RedisKeyOrderGuard();
+        RedisKeyOrderGuard.Write first = guard.register(Collections.singletonList("a"));
+        RedisKeyOrderGuard.Write second = guard.register(Collections.singletonList("a"));
+        Assertions.assertNull(first.getBarrier());
+        Assertions.assertNull(second.getBarrier());
+
+        guard.complete(first);
+        guard.complete(second);
+        Assertions.assertEquals(0, guard.size());
+    }
+
+    @Test
+    public void testHoldNewerWritesUntilRetryCompletes() {
+        RedisKeyOrderGuard guard = new RedisKeyOrderGuard();
+        RedisKeyOrderGuard.Write failed = guard.register(Collections.singletonList("a"));
+        Assertions.assertTrue(guard.retry(failed));
+
+        RedisKeyOrderGuard.Write second = guard.register(Collections.singletonList("a"));
+        RedisKeyOrderGuard.Write third = guard.register(Arrays.asList("b", "a"));
+        RedisKeyOrderGuard.Write other = guard.register(Collections.singletonList("c"));
+        Assertions.assertFalse(second.getBarrier().isDone());
+        Assertions.assertFalse(third.getBarrier().isDone());
+        Assertions.assertNull(other.getBarrier());
+
+        // the held writes are sent one after another.
+        guard.complete(failed);
+        Assertions.assertTrue(second.getBarrier().isDone());
+        Assertions.assertFalse(third.getBarrier().isDone());
+        guard.sent(second);
+        guard.complete(second);
+        Assertions.assertTrue(third.getBarrier().isDone());
+        guard.sent(third);
+
+        // b is held behind the third write too.
+        RedisKeyOrderGuard.Write fourth = guard.register(Collections.singletonList("b"));
+        Assertions.assertFalse(fourth.getBarrier().isDone());
+        guard.complete(third);
+        Assertions.assertTrue(fourth.getBarrier().isDone());
+        guard.sent(fourth);
+        guard.complete(fourth);
+        guard.complete(other);
+        Assertions.assertEquals(0, guard.size());
+
+        Assertions.assertNull(guard.register(Collections.singletonList("a")).getBarrier());
+    }
+
+    @Test
+    public void testRefuseRetryAfterNewerWriteSent() {
+        RedisKeyOrderGuard guard = new RedisKeyOrderGuard();
+        RedisKeyOrderGuard.Write failed = guard.register(Arrays.asList("a", "b"));
+        RedisKeyOrderGuard.Write newer = guard.register(Collections.singletonList("b"));
+        Assertions.assertNull(newer.getBarrier());
+
+        Assertions.assertFalse(guard.retry(failed));
+        // the newer write is not held by the refused retry.
+        Assertions.assertNull(guard.register(Collections.singletonList("b")).getBarrier());
+    }
+
+    @Test
+    public void testRetryAgain() {
+        RedisKeyOrderGuard guard = new RedisKeyOrderGuard();
+        RedisKeyOrderGuard.Write failed = guard.register(Collections.singletonList("a"));
+        Assertions.assertTrue(guard.retry(failed));
+        RedisKeyOrderGuard.Write held = guard.register(Collections.singletonList("a"));
+        // the held write is not sent, so the retried write may be retried again.
+        Assertions.assertTrue(guard.retry(failed));
+        Assertions.assertFalse(held.getBarrier().isDone());
+
+        // the later writes still wait for the held write.
+        RedisKeyOrderGuard.Write later = guard.register(Collections.singletonList("a"));
+        guard.complete(failed);
+        Assertions.assertTrue(held.getBarrier().isDone());
+        Assertions.assertFalse(later.getBarrier().isDone());
+        guard.sent(held);
+        guard.complete(held);
+        Assertions.assertTrue(later.getBarrier().isDone());
+    }
+}
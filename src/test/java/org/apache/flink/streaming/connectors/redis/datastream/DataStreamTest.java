@@ -22,6 +22,7 @@ import org.apache.flink.table.types.DataType;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.util.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -77,4 +78,56 @@ public class DataStreamTest extends TestRedisConfigBase {
 
         Preconditions.condition(singleRedisCommands.hget("tom", "math").equals("152"), "");
     }
+
+    @Test
+    public void testDateStreamInsertWithCheckpoint() throws Exception {
+
+        Configuration configuration = new Configuration();
+        configuration.setString(REDIS_MODE, REDIS_SINGLE);
+        configuration.setString(REDIS_COMMAND, RedisCommand.HSET.name());
+
+        RedisSinkMapper redisMapper =
+                (RedisSinkMapper)
+                        RedisHandlerServices.findRedisHandler(
+                                        RedisMapperHandler.class, configuration.toMap())
+                                .createRedisMapper(configuration);
+
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.enableCheckpointing(1000);
+
+        List<BinaryRowData> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            BinaryRowData binaryRowData = new BinaryRowData(3);
+            BinaryRowWriter binaryRowWriter = new BinaryRowWriter(binaryRowData);
+            binaryRowWriter.writeString(0, StringData.fromString("in_flight"));
+            binaryRowWriter.writeString(1, StringData.fromString(String.valueOf(i)));
+            binaryRowWriter.writeString(2, StringData.fromString(String.valueOf(i)));
+            binaryRowWriter.complete();
+            rows.add(binaryRowData);
+        }
+
+        DataStream<BinaryRowData> dataStream = env.fromCollection(rows);
+
+        List<String> columnNames = Arrays.asList("name", "subject", "scope");
+        List<DataType> columnDataTypes =
+                Arrays.asList(DataTypes.STRING(), DataTypes.STRING(), DataTypes.STRING());
+        ResolvedSchema resolvedSchema = ResolvedSchema.physical(columnNames, columnDataTypes);
+
+        RedisSinkOptions redisSinkOptions =
+                new RedisSinkOptions.Builder().setMaxRetryTimes(3).setMaxInFlight(2).build();
+        FlinkConfigBase conf =
+                new FlinkSingleConfig.Builder()
+                        .setHost(REDIS_HOST)
+                        .setPort(REDIS_PORT)
+                        .setPassword(REDIS_PASSWORD)
+                        .build();
+
+        RedisSinkFunction redisSinkFunction =
+                new RedisSinkFunction<>(conf, redisMapper, redisSinkOptions, resolvedSchema);
+
+        dataStream.addSink(redisSinkFunction).setParallelism(1);
+        env.execute("RedisSinkTest");
+
+        Preconditions.condition(singleRedisCommands.hlen("in_flight") == 100, "");
+    }
 }
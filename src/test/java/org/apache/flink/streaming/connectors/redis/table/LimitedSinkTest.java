@@ -60,4 +60,69 @@ public class LimitedSinkTest extends TestRedisConfigBase {
         Thread.sleep(ttl + 10000);
         Preconditions.condition(singleRedisCommands.hget("sink_limit_test", "0") == null, "");
     }
+
+    @Test
+    public void testRateLimit() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("rate_limit");
+        String source =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='1000', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='20')";
+        tEnv.executeSql(source);
+
+        String sink =
+                "create table sink_redis(name varchar, uid varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.SADD
+                        + "', 'sink.rate-limit.ops-per-second'='10')";
+        tEnv.executeSql(sink);
+
+        long start = System.currentTimeMillis();
+        tEnv.executeSql("insert into sink_redis select 'rate_limit', uid from source_table")
+                .getJobClient()
+                .get()
+                .getJobExecutionResult()
+                .get();
+
+        // 20 rows at 10 ops per second take about 2 seconds.
+        Preconditions.condition(System.currentTimeMillis() - start >= 1500, "");
+        Preconditions.condition(singleRedisCommands.scard("rate_limit") == 20, "");
+    }
+
+    @Test
+    public void testAdaptiveConcurrency() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("adaptive_concurrency");
+        String source =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='1000', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='1000')";
+        tEnv.executeSql(source);
+
+        String sink =
+                "create table sink_redis(name varchar, uid varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.SADD
+                        + "', 'sink.max-in-flight'='20', 'sink.adaptive-concurrency.enabled'='true',"
+                        + " 'sink.adaptive-concurrency.target-latency'='1')";
+        tEnv.executeSql(sink);
+
+        tEnv.executeSql("insert into sink_redis select 'adaptive_concurrency', uid from source_table")
+                .getJobClient()
+                .get()
+                .getJobExecutionResult()
+                .get();
+        Preconditions.condition(singleRedisCommands.scard("adaptive_concurrency") == 1000, "");
+    }
 }
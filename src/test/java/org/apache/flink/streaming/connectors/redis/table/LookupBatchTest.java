@@ -0,0 +1,116 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openLookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/** the concurrent lookups read from redis in batches. */
+public class LookupBatchTest {
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    private Map<String, String> getOptions(String command) {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), command);
+        options.put(RedisOptions.LOOKUP_BATCH_SIZE.key(), "2");
+        options.put(RedisOptions.LOOKUP_BATCH_MAX_DELAY.key(), "60000");
+        return options;
+    }
+
+    @Test
+    public void testGetInOneMget() throws Exception {
+        redis.putString("a", "1");
+        redis.putString("b", "2");
+        RedisLookupFunction lookup = openLookup(getOptions("GET"), stringSchema("k", "v"), 0);
+        CompletableFuture<Collection<GenericRowData>> a = new CompletableFuture<>();
+        CompletableFuture<Collection<GenericRowData>> b = new CompletableFuture<>();
+        lookup.eval(a, StringData.fromString("a"));
+        lookup.eval(b, StringData.fromString("b"));
+
+        Assertions.assertEquals(
+                StringData.fromString("1"),
+                a.get(10, TimeUnit.SECONDS).iterator().next().getField(1));
+        Assertions.assertEquals(
+                StringData.fromString("2"),
+                b.get(10, TimeUnit.SECONDS).iterator().next().getField(1));
+        lookup.close();
+        Assertions.assertEquals(Collections.singletonList("mget"), redis.commands());
+    }
+
+    @Test
+    public void testHgetOfSameKeyInOneHmget() throws Exception {
+        redis.putHash("h", Collections.singletonMap("f1", "1"));
+        redis.putHash("h", Collections.singletonMap("f2", "2"));
+        RedisLookupFunction lookup =
+                openLookup(getOptions("HGET"), stringSchema("k", "f", "v"), 0, 1);
+        CompletableFuture<Collection<GenericRowData>> f1 = new CompletableFuture<>();
+        CompletableFuture<Collection<GenericRowData>> f2 = new CompletableFuture<>();
+        lookup.eval(f1, StringData.fromString("h"), StringData.fromString("f1"));
+        lookup.eval(f2, StringData.fromString("h"), StringData.fromString("f2"));
+
+        Assertions.assertEquals(
+                StringData.fromString("1"),
+                f1.get(10, TimeUnit.SECONDS).iterator().next().getField(2));
+        Assertions.assertEquals(
+                StringData.fromString("2"),
+                f2.get(10, TimeUnit.SECONDS).iterator().next().getField(2));
+        lookup.close();
+        Assertions.assertEquals(Collections.singletonList("hmget"), redis.commands());
+        Assertions.assertArrayEquals(
+                new String[] {"f1", "f2"}, (String[]) redis.calls().get(0).args[1]);
+    }
+
+    @Test
+    public void testHgetOfDifferentKeysByHmgetPerKey() throws Exception {
+        redis.putHash("h", Collections.singletonMap("f1", "1"));
+        redis.putHash("g", Collections.singletonMap("f1", "3"));
+        Map<String, String> options = getOptions("HGET");
+        options.put(RedisOptions.LOOKUP_BATCH_SIZE.key(), "3");
+        RedisLookupFunction lookup = openLookup(options, stringSchema("k", "f", "v"), 0, 1);
+        CompletableFuture<Collection<GenericRowData>> hf1 = new CompletableFuture<>();
+        CompletableFuture<Collection<GenericRowData>> gf1 = new CompletableFuture<>();
+        CompletableFuture<Collection<GenericRowData>> hf2 = new CompletableFuture<>();
+        lookup.eval(hf1, StringData.fromString("h"), StringData.fromString("f1"));
+        lookup.eval(gf1, StringData.fromString("g"), StringData.fromString("f1"));
+        lookup.eval(hf2, StringData.fromString("h"), StringData.fromString("f2"));
+
+        Assertions.assertEquals(
+                StringData.fromString("1"),
+                hf1.get(10, TimeUnit.SECONDS).iterator().next().getField(2));
+        Assertions.assertEquals(
+                StringData.fromString("3"),
+                gf1.get(10, TimeUnit.SECONDS).iterator().next().getField(2));
+        // the absent field is a null value.
+        Assertions.assertNull(hf2.get(10, TimeUnit.SECONDS).iterator().next().getField(2));
+        lookup.close();
+        Assertions.assertEquals(Arrays.asList("hmget", "hmget"), redis.commands());
+        Assertions.assertArrayEquals(
+                new String[] {"f1", "f2"}, (String[]) redis.calls().get(0).args[1]);
+        Assertions.assertEquals(0, redis.count("hget"));
+    }
+}
@@ -0,0 +1,110 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.lookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openLookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** the lookups of hash which read just the projected columns by HMGET. */
+public class LookupHashProjectionTest {
+
+    private static final ResolvedSchema SCHEMA = stringSchema("name", "a", "b", "c");
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("a", "1");
+        fields.put("b", "2");
+        fields.put("c", "3");
+        redis.putHash("k", fields);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    private Map<String, String> getOptions() {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "HGET");
+        options.put(RedisOptions.VALUE_DATA_STRUCTURE.key(), "hash");
+        return options;
+    }
+
+    private static GenericRowData stringRow(String... fields) {
+        return GenericRowData.of(Arrays.stream(fields).map(StringData::fromString).toArray());
+    }
+
+    private List<GenericRowData> lookupKey(int[] projectedFields, int key) throws Exception {
+        RedisLookupFunction lookup = openLookup(getOptions(), SCHEMA, projectedFields, key);
+        try {
+            return new ArrayList<>(lookup(lookup, StringData.fromString("k")));
+        } finally {
+            lookup.close();
+        }
+    }
+
+    private String[] hmgetFields() {
+        Assertions.assertEquals(Collections.singletonList("hmget"), redis.commands());
+        return (String[]) redis.calls().get(0).args[1];
+    }
+
+    @Test
+    public void testReadAllColumns() throws Exception {
+        Assertions.assertEquals(
+                Collections.singletonList(stringRow("k", "1", "2", "3")), lookupKey(null, 0));
+        Assertions.assertArrayEquals(new String[] {"a", "b", "c"}, hmgetFields());
+    }
+
+    @Test
+    public void testReadProjectedColumns() throws Exception {
+        Assertions.assertEquals(
+                Collections.singletonList(stringRow("k", "2")), lookupKey(new int[] {0, 2}, 0));
+        Assertions.assertArrayEquals(new String[] {"b"}, hmgetFields());
+    }
+
+    @Test
+    public void testProjectedColumnsInOtherOrder() throws Exception {
+        // the key is the second column of the projected row.
+        Assertions.assertEquals(
+                Collections.singletonList(stringRow("3", "k", "1")),
+                lookupKey(new int[] {3, 0, 1}, 1));
+        Assertions.assertArrayEquals(new String[] {"c", "a"}, hmgetFields());
+    }
+
+    @Test
+    public void testMissingFieldIsNull() throws Exception {
+        redis.putHash("k", Collections.singletonMap("b", "2"));
+        redis.container().hdel("k", "a", "c").get();
+        Assertions.assertEquals(
+                Collections.singletonList(stringRow("2", null, "k")),
+                lookupKey(new int[] {2, 3, 0}, 2));
+    }
+
+    @Test
+    public void testReadJustKeyByExists() throws Exception {
+        // HMGET needs a field at least, the key is checked by EXISTS.
+        Assertions.assertEquals(
+                Collections.singletonList(stringRow("k")), lookupKey(new int[] {0}, 0));
+        Assertions.assertEquals(Collections.singletonList("exists"), redis.commands());
+    }
+}
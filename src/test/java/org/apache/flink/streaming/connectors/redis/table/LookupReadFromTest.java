@@ -0,0 +1,93 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.lookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openLookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisReadFrom;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/** the lookups routed to the nodes of lookup.read-from. */
+public class LookupReadFromTest {
+
+    private TestRedisCommandsContainer master;
+
+    private TestRedisCommandsContainer replica;
+
+    @BeforeEach
+    public void setUp() {
+        master = new TestRedisCommandsContainer();
+        replica = master.readFrom(RedisReadFrom.REPLICA);
+        master.putString("k", "from-master");
+        replica.putString("k", "from-replica");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        master.release();
+        replica.release();
+    }
+
+    private Map<String, String> getOptions(TestRedisCommandsContainer redis) {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "GET");
+        return options;
+    }
+
+    @Test
+    public void testReadFromReplica() throws Exception {
+        RedisLookupFunction lookup = openLookup(getOptions(replica), stringSchema("k", "v"), 0);
+        Collection<GenericRowData> rows = lookup(lookup, StringData.fromString("k"));
+        lookup.close();
+
+        Assertions.assertEquals(
+                Collections.singletonList(
+                        GenericRowData.of(
+                                StringData.fromString("k"), StringData.fromString("from-replica"))),
+                new ArrayList<>(rows));
+        Assertions.assertEquals(1, replica.count("get"));
+        Assertions.assertEquals(0, master.count("get"));
+    }
+
+    @Test
+    public void testReadFromMasterByDefault() throws Exception {
+        RedisLookupFunction lookup = openLookup(getOptions(master), stringSchema("k", "v"), 0);
+        Collection<GenericRowData> rows = lookup(lookup, StringData.fromString("k"));
+        lookup.close();
+
+        Assertions.assertEquals(
+                StringData.fromString("from-master"), rows.iterator().next().getField(1));
+        Assertions.assertEquals(0, replica.count("get"));
+    }
+
+    @Test
+    public void testParseReadFrom() {
+        Assertions.assertEquals(RedisReadFrom.REPLICA, RedisReadFrom.fromValue("REPLICA"));
+        Assertions.assertEquals(
+                RedisReadFrom.REPLICA_PREFERRED, RedisReadFrom.fromValue("replica-preferred"));
+        IllegalArgumentException e =
+                Assertions.assertThrows(
+                        IllegalArgumentException.class, () -> RedisReadFrom.fromValue("slave"));
+        Assertions.assertTrue(e.getMessage().contains("replica-preferred"), e.getMessage());
+    }
+
+    @Test
+    public void testRejectUnknownReadFrom() {
+        Map<String, String> options = getOptions(master);
+        options.put(RedisOptions.LOOKUP_READ_FROM.key(), "slave");
+        Assertions.assertThrows(
+                Exception.class, () -> openLookup(options, stringSchema("k", "v"), 0));
+    }
+}
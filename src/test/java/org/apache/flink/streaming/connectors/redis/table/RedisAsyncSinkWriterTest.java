@@ -0,0 +1,104 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisRetryOptions;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.streaming.connectors.redis.common.retry.RedisRetryableErrors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/** the failed entries of a batch which {@link RedisAsyncSinkWriter} sends again. */
+public class RedisAsyncSinkWriterTest {
+
+    private static final RedisRetryableErrors RETRYABLE_ERRORS =
+            new RedisRetryableErrors(
+                    new RedisRetryOptions.Builder()
+                            .setRetryableErrors("LOADING,RedisCommandTimeoutException")
+                            .build());
+
+    private static final Throwable TIMEOUT = new RedisCommandTimeoutException("timeout");
+
+    private static RedisWriteRequest request(RedisCommand command, String... params) {
+        return new RedisWriteRequest(command, params);
+    }
+
+    private static List<RedisWriteRequest> retry(
+            List<RedisWriteRequest> requestEntries, Throwable... causes) throws IOException {
+        return RedisAsyncSinkWriter.getEntriesToRetry(
+                requestEntries, Arrays.asList(causes), RETRYABLE_ERRORS);
+    }
+
+    @Test
+    public void testRetryIdempotentOnTimeout() throws Exception {
+        RedisWriteRequest a = request(RedisCommand.SET, "a", "1");
+        RedisWriteRequest b = request(RedisCommand.SET, "b", "1");
+        RedisWriteRequest c = request(RedisCommand.SET, "c", "1");
+        Assertions.assertEquals(
+                Arrays.asList(a, c), retry(Arrays.asList(a, b, c), TIMEOUT, null, TIMEOUT));
+    }
+
+    @Test
+    public void testNotRetryNonIdempotentOnTimeout() {
+        for (RedisCommand command :
+                Arrays.asList(RedisCommand.INCRBY, RedisCommand.RPUSH, RedisCommand.PUBLISH)) {
+            // it may have been executed by redis.
+            Assertions.assertThrows(
+                    IOException.class,
+                    () -> retry(Collections.singletonList(request(command, "a", "1")), TIMEOUT),
+                    command.name());
+        }
+    }
+
+    @Test
+    public void testRetryNonIdempotentOnErrorReply() throws Exception {
+        RedisWriteRequest incr = request(RedisCommand.INCRBY, "a", "1");
+        Assertions.assertEquals(
+                Collections.singletonList(incr),
+                retry(
+                        Collections.singletonList(incr),
+                        new RedisCommandExecutionException("LOADING redis is loading")));
+    }
+
+    @Test
+    public void testNotRetryUnconfiguredErrors() {
+        RedisWriteRequest set = request(RedisCommand.SET, "a", "1");
+        // MOVED is not in the configured errors.
+        Assertions.assertThrows(
+                IOException.class,
+                () ->
+                        retry(
+                                Collections.singletonList(set),
+                                new RedisCommandExecutionException("MOVED 3999 127.0.0.1:6381")));
+        Assertions.assertThrows(
+                IOException.class,
+                () -> retry(Collections.singletonList(set), new IllegalStateException()));
+    }
+
+    @Test
+    public void testNotRetryBehindNewerWriteOfKey() {
+        RedisWriteRequest older = request(RedisCommand.SET, "a", "1");
+        RedisWriteRequest newer = request(RedisCommand.SET, "a", "2");
+        IOException e =
+                Assertions.assertThrows(
+                        IOException.class,
+                        () -> retry(Arrays.asList(older, newer), TIMEOUT, null));
+        Assertions.assertSame(TIMEOUT, e.getCause());
+    }
+
+    @Test
+    public void testRetryFailedWritesOfKeyInOrder() throws Exception {
+        RedisWriteRequest first = request(RedisCommand.SET, "a", "1");
+        RedisWriteRequest other = request(RedisCommand.SET, "b", "1");
+        RedisWriteRequest second = request(RedisCommand.SET, "a", "2");
+        Assertions.assertEquals(
+                Arrays.asList(first, second),
+                retry(Arrays.asList(first, other, second), TIMEOUT, null, TIMEOUT));
+    }
+}
@@ -0,0 +1,81 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.createTableSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import io.lettuce.core.cluster.SlotHash;
+
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.util.ExceptionUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** the partition of sink rows by the hash slot of key. */
+public class RedisSlotPartitionerTest {
+
+    @Test
+    public void testPartitionByContiguousSlotRanges() {
+        RedisSlotPartitioner partitioner = new RedisSlotPartitioner();
+        int partitions = 4;
+        int last = 0;
+        for (int slot = 0; slot < SlotHash.SLOT_COUNT; slot += 97) {
+            // the keys '{n}' do not hit every slot, so just the order of partitions is checked.
+            String key = keyOfSlot(slot);
+            int partition = partitioner.partition(key, partitions);
+            Assertions.assertTrue(partition >= last && partition < partitions);
+            last = partition;
+        }
+        Assertions.assertEquals(partitions - 1, last);
+        Assertions.assertEquals(
+                partitioner.partition("{user}1", partitions),
+                partitioner.partition("{user}2", partitions));
+    }
+
+    @Test
+    public void testNullKeyToFirstPartition() {
+        Assertions.assertEquals(0, new RedisSlotPartitioner().partition(null, 4));
+    }
+
+    @Test
+    public void testRejectPartitionBySlotWithoutCluster() {
+        Map<String, String> options = new HashMap<>();
+        options.put(RedisOptions.REDISMODE.key(), "single");
+        options.put(RedisOptions.HOST.key(), "localhost");
+        options.put(RedisOptions.COMMAND.key(), "set");
+        options.put(RedisOptions.SINK_PARTITION_BY_SLOT.key(), "true");
+        ValidationException e =
+                Assertions.assertThrows(
+                        ValidationException.class,
+                        () -> createTableSink(options, stringSchema("name", "value")));
+        Assertions.assertTrue(
+                ExceptionUtils.findThrowableWithMessage(e, "just support the cluster mode")
+                        .isPresent());
+
+        options.put(RedisOptions.REDISMODE.key(), "cluster");
+        options.remove(RedisOptions.HOST.key());
+        options.put(RedisOptions.CLUSTERNODES.key(), "localhost:7000");
+        Assertions.assertNotNull(createTableSink(options, stringSchema("name", "value")));
+    }
+
+    /** find a key of the slot or a little after it. */
+    private static String keyOfSlot(int slot) {
+        String best = null;
+        int bestSlot = Integer.MAX_VALUE;
+        for (int i = 0; i < 100000; i++) {
+            String key = String.valueOf(i);
+            int keySlot = SlotHash.getSlot(key);
+            if (keySlot == slot) {
+                return key;
+            }
+            if (keySlot > slot && keySlot < bestSlot) {
+                best = key;
+                bestSlot = keySlot;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,44 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/** test for the size of {@link RedisWriteRequest}. */
+public class RedisWriteRequestTest {
+
+    @Test
+    public void testSizeOfAsciiParams() {
+        RedisWriteRequest request =
+                new RedisWriteRequest(RedisCommand.HSET, new String[] {"key", "field", "value"});
+        assertEquals(13, request.getSizeInBytes());
+    }
+
+    @Test
+    public void testSizeIsEncodedBytes() {
+        String value = "é中文😀";
+        RedisWriteRequest request =
+                new RedisWriteRequest(RedisCommand.SET, new String[] {"key", value});
+        assertEquals(
+                3 + value.getBytes(StandardCharsets.UTF_8).length, request.getSizeInBytes());
+        assertEquals(2 + 3 + 3 + 4, RedisWriteRequest.utf8Length(value));
+    }
+
+    @Test
+    public void testSizeSkipsNullParams() {
+        RedisWriteRequest request =
+                new RedisWriteRequest(RedisCommand.SET, new String[] {"key", null});
+        assertEquals(3, request.getSizeInBytes());
+    }
+
+    @Test
+    public void testSizeOfUnpairedSurrogate() {
+        String value = "a\uD83Db";
+        assertEquals(
+                value.getBytes(StandardCharsets.UTF_8).length,
+                RedisWriteRequest.utf8Length(value));
+    }
+}
@@ -0,0 +1,257 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.descriptor.RedisValidator.REDIS_COMMAND;
+
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.connectors.redis.TestRedisConfigBase;
+import org.apache.flink.streaming.connectors.redis.common.mapper.RedisCommand;
+import org.apache.flink.table.api.TableResult;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.util.Preconditions;
+
+/** test for sink with buffered commands. */
+public class SQLBufferFlushTest extends TestRedisConfigBase {
+
+    @Test
+    public void testBufferFlushByMaxRows() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("buffer_flush_rows");
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='25')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, level varchar, age varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.HSET
+                        + "', 'sink.buffer-flush.max-rows'='10')";
+        tEnv.executeSql(sink);
+        String sql = " insert into sink_redis select 'buffer_flush_rows', uid, uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        // the last 5 rows are flushed when the sink is closed.
+        Preconditions.condition(singleRedisCommands.hlen("buffer_flush_rows") == 25, "");
+    }
+
+    @Test
+    public void testBufferFlushByInterval() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("buffer_flush_interval");
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='1', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='5')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, level varchar, age varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'ttl'='60', '"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.HSET
+                        + "', 'sink.buffer-flush.max-rows'='1000', 'sink.buffer-flush.interval'='200')";
+        tEnv.executeSql(sink);
+        String sql =
+                " insert into sink_redis select 'buffer_flush_interval', uid, uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        Preconditions.condition(singleRedisCommands.hlen("buffer_flush_interval") == 5, "");
+        Preconditions.condition(singleRedisCommands.ttl("buffer_flush_interval") > 0, "");
+    }
+
+    @Test
+    public void testAsyncSinkWriter() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("async_writer");
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='25')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, level varchar, age varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'ttl'='60', '"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.HSET
+                        + "', 'sink.async-writer.enabled'='true', 'sink.buffer-flush.max-rows'='10')";
+        tEnv.executeSql(sink);
+        String sql = " insert into sink_redis select 'async_writer', uid, uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        Preconditions.condition(singleRedisCommands.hlen("async_writer") == 25, "");
+        Preconditions.condition(singleRedisCommands.ttl("async_writer") > 0, "");
+    }
+
+    @Test
+    public void testPreAggregation() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("pre_aggregation");
+        String ddl =
+                "create table source_table(uid BIGINT) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='20')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, num bigint) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.INCRBY
+                        + "', 'sink.buffer-flush.max-rows'='8', 'sink.pre-aggregation.enabled'='true')";
+        tEnv.executeSql(sink);
+        String sql = " insert into sink_redis select 'pre_aggregation', uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        Preconditions.condition(singleRedisCommands.get("pre_aggregation").equals("210"), "");
+    }
+
+    @Test
+    public void testUpsertCompaction() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("upsert_compaction");
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='20')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, num varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.SET
+                        + "', 'sink.buffer-flush.max-rows'='8', 'sink.upsert-compaction.enabled'='true')";
+        tEnv.executeSql(sink);
+        // every row updates the count of the same key.
+        String sql =
+                " insert into sink_redis select 'upsert_compaction', cast(count(*) as varchar) from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        Preconditions.condition(singleRedisCommands.get("upsert_compaction").equals("20"), "");
+    }
+
+    @Test
+    public void testMultiElementCommand() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("multi_element");
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='25')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, val varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.RPUSH
+                        + "', 'sink.buffer-flush.max-rows'='10')";
+        tEnv.executeSql(sink);
+        String sql = " insert into sink_redis select 'multi_element', uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        // the rows of the same key are pushed by one command in order.
+        Preconditions.condition(singleRedisCommands.llen("multi_element") == 25, "");
+        Preconditions.condition(singleRedisCommands.lindex("multi_element", 0).equals("1"), "");
+        Preconditions.condition(singleRedisCommands.lindex("multi_element", 24).equals("25"), "");
+    }
+
+    @Test
+    public void testClusterPartitionBySlot() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='30')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, val varchar) with (  "
+                        + SQLWithUtil.clusterWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.SET
+                        + "', 'sink.parallelism'='3', 'sink.buffer-flush.max-rows'='10',"
+                        + " 'sink.partition-by-slot.enabled'='true')";
+        tEnv.executeSql(sink);
+        // the keys are spread on all masters.
+        String sql =
+                " insert into sink_redis select concat('partition_by_slot_', uid), uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        for (int i = 1; i <= 30; i++) {
+            Preconditions.condition(
+                    String.valueOf(i).equals(clusterCommands.get("partition_by_slot_" + i)), "");
+        }
+    }
+
+    @Test
+    public void testMultipleConnections() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='10', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='30')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, val varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.SET
+                        + "', 'sink.buffer-flush.max-rows'='10', 'connection.count'='4')";
+        tEnv.executeSql(sink);
+        String sql =
+                " insert into sink_redis select concat('multiple_connections_', uid), uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        for (int i = 1; i <= 30; i++) {
+            Preconditions.condition(
+                    String.valueOf(i).equals(singleRedisCommands.get("multiple_connections_" + i)),
+                    "");
+        }
+    }
+}
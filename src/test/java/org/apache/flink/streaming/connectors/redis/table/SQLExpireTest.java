@@ -100,4 +100,33 @@ public class SQLExpireTest extends TestRedisConfigBase {
         System.out.println(sql);
         Preconditions.condition(singleRedisCommands.exists("1") == 0, "");
     }
+
+    @Test
+    public void testSinkValueWithTtlRefreshInterval() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(1);
+        singleRedisCommands.del("ttl_refresh");
+        String ddl =
+                "create table source_table(uid VARCHAR) with ('connector'='datagen',"
+                        + "'rows-per-second'='5', "
+                        + "'fields.uid.kind'='sequence', 'fields.uid.start'='1', 'fields.uid.end'='10')";
+        tEnv.executeSql(ddl);
+
+        String sink =
+                "create table sink_redis(name varchar, level varchar, age varchar) with (  "
+                        + SQLWithUtil.sigleWith()
+                        + "'ttl'='60', 'sink.ttl.refresh-interval'='5000', '"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.HSET
+                        + "' )";
+        tEnv.executeSql(sink);
+        String sql = " insert into sink_redis select 'ttl_refresh', uid, uid from source_table";
+
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        Preconditions.condition(singleRedisCommands.hlen("ttl_refresh") == 10, "");
+        Preconditions.condition(singleRedisCommands.ttl("ttl_refresh") > 0, "");
+    }
 }
@@ -412,6 +412,45 @@ public class SQLTest extends TestRedisConfigBase {
         Preconditions.condition(singleRedisCommands.get("1").equals(s), "");
     }
 
+    @Test
+    public void testSinkValueFromTypedRow() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+
+        String ddl =
+                "create table sink_redis(username VARCHAR, name VARCHAR, age bigint, score decimal(10, 2), passed boolean) with ( 'connector'='redis', "
+                        + "'host'='"
+                        + REDIS_HOST
+                        + "','port'='"
+                        + REDIS_PORT
+                        + "', 'redis-mode'='single','password'='"
+                        + REDIS_PASSWORD
+                        + "','"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.SET
+                        + "', 'value.data.structure'='row')";
+
+        tEnv.executeSql(ddl);
+        String sql =
+                " insert into sink_redis select * from (values ('typed_row', '张三', -120, 99.50, true))";
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+        String s =
+                new StringBuilder()
+                        .append("typed_row")
+                        .append(RedisDynamicTableFactory.CACHE_SEPERATOR)
+                        .append("张三")
+                        .append(RedisDynamicTableFactory.CACHE_SEPERATOR)
+                        .append("-120")
+                        .append(RedisDynamicTableFactory.CACHE_SEPERATOR)
+                        .append("99.50")
+                        .append(RedisDynamicTableFactory.CACHE_SEPERATOR)
+                        .append("true")
+                        .toString();
+        Preconditions.condition(singleRedisCommands.get("typed_row").equals(s), "");
+    }
+
     @Test
     public void testMultiFieldLeftJoinForString() throws Exception {
         StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
@@ -849,4 +888,101 @@ public class SQLTest extends TestRedisConfigBase {
         tableResult.getJobClient().get().getJobExecutionResult().get();
         System.out.println(sql);
     }
+
+    @Test
+    public void testSharedConnection() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env);
+        env.setParallelism(2);
+
+        clusterCommands.hset("shared_dim", "1", "test");
+        String with =
+                "'connector'='redis', 'cluster-nodes'='"
+                        + CLUSTERNODES
+                        + "','redis-mode'='cluster', 'password'='"
+                        + CLUSTER_PASSWORD
+                        + "', 'connection.shared'='true', '"
+                        + REDIS_COMMAND
+                        + "'='";
+        tEnv.executeSql(
+                "create table dim_table(name varchar, level varchar, age varchar) with ("
+                        + with
+                        + RedisCommand.HGET
+                        + "')");
+        tEnv.executeSql(
+                "create table sink_table(name varchar, level varchar, age varchar) with ("
+                        + with
+                        + RedisCommand.HSET
+                        + "')");
+        tEnv.executeSql(
+                "create table source_table(level varchar, proctime as procTime()) with ('connector'='datagen',"
+                        + " 'rows-per-second'='10', 'fields.level.kind'='sequence',"
+                        + " 'fields.level.start'='1', 'fields.level.end'='10')");
+
+        String sql =
+                " insert into sink_table select 'shared_sink', s.level, d.age from source_table s"
+                        + "  left join dim_table for system_time as of s.proctime as d"
+                        + " on d.name = 'shared_dim' and d.level = s.level";
+        tEnv.executeSql(sql).getJobClient().get().getJobExecutionResult().get();
+
+        Preconditions.condition(clusterCommands.hget("shared_sink", "1").equals("test"), "");
+        Preconditions.condition(clusterCommands.hlen("shared_sink") == 10, "");
+    }
+
+    @Test
+    public void testHgetReadFromReplicaSQL() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+
+        EnvironmentSettings environmentSettings =
+                EnvironmentSettings.newInstance().inStreamingMode().build();
+        StreamTableEnvironment tEnv = StreamTableEnvironment.create(env, environmentSettings);
+
+        clusterCommands.hset("1", "1", "test");
+        clusterCommands.hset("5", "5", "test");
+        // the reads fall back to the masters if there is no replica.
+        String dim =
+                "create table dim_table(name varchar, level varchar, age varchar) with ( 'connector'='redis', "
+                        + "'cluster-nodes'='"
+                        + CLUSTERNODES
+                        + "','redis-mode'='cluster', 'password'='"
+                        + CLUSTER_PASSWORD
+                        + "','"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.HGET
+                        + "', 'lookup.read-from'='replica-preferred' )";
+
+        String source =
+                "create table source_table(username varchar, level varchar, proctime as procTime()) "
+                        + "with ('connector'='datagen',  'rows-per-second'='1', "
+                        + "'fields.username.kind'='sequence',  'fields.username.start'='1',  'fields.username.end'='9',"
+                        + "'fields.level.kind'='sequence',  'fields.level.start'='1',  'fields.level.end'='9'"
+                        + ")";
+
+        String sink =
+                "create table sink_table(username varchar, level varchar,age varchar) with ( 'connector'='redis', "
+                        + "'cluster-nodes'='"
+                        + CLUSTERNODES
+                        + "','redis-mode'='cluster', 'password'='"
+                        + CLUSTER_PASSWORD
+                        + "','"
+                        + REDIS_COMMAND
+                        + "'='"
+                        + RedisCommand.HSET
+                        + "' )";
+        tEnv.executeSql(source);
+        tEnv.executeSql(dim);
+        tEnv.executeSql(sink);
+
+        String sql =
+                " insert into sink_table "
+                        + " select concat_ws('_', s.username, s.level), s.level, d.age from source_table s"
+                        + "  left join dim_table for system_time as of s.proctime as d "
+                        + " on d.name = s.username and d.level = s.level";
+        TableResult tableResult = tEnv.executeSql(sql);
+        tableResult.getJobClient().get().getJobExecutionResult().get();
+
+        Preconditions.condition(clusterCommands.hget("1_1", "1").equals("test"), "");
+        Preconditions.condition(clusterCommands.hget("5_5", "5").equals("test"), "");
+    }
 }
@@ -0,0 +1,191 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.createTableSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.row;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** the rows of changelog written as the fields of hash by HSET, HDEL and DEL. */
+public class SinkHashStructureTest {
+
+    private static final ResolvedSchema SCHEMA = stringSchema("name", "a", "b", "c");
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    private Map<String, String> getOptions() {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "HSET");
+        options.put(RedisOptions.VALUE_DATA_STRUCTURE.key(), "hash");
+        return options;
+    }
+
+    private static Map<String, String> fields(String... fieldAndValues) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < fieldAndValues.length; i += 2) {
+            fields.put(fieldAndValues[i], fieldAndValues[i + 1]);
+        }
+        return fields;
+    }
+
+    private TestRedisCommandsContainer.Call call(String command) {
+        for (TestRedisCommandsContainer.Call call : redis.calls()) {
+            if (call.command.equals(command)) {
+                return call;
+            }
+        }
+        throw new AssertionError("no " + command + " in " + redis.calls());
+    }
+
+    @Test
+    public void testInsertInOneHset() throws Exception {
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        sink.invoke(row(RowKind.INSERT, "k", "1", "2", "3"), null);
+        sink.close();
+
+        Assertions.assertEquals(Collections.singletonList("hset"), redis.commands());
+        Assertions.assertEquals(fields("a", "1", "b", "2", "c", "3"), call("hset").args[1]);
+        Assertions.assertEquals(fields("a", "1", "b", "2", "c", "3"), redis.getHash("k"));
+    }
+
+    @Test
+    public void testRemoveNullFieldsByHdel() throws Exception {
+        redis.putHash("k", fields("a", "0", "b", "0", "c", "0"));
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        sink.invoke(row(RowKind.INSERT, "k", "1", null, "3"), null);
+        sink.close();
+
+        Assertions.assertEquals(Arrays.asList("hset", "hdel"), redis.commands());
+        Assertions.assertArrayEquals(new String[] {"b"}, (String[]) call("hdel").args[1]);
+        Assertions.assertEquals(fields("a", "1", "c", "3"), redis.getHash("k"));
+    }
+
+    @Test
+    public void testUpdateSendsChangedFields() throws Exception {
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        sink.invoke(row(RowKind.INSERT, "k", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.UPDATE_BEFORE, "k", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.UPDATE_AFTER, "k", "1", "5", null), null);
+        sink.close();
+
+        List<TestRedisCommandsContainer.Call> calls = redis.calls();
+        Assertions.assertEquals(Arrays.asList("hset", "hset", "hdel"), redis.commands());
+        Assertions.assertEquals(fields("b", "5"), calls.get(1).args[1]);
+        Assertions.assertArrayEquals(new String[] {"c"}, (String[]) calls.get(2).args[1]);
+        Assertions.assertEquals(fields("a", "1", "b", "5"), redis.getHash("k"));
+    }
+
+    @Test
+    public void testUnchangedUpdateSendsNothing() throws Exception {
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        sink.invoke(row(RowKind.UPDATE_BEFORE, "k", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.UPDATE_AFTER, "k", "1", "2", "3"), null);
+        sink.close();
+
+        Assertions.assertEquals(Collections.emptyList(), redis.commands());
+    }
+
+    @Test
+    public void testUpdateWithoutBeforeWritesAllFields() throws Exception {
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        // the UPDATE_BEFORE row of another key is not the before-image of this one.
+        sink.invoke(row(RowKind.UPDATE_BEFORE, "other", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.UPDATE_AFTER, "k", "1", "2", "3"), null);
+        sink.close();
+
+        Assertions.assertEquals(Collections.singletonList("hset"), redis.commands());
+        Assertions.assertEquals(fields("a", "1", "b", "2", "c", "3"), redis.getHash("k"));
+    }
+
+    @Test
+    public void testUpdateBeforeWithoutUpdateAfterIsDropped() throws Exception {
+        redis.putHash("k", fields("a", "1", "b", "2", "c", "3"));
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        // the UPDATE_AFTER row of it goes to another subtask.
+        sink.invoke(row(RowKind.UPDATE_BEFORE, "k", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.UPDATE_AFTER, "other", "1", "2", "3"), null);
+        // a later update of the key without its UPDATE_BEFORE row is not diffed against it.
+        sink.invoke(row(RowKind.UPDATE_AFTER, "k", "1", "2", "3"), null);
+        sink.close();
+
+        Assertions.assertEquals(Arrays.asList("hset", "hset"), redis.commands());
+        Assertions.assertEquals(fields("a", "1", "b", "2", "c", "3"), redis.calls().get(1).args[1]);
+    }
+
+    @Test
+    public void testDeleteRemovesKey() throws Exception {
+        RedisSinkFunction<RowData> sink = openSink(getOptions(), SCHEMA);
+        sink.invoke(row(RowKind.INSERT, "k", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.DELETE, "k", "1", "2", "3"), null);
+        // the before-image of the deleted key is dropped.
+        sink.invoke(row(RowKind.UPDATE_AFTER, "k", "1", "2", "3"), null);
+        sink.close();
+
+        Assertions.assertEquals(Arrays.asList("hset", "del", "hset"), redis.commands());
+        Assertions.assertEquals(fields("a", "1", "b", "2", "c", "3"), redis.getHash("k"));
+    }
+
+    @Test
+    public void testUpdateOfExpiredKeyWritesAllFields() throws Exception {
+        Map<String, String> options = getOptions();
+        options.put(RedisOptions.TTL.key(), "60");
+        RedisSinkFunction<RowData> sink = openSink(options, SCHEMA);
+        sink.invoke(row(RowKind.INSERT, "k", "1", "2", "3"), null);
+        redis.expireNow("k");
+        sink.invoke(row(RowKind.UPDATE_BEFORE, "k", "1", "2", "3"), null);
+        sink.invoke(row(RowKind.UPDATE_AFTER, "k", "1", "5", "3"), null);
+        sink.close();
+
+        // a partial HSET would leave a hash of just the field b.
+        Assertions.assertEquals(fields("a", "1", "b", "5", "c", "3"), redis.getHash("k"));
+        Assertions.assertEquals(60L, redis.getTtl("k"));
+    }
+
+    @Test
+    public void testRequestUpdateBeforeWithoutTtl() {
+        Assertions.assertTrue(
+                createTableSink(getOptions(), SCHEMA)
+                        .getChangelogMode(ChangelogMode.all())
+                        .contains(RowKind.UPDATE_BEFORE));
+
+        Map<String, String> options = getOptions();
+        options.put(RedisOptions.TTL.key(), "60");
+        Assertions.assertFalse(
+                createTableSink(options, SCHEMA)
+                        .getChangelogMode(ChangelogMode.all())
+                        .contains(RowKind.UPDATE_BEFORE));
+
+        options = getOptions();
+        options.put(RedisOptions.EXPIRE_ON_TIME.key(), "10:00");
+        Assertions.assertFalse(
+                createTableSink(options, SCHEMA)
+                        .getChangelogMode(ChangelogMode.all())
+                        .contains(RowKind.UPDATE_BEFORE));
+    }
+}
@@ -0,0 +1,88 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.row;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.groups.OperatorMetricGroup;
+import org.apache.flink.runtime.metrics.groups.UnregisteredMetricGroups;
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** the rate limit of sink writes. */
+public class SinkRateLimitTest {
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    @Test
+    public void testThrottleInvokeInsteadOfQueueing() throws Exception {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "SET");
+        options.put(RedisOptions.SINK_RATE_LIMIT_OPS_PER_SECOND.key(), "20");
+        RedisSinkFunction<RowData> sink = openSink(options, stringSchema("k", "v"));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            sink.invoke(row(RowKind.INSERT, "k" + i, "v"), null);
+            // the throttled row is sent when invoke returns, nothing is delayed behind it.
+            Assertions.assertEquals(i + 1, redis.count("set"));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        sink.close();
+
+        // 5 rows wait for 50 ms each.
+        Assertions.assertTrue(elapsedMillis >= 200, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    public void testReportRateOfSubtask() throws Exception {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "SET");
+        options.put(RedisOptions.SINK_RATE_LIMIT_OPS_PER_SECOND.key(), "20");
+        Map<String, Gauge<?>> gauges = new HashMap<>();
+        OperatorMetricGroup metricGroup =
+                new UnregisteredMetricGroups.UnregisteredOperatorMetricGroup() {
+                    @Override
+                    public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+                        gauges.put(name, gauge);
+                        return gauge;
+                    }
+                };
+        RedisSinkFunction<RowData> sink =
+                openSink(
+                        options,
+                        stringSchema("k", "v"),
+                        new MockStreamingRuntimeContext(false, 2, 0) {
+                            @Override
+                            public OperatorMetricGroup getMetricGroup() {
+                                return metricGroup;
+                            }
+                        });
+        sink.close();
+
+        // the limit is split between the 2 subtasks.
+        Assertions.assertEquals(10.0, gauges.get("redisRateLimitOpsPerSecond").getValue());
+        Assertions.assertEquals(0L, gauges.get("redisRateLimitWaitMillis").getValue());
+    }
+}
@@ -0,0 +1,178 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.row;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import io.lettuce.core.RedisCommandExecutionException;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** the retries of sink writes, and the order of writes of a key when they are retried. */
+public class SinkRetryTest {
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    private Map<String, String> options(String command, long initialDelay) {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), command);
+        options.put(RedisOptions.SINK_MAX_RETRIES.key(), "2");
+        options.put(RedisOptions.RETRY_BACKOFF_INITIAL_DELAY.key(), String.valueOf(initialDelay));
+        options.put(RedisOptions.RETRY_BACKOFF_MAX_DELAY.key(), String.valueOf(initialDelay));
+        return options;
+    }
+
+    /** fail the first times of command with an error reply which is retryable. */
+    private void failFirst(String command, int times) {
+        AtomicInteger failures = new AtomicInteger();
+        redis.failWith(
+                call ->
+                        call.command.equals(command) && failures.getAndIncrement() < times
+                                ? new RedisCommandExecutionException("LOADING redis is loading")
+                                : null);
+    }
+
+    @Test
+    public void testRetryFailedCommand() throws Exception {
+        failFirst("set", 2);
+        RedisSinkFunction<RowData> sink = openSink(options("SET", 1), stringSchema("k", "v"));
+        sink.invoke(row(RowKind.INSERT, "k", "v"), null);
+        sink.snapshotState(null);
+        sink.close();
+
+        Assertions.assertEquals(3, redis.count("set"));
+        Assertions.assertEquals("v", redis.getString("k"));
+    }
+
+    @Test
+    public void testRetryKeepsParamsOfRow() throws Exception {
+        failFirst("set", 1);
+        RedisSinkFunction<RowData> sink = openSink(options("SET", 50), stringSchema("k", "v"));
+        // the params of the first row are reused by the second one before the retry.
+        sink.invoke(row(RowKind.INSERT, "a", "1"), null);
+        sink.invoke(row(RowKind.INSERT, "b", "2"), null);
+        sink.snapshotState(null);
+        sink.close();
+
+        Assertions.assertEquals(3, redis.count("set"));
+        Assertions.assertEquals("1", redis.getString("a"));
+        Assertions.assertEquals("2", redis.getString("b"));
+    }
+
+    @Test
+    public void testNotRetryNonRetryableError() throws Exception {
+        redis.failWith(
+                call ->
+                        call.command.equals("set")
+                                ? new RedisCommandExecutionException("ERR syntax error")
+                                : null);
+        RedisSinkFunction<RowData> sink = openSink(options("SET", 1), stringSchema("k", "v"));
+        sink.invoke(row(RowKind.INSERT, "k", "v"), null);
+        Assertions.assertThrows(IOException.class, () -> sink.snapshotState(null));
+        sink.close();
+
+        Assertions.assertEquals(1, redis.count("set"));
+    }
+
+    @Test
+    public void testFailWhenRetriesExhausted() throws Exception {
+        failFirst("set", Integer.MAX_VALUE);
+        RedisSinkFunction<RowData> sink = openSink(options("SET", 1), stringSchema("k", "v"));
+        sink.invoke(row(RowKind.INSERT, "k", "v"), null);
+        IOException e = Assertions.assertThrows(IOException.class, () -> sink.snapshotState(null));
+        Assertions.assertTrue(e.getCause() instanceof RedisCommandExecutionException);
+        sink.close();
+
+        Assertions.assertEquals(1 + 2, redis.count("set"));
+        Assertions.assertNull(redis.getString("k"));
+    }
+
+    @Test
+    public void testRetryExpireWithoutCommand() throws Exception {
+        failFirst("expire", 1);
+        Map<String, String> options = options("RPUSH", 1);
+        options.put(RedisOptions.TTL.key(), "60");
+        RedisSinkFunction<RowData> sink = openSink(options, stringSchema("k", "v"));
+        sink.invoke(row(RowKind.INSERT, "list", "a"), null);
+        sink.snapshotState(null);
+        sink.close();
+
+        // the RPUSH is not idempotent, it is not sent again for the failed EXPIRE.
+        Assertions.assertEquals(1, redis.count("rpush"));
+        Assertions.assertEquals(2, redis.count("expire"));
+        Assertions.assertEquals(60L, redis.getTtl("list"));
+    }
+
+    @Test
+    public void testSetTtlAfterRetriedCommand() throws Exception {
+        failFirst("hset", 1);
+        Map<String, String> options = options("HSET", 1);
+        options.put(RedisOptions.TTL.key(), "60");
+        RedisSinkFunction<RowData> sink = openSink(options, stringSchema("k", "f", "v"));
+        sink.invoke(row(RowKind.INSERT, "h", "f", "v"), null);
+        sink.snapshotState(null);
+        sink.close();
+
+        // the EXPIRE sent with the first attempt misses the key, it is sent again.
+        Assertions.assertEquals(2, redis.count("hset"));
+        Assertions.assertEquals(2, redis.count("expire"));
+        Assertions.assertEquals(60L, redis.getTtl("h"));
+    }
+
+    @Test
+    public void testHoldNewerWritesOfKeyUntilRetryCompletes() throws Exception {
+        failFirst("set", 1);
+        RedisSinkFunction<RowData> sink = openSink(options("SET", 200), stringSchema("k", "v"));
+        sink.invoke(row(RowKind.INSERT, "k", "v1"), null);
+        sink.invoke(row(RowKind.INSERT, "k", "v2"), null);
+        sink.invoke(row(RowKind.INSERT, "other", "v"), null);
+        // the write of v2 waits for the retry of v1, the other key does not.
+        Assertions.assertEquals(2, redis.count("set"));
+        Assertions.assertEquals("v", redis.getString("other"));
+
+        sink.snapshotState(null);
+        sink.close();
+        Assertions.assertEquals(4, redis.count("set"));
+        Assertions.assertEquals("v2", redis.getString("k"));
+    }
+
+    @Test
+    public void testNotRetryOutOfOrder() throws Exception {
+        AtomicInteger sets = new AtomicInteger();
+        redis.hold(call -> call.command.equals("set") && sets.getAndIncrement() == 0);
+        RedisSinkFunction<RowData> sink = openSink(options("SET", 1), stringSchema("k", "v"));
+        sink.invoke(row(RowKind.INSERT, "k", "v1"), null);
+        sink.invoke(row(RowKind.INSERT, "k", "v2"), null);
+        Assertions.assertEquals("v2", redis.getString("k"));
+
+        // the write of v1 fails after v2 has been sent, retrying it would overwrite v2.
+        redis.held().get(0).fail(new RedisCommandExecutionException("LOADING redis is loading"));
+        IOException e = Assertions.assertThrows(IOException.class, () -> sink.snapshotState(null));
+        Assertions.assertTrue(e.getCause() instanceof RedisCommandExecutionException);
+        sink.close();
+
+        Assertions.assertEquals(2, redis.count("set"));
+        Assertions.assertEquals("v2", redis.getString("k"));
+    }
+}
@@ -0,0 +1,97 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.row;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import io.lettuce.core.SetArgs;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** the atomic SET NX EX, HSETNX and EXPIRE NX sent by the sink. */
+public class SinkSetIfAbsentTest {
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    @Test
+    public void testSetNxWithTtlInOneCommand() throws Exception {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "SET");
+        options.put(RedisOptions.SET_IF_ABSENT.key(), "true");
+        options.put(RedisOptions.TTL.key(), "60");
+        RedisSinkFunction<RowData> sink = openSink(options, stringSchema("name", "value"));
+        sink.invoke(row(RowKind.INSERT, "k", "v1"), null);
+        sink.invoke(row(RowKind.INSERT, "k", "v2"), null);
+        sink.close();
+
+        Assertions.assertEquals("v1", redis.getString("k"));
+        Assertions.assertEquals(60L, redis.getTtl("k"));
+        TestRedisCommandsContainer.Call set = redis.calls().get(0);
+        Assertions.assertEquals("set", set.command);
+        List<String> setArgs = TestRedisCommandsContainer.setArgs((SetArgs) set.args[2]);
+        Assertions.assertTrue(setArgs.contains("NX"), setArgs.toString());
+        Assertions.assertEquals("60", setArgs.get(setArgs.indexOf("EX") + 1));
+    }
+
+    @Test
+    public void testHsetNx() throws Exception {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "HSET");
+        options.put(RedisOptions.SET_IF_ABSENT.key(), "true");
+        RedisSinkFunction<RowData> sink =
+                openSink(options, stringSchema("name", "field", "value"));
+        sink.invoke(row(RowKind.INSERT, "k", "f", "v1"), null);
+        sink.invoke(row(RowKind.INSERT, "k", "f", "v2"), null);
+        sink.close();
+
+        Assertions.assertEquals(Collections.singletonMap("f", "v1"), redis.getHash("k"));
+        Assertions.assertEquals(2, redis.count("hsetnx"));
+        Assertions.assertEquals(0, redis.count("hset"));
+    }
+
+    @Test
+    public void testExpireNxKeepsExistingTtl() throws Exception {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "HSET");
+        options.put(RedisOptions.TTL.key(), "60");
+        options.put(RedisOptions.TTL_KEY_NOT_ABSENT.key(), "true");
+        RedisSinkFunction<RowData> sink =
+                openSink(options, stringSchema("name", "field", "value"));
+        sink.invoke(row(RowKind.INSERT, "k", "f", "v1"), null);
+        Assertions.assertEquals(60L, redis.getTtl("k"));
+
+        redis.putHash("k2", Collections.singletonMap("f", "v"));
+        redis.container().expire("k2", 10).get();
+        sink.invoke(row(RowKind.INSERT, "k2", "f", "v2"), null);
+        sink.close();
+
+        Assertions.assertEquals(10L, redis.getTtl("k2"));
+        // the server is redis 7, so no TTL check is sent before EXPIRE.
+        Assertions.assertEquals(0, redis.count("getTTL"));
+        List<TestRedisCommandsContainer.Call> calls = redis.calls();
+        TestRedisCommandsContainer.Call expire = calls.get(calls.size() - 1);
+        Assertions.assertEquals("expire", expire.command);
+        Assertions.assertEquals(3, expire.args.length, "EXPIRE k2 60 NX");
+    }
+}
@@ -0,0 +1,99 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openSink;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.row;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.stringSchema;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+/** the EXPIRE skipped by sink.ttl.refresh-interval. */
+public class SinkTtlRefreshTest {
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    private Map<String, String> hsetOptions() {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), "HSET");
+        options.put(RedisOptions.TTL.key(), "60");
+        options.put(RedisOptions.SINK_TTL_REFRESH_INTERVAL.key(), "30000");
+        return options;
+    }
+
+    @Test
+    public void testSkipExpireOfRefreshedKey() throws Exception {
+        RedisSinkFunction<RowData> sink =
+                openSink(hsetOptions(), stringSchema("name", "field", "value"));
+        sink.invoke(row(RowKind.INSERT, "k", "f1", "v"), null);
+        sink.invoke(row(RowKind.INSERT, "k", "f2", "v"), null);
+        sink.invoke(row(RowKind.INSERT, "k", "f3", "v"), null);
+        sink.close();
+
+        Assertions.assertEquals(3, redis.count("hset"));
+        Assertions.assertEquals(1, redis.count("expire"));
+        Assertions.assertEquals(60L, redis.getTtl("k"));
+    }
+
+    @Test
+    public void testNotSkipExpireWhichIsNotApplied() throws Exception {
+        Map<String, String> options = hsetOptions();
+        options.put(RedisOptions.TTL_KEY_NOT_ABSENT.key(), "true");
+        RedisSinkFunction<RowData> sink =
+                openSink(options, stringSchema("name", "field", "value"));
+
+        // the EXPIRE NX keeps the ttl of key, which replies 0.
+        redis.putHash("k", Collections.singletonMap("f", "v"));
+        redis.container().expire("k", 10).get();
+        sink.invoke(row(RowKind.INSERT, "k", "f1", "v"), null);
+        Assertions.assertEquals(10L, redis.getTtl("k"));
+
+        // the key expires and is created again without ttl, so its ttl has to be set.
+        redis.expireNow("k");
+        redis.putHash("k", Collections.singletonMap("f", "v"));
+        sink.invoke(row(RowKind.INSERT, "k", "f2", "v"), null);
+        Assertions.assertEquals(60L, redis.getTtl("k"));
+
+        // the EXPIRE replied 1 is remembered.
+        sink.invoke(row(RowKind.INSERT, "k", "f3", "v"), null);
+        sink.close();
+        Assertions.assertEquals(1 + 2, redis.count("expire"));
+    }
+
+    @Test
+    public void testNotSkipExpireOfFailedCommand() throws Exception {
+        RedisSinkFunction<RowData> sink =
+                openSink(hsetOptions(), stringSchema("name", "field", "value"));
+        redis.failWith(
+                call ->
+                        call.command.equals("expire")
+                                ? new IllegalStateException("expire failed")
+                                : null);
+        sink.invoke(row(RowKind.INSERT, "k", "f1", "v"), null);
+        Assertions.assertThrows(
+                Exception.class, () -> sink.invoke(row(RowKind.INSERT, "k", "f2", "v"), null));
+
+        redis.failWith(call -> null);
+        sink.invoke(row(RowKind.INSERT, "k", "f3", "v"), null);
+        sink.close();
+        Assertions.assertEquals(60L, redis.getTtl("k"));
+    }
+}
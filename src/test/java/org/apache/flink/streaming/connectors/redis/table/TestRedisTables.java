@@ -0,0 +1,217 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.Schema;
+import org.apache.flink.table.catalog.CatalogTable;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ObjectIdentifier;
+import org.apache.flink.table.catalog.ResolvedCatalogTable;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.sink.DynamicTableSink;
+import org.apache.flink.table.connector.sink.SinkFunctionProvider;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.factories.FactoryUtil;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.runtime.connector.source.LookupRuntimeProviderContext;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/** build the sinks and lookups of tables the same way as the table factory. */
+final class TestRedisTables {
+
+    private TestRedisTables() {}
+
+    /**
+     * the schema of string columns.
+     *
+     * @param names
+     * @return
+     */
+    static ResolvedSchema stringSchema(String... names) {
+        List<Column> columns = new ArrayList<>(names.length);
+        for (String name : names) {
+            columns.add(Column.physical(name, DataTypes.STRING()));
+        }
+        return ResolvedSchema.of(columns);
+    }
+
+    /**
+     * the row of string fields.
+     *
+     * @param kind
+     * @param fields
+     * @return
+     */
+    static RowData row(RowKind kind, String... fields) {
+        return GenericRowData.ofKind(
+                kind, Arrays.stream(fields).map(StringData::fromString).toArray());
+    }
+
+    private static ResolvedCatalogTable catalogTable(
+            Map<String, String> options, ResolvedSchema schema) {
+        Map<String, String> tableOptions = new HashMap<>(options);
+        tableOptions.put(FactoryUtil.CONNECTOR.key(), RedisDynamicTableFactory.IDENTIFIER);
+        return new ResolvedCatalogTable(
+                CatalogTable.of(
+                        Schema.newBuilder().fromResolvedSchema(schema).build(),
+                        null,
+                        Collections.emptyList(),
+                        tableOptions),
+                schema);
+    }
+
+    /**
+     * create the table sink by the factory, which validates the options.
+     *
+     * @param options
+     * @param schema
+     * @return
+     */
+    static DynamicTableSink createTableSink(Map<String, String> options, ResolvedSchema schema) {
+        return FactoryUtil.createDynamicTableSink(
+                new RedisDynamicTableFactory(),
+                ObjectIdentifier.of("default", "default", "redis"),
+                catalogTable(options, schema),
+                new Configuration(),
+                TestRedisTables.class.getClassLoader(),
+                false);
+    }
+
+    /**
+     * create the table source by the factory, which validates the options.
+     *
+     * @param options
+     * @param schema
+     * @return
+     */
+    static RedisDynamicTableSource createTableSource(
+            Map<String, String> options, ResolvedSchema schema) {
+        return (RedisDynamicTableSource)
+                FactoryUtil.createDynamicTableSource(
+                        new RedisDynamicTableFactory(),
+                        ObjectIdentifier.of("default", "default", "redis"),
+                        catalogTable(options, schema),
+                        new Configuration(),
+                        TestRedisTables.class.getClassLoader(),
+                        false);
+    }
+
+    /**
+     * create and open the lookup function of the table options, which reads all the columns.
+     *
+     * @param options
+     * @param schema
+     * @param keys the indexes of lookup keys
+     * @return
+     * @throws Exception
+     */
+    static RedisLookupFunction openLookup(
+            Map<String, String> options, ResolvedSchema schema, int... keys) throws Exception {
+        return openLookup(options, schema, null, keys);
+    }
+
+    /**
+     * create and open the lookup function of the table options, which reads the projected columns.
+     *
+     * @param options
+     * @param schema
+     * @param projectedFields the indexes of columns read, null if all the columns are read
+     * @param keys the indexes of lookup keys in the projected row
+     * @return
+     * @throws Exception
+     */
+    static RedisLookupFunction openLookup(
+            Map<String, String> options,
+            ResolvedSchema schema,
+            int[] projectedFields,
+            int... keys)
+            throws Exception {
+        RedisDynamicTableSource source = createTableSource(options, schema);
+        if (projectedFields != null) {
+            int[][] projection = new int[projectedFields.length][];
+            for (int i = 0; i < projectedFields.length; i++) {
+                projection[i] = new int[] {projectedFields[i]};
+            }
+            source.applyProjection(projection, null);
+        }
+        int[][] lookupKeys = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            lookupKeys[i] = new int[] {keys[i]};
+        }
+        AsyncTableFunctionProvider<?> provider =
+                (AsyncTableFunctionProvider<?>)
+                        source.getLookupRuntimeProvider(
+                                new LookupRuntimeProviderContext(lookupKeys));
+        RedisLookupFunction lookup = (RedisLookupFunction) provider.createAsyncTableFunction();
+        lookup.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+        return lookup;
+    }
+
+    /**
+     * look up the rows of keys.
+     *
+     * @param lookup
+     * @param keys
+     * @return
+     * @throws Exception
+     */
+    static Collection<GenericRowData> lookup(RedisLookupFunction lookup, Object... keys)
+            throws Exception {
+        CompletableFuture<Collection<GenericRowData>> future = new CompletableFuture<>();
+        lookup.eval(future, keys);
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * create and open the sink function of the table options.
+     *
+     * @param options
+     * @param schema
+     * @return
+     * @throws Exception
+     */
+    static RedisSinkFunction<RowData> openSink(Map<String, String> options, ResolvedSchema schema)
+            throws Exception {
+        return openSink(options, schema, new MockStreamingRuntimeContext(false, 1, 0));
+    }
+
+    /**
+     * create and open the sink function of the table options in the runtime context.
+     *
+     * @param options
+     * @param schema
+     * @param runtimeContext
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    static RedisSinkFunction<RowData> openSink(
+            Map<String, String> options,
+            ResolvedSchema schema,
+            StreamingRuntimeContext runtimeContext)
+            throws Exception {
+        RedisDynamicTableSink tableSink = (RedisDynamicTableSink) createTableSink(options, schema);
+        SinkFunctionProvider provider =
+                (SinkFunctionProvider) tableSink.getSinkRuntimeProvider(null);
+        RedisSinkFunction<RowData> sink =
+                (RedisSinkFunction<RowData>) provider.createSinkFunction();
+        sink.setRuntimeContext(runtimeContext);
+        sink.open(new Configuration());
+        return sink;
+    }
+}
@@ -0,0 +1,177 @@
+package org.apache.flink.streaming.connectors.redis.table;
+
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.lookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openLookup;
+import static org.apache.flink.streaming.connectors.redis.table.TestRedisTables.openSink;
+
+import org.apache.flink.streaming.connectors.redis.TestRedisCommandsContainer;
+import org.apache.flink.streaming.connectors.redis.common.config.RedisOptions;
+import org.apache.flink.streaming.connectors.redis.common.format.RedisBinaryRowFormatFactory;
+import org.apache.flink.streaming.connectors.redis.common.format.TestJsonFormatFactory;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/** the whole row written by the sink and read by the lookup in the format of value.format. */
+public class ValueFormatTest {
+
+    private static final ResolvedSchema SET_SCHEMA =
+            ResolvedSchema.of(
+                    Column.physical("name", DataTypes.STRING()),
+                    Column.physical("age", DataTypes.INT()),
+                    Column.physical("score", DataTypes.DOUBLE()),
+                    Column.physical("visits", DataTypes.BIGINT()),
+                    Column.physical("active", DataTypes.BOOLEAN()));
+
+    private static final ResolvedSchema HSET_SCHEMA =
+            ResolvedSchema.of(
+                    Column.physical("name", DataTypes.STRING()),
+                    Column.physical("field", DataTypes.STRING()),
+                    Column.physical("age", DataTypes.INT()));
+
+    private TestRedisCommandsContainer redis;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new TestRedisCommandsContainer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redis.release();
+    }
+
+    private Map<String, String> getOptions(String command, String format) {
+        Map<String, String> options = redis.options();
+        options.put(RedisOptions.COMMAND.key(), command);
+        options.put(RedisOptions.VALUE_DATA_STRUCTURE.key(), "row");
+        options.put(RedisOptions.VALUE_FORMAT.key(), format);
+        return options;
+    }
+
+    private static GenericRowData setRow(String name, Integer age) {
+        return GenericRowData.of(StringData.fromString(name), age, 1.5d, 1L << 40, true);
+    }
+
+    @Test
+    public void testJsonRoundTrip() throws Exception {
+        RedisSinkFunction<RowData> sink =
+                openSink(getOptions("SET", TestJsonFormatFactory.IDENTIFIER), SET_SCHEMA);
+        sink.invoke(setRow("tom", 20), null);
+        sink.close();
+
+        // the whole row is the value, written by the binary commands.
+        Assertions.assertEquals(
+                "{\"name\":\"tom\",\"age\":20,\"score\":1.5,"
+                        + "\"visits\":1099511627776,\"active\":true}",
+                redis.getString("tom"));
+        Assertions.assertEquals(1, redis.count("set"));
+
+        RedisLookupFunction lookup =
+                openLookup(getOptions("GET", TestJsonFormatFactory.IDENTIFIER), SET_SCHEMA, 0);
+        Collection<GenericRowData> rows = lookup(lookup, StringData.fromString("tom"));
+        lookup.close();
+        Assertions.assertEquals(
+                Collections.singletonList(setRow("tom", 20)), new ArrayList<>(rows));
+    }
+
+    @Test
+    public void testJsonRoundTripOfHash() throws Exception {
+        RedisSinkFunction<RowData> sink =
+                openSink(getOptions("HSET", TestJsonFormatFactory.IDENTIFIER), HSET_SCHEMA);
+        sink.invoke(
+                GenericRowData.of(StringData.fromString("k"), StringData.fromString("f"), 3),
+                null);
+        sink.close();
+
+        Assertions.assertEquals(
+                Collections.singletonMap("f", "{\"name\":\"k\",\"field\":\"f\",\"age\":3}"),
+                redis.getHash("k"));
+
+        RedisLookupFunction lookup =
+                openLookup(
+                        getOptions("HGET", TestJsonFormatFactory.IDENTIFIER), HSET_SCHEMA, 0, 1);
+        Collection<GenericRowData> rows =
+                lookup(lookup, StringData.fromString("k"), StringData.fromString("f"));
+        lookup.close();
+        Assertions.assertEquals(
+                Collections.singletonList(
+                        GenericRowData.of(
+                                StringData.fromString("k"), StringData.fromString("f"), 3)),
+                new ArrayList<>(rows));
+    }
+
+    @Test
+    public void testBinaryRowRoundTrip() throws Exception {
+        RedisSinkFunction<RowData> sink =
+                openSink(getOptions("SET", RedisBinaryRowFormatFactory.IDENTIFIER), SET_SCHEMA);
+        sink.invoke(setRow("tom", 20), null);
+        sink.invoke(setRow("jerry", null), null);
+        sink.close();
+
+        // the null bits and 8 bytes of each field, the name of 3 bytes is inlined in its 8 bytes.
+        Assertions.assertEquals(8 + 5 * 8, redis.getBytes("tom").length);
+        Assertions.assertFalse(
+                new String(redis.getBytes("tom"), StandardCharsets.UTF_8).contains("{"));
+
+        RedisLookupFunction lookup =
+                openLookup(
+                        getOptions("GET", RedisBinaryRowFormatFactory.IDENTIFIER), SET_SCHEMA, 0);
+        Assertions.assertEquals(
+                Collections.singletonList(setRow("tom", 20)),
+                new ArrayList<>(lookup(lookup, StringData.fromString("tom"))));
+        Assertions.assertEquals(
+                Collections.singletonList(setRow("jerry", null)),
+                new ArrayList<>(lookup(lookup, StringData.fromString("jerry"))));
+        lookup.close();
+    }
+
+    @Test
+    public void testRejectBinaryRowOfOtherSchema() throws Exception {
+        // a value which is too short for the fields of the row.
+        redis.putString("tom", "tom");
+        RedisLookupFunction lookup =
+                openLookup(
+                        getOptions("GET", RedisBinaryRowFormatFactory.IDENTIFIER), SET_SCHEMA, 0);
+        try {
+            Exception e =
+                    Assertions.assertThrows(
+                            Exception.class, () -> lookup(lookup, StringData.fromString("tom")));
+            Assertions.assertTrue(
+                    String.valueOf(e.getCause()).contains("is not a binary row"), e.toString());
+        } finally {
+            lookup.close();
+        }
+    }
+
+    @Test
+    public void testRejectFormatWithBufferFlush() {
+        Map<String, String> options = getOptions("SET", TestJsonFormatFactory.IDENTIFIER);
+        options.put(RedisOptions.SINK_BUFFER_FLUSH_MAX_ROWS.key(), "10");
+        Exception e = Assertions.assertThrows(Exception.class, () -> openSink(options, SET_SCHEMA));
+        Assertions.assertTrue(e.getMessage().contains("buffer flush"), e.getMessage());
+    }
+
+    @Test
+    public void testRejectUnknownFormat() {
+        Exception e =
+                Assertions.assertThrows(
+                        Exception.class,
+                        () -> openSink(getOptions("SET", "no-such-format"), SET_SCHEMA));
+        Assertions.assertTrue(
+                String.valueOf(e.getCause()).contains("no-such-format"), e.toString());
+    }
+}